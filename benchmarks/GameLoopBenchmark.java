@@ -0,0 +1,82 @@
+package benchmarks;
+
+import domain.game.DomainController;
+import domain.game.FrameSnapshot;
+import domain.game.SimulationRunner;
+import domain.shared.BadOpoException;
+import domain.shared.GameStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide un tick completo de DomainController.updateGameLoop en una partida MVM,
+ * solo y seguido de la foto que consume la vista (getFrameSnapshot).
+ * Cuando la partida termina se vuelve a cargar el nivel (con la misma semilla),
+ * lo que ocurre pocas veces frente a la cantidad de ticks medidos.
+ *
+ * <p>Ejecutar con: java -jar target/benchmarks.jar GameLoopBenchmark -prof gc</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameLoopBenchmark {
+
+    @Param({ "18", "64", "200" })
+    public int boardSize;
+
+    @Param({ "10", "100", "1000" })
+    public int entityCount;
+
+    private LevelFixture fixture;
+    private DomainController domain;
+
+    @Setup(Level.Trial)
+    public void setUp() throws BadOpoException {
+        fixture = new LevelFixture(boardSize, entityCount);
+        reload();
+    }
+
+    private void reload() throws BadOpoException {
+        domain = new DomainController();
+        domain.setRandomSeed(LevelFixture.SEED);
+        domain.setGameMode("MVM");
+        domain.setPlayer1Difficulty("MACHINE_EXPERT");
+        domain.setPlayer2Difficulty("MACHINE_HUNGRY");
+        domain.setLevelConfiguration(fixture.config);
+        domain.loadLevel(fixture.layout);
+    }
+
+    @Benchmark
+    public GameStatus updateGameLoop() throws BadOpoException {
+        if (domain.getStatus() != GameStatus.PLAYING) {
+            reload();
+        }
+        domain.updateGameLoop(SimulationRunner.DEFAULT_DT);
+        return domain.getStatus();
+    }
+
+    @Benchmark
+    public FrameSnapshot tickAndSnapshot() throws BadOpoException {
+        updateGameLoop();
+        return domain.getFrameSnapshot();
+    }
+}
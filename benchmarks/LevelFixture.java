@@ -0,0 +1,117 @@
+package benchmarks;
+
+import domain.board.BoardController;
+import domain.enemies.EnemyController;
+import domain.items.ItemController;
+import domain.level.LevelConfiguration;
+import domain.level.LevelLoader;
+import domain.players.IceCreamFlavor;
+import domain.players.PlayerController;
+import domain.players.PlayerType;
+import domain.shared.BadOpoException;
+
+import java.util.Random;
+
+/**
+ * Construye niveles sinteticos para los benchmarks: un tablero cuadrado
+ * de lado boardSize con bordes de muro, bloques de hielo repartidos al azar
+ * y una configuracion con entityCount enemigos.
+ * Todo se genera con semilla fija para que las mediciones sean comparables.
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ */
+public class LevelFixture {
+
+    public static final long SEED = 42L;
+
+    private static final String[] ENEMY_TYPES = { "TROLL", "SQUID", "FLOWERPOT", "NARWHAL" };
+
+    public final int boardSize;
+    public final String[] layout;
+    public final LevelConfiguration config;
+
+    public BoardController board;
+    public ItemController items;
+    public EnemyController enemies;
+    public PlayerController players;
+    public LevelLoader loader;
+
+    public LevelFixture(int boardSize, int entityCount) {
+        this.boardSize = boardSize;
+        this.layout = buildLayout(boardSize, entityCount, new Random(SEED));
+        this.config = buildConfiguration(entityCount);
+    }
+
+    /**
+     * Mapa de texto con muros en el borde, el jugador en (1,1)
+     * y hasta iceCount bloques de hielo ('I') en el interior.
+     */
+    public static String[] buildLayout(int size, int iceCount, Random random) {
+        char[][] cells = new char[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                cells[y][x] = border ? '#' : '.';
+            }
+        }
+        cells[1][1] = 'P';
+
+        int interior = (size - 2) * (size - 2);
+        int placed = 0;
+        for (int attempt = 0; placed < iceCount && attempt < interior * 4; attempt++) {
+            int x = 1 + random.nextInt(size - 2);
+            int y = 1 + random.nextInt(size - 2);
+            // Dejar libres las esquinas de spawn de los jugadores
+            if ((x <= 2 && y <= 2) || (x >= size - 3 && y >= size - 3))
+                continue;
+            if (cells[y][x] == '.') {
+                cells[y][x] = 'I';
+                placed++;
+            }
+        }
+
+        String[] rows = new String[size];
+        for (int y = 0; y < size; y++) {
+            rows[y] = new String(cells[y]);
+        }
+        return rows;
+    }
+
+    /**
+     * Configuracion por defecto con entityCount enemigos repartidos entre los tipos.
+     */
+    public static LevelConfiguration buildConfiguration(int entityCount) {
+        LevelConfiguration config = new LevelConfiguration();
+        for (int i = 0; i < ENEMY_TYPES.length; i++) {
+            int share = entityCount / ENEMY_TYPES.length + (i < entityCount % ENEMY_TYPES.length ? 1 : 0);
+            config.setEnemyCount(ENEMY_TYPES[i], share);
+        }
+        return config;
+    }
+
+    /**
+     * Crea un grafo de controladores independiente del DomainController:
+     * tablero, items, enemigos y dos bots MVM, con la primera oleada de frutas.
+     */
+    public void buildControllers() throws BadOpoException {
+        Random random = new Random(SEED);
+        board = new BoardController(boardSize, boardSize);
+        items = new ItemController(board);
+        enemies = new EnemyController(board, items);
+        players = new PlayerController(board, items);
+        players.setRandom(random);
+        loader = new LevelLoader();
+        loader.setRandom(random);
+        loader.setConfiguration(config);
+
+        loader.loadLevel(layout, board, items, enemies, players);
+        loader.applyCustomConfiguration(board, items, enemies);
+        loader.spawnFruitWave(0, board, items);
+
+        players.addPlayer("player1", IceCreamFlavor.VANILLA, PlayerType.MACHINE_EXPERT, 1, 1);
+        players.addPlayer("player2", IceCreamFlavor.CHOCOLATE, PlayerType.MACHINE_HUNGRY,
+                boardSize - 2, boardSize - 2);
+        enemies.updatePlayerPos(1, 1);
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import domain.shared.BadOpoException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide LevelLoader.spawnFruitWave, que calcula las posiciones validas
+ * y reparte una oleada completa de frutas.
+ * Cada invocacion parte de un grafo recien cargado para que las frutas
+ * de la invocacion anterior no se acumulen.
+ *
+ * <p>Ejecutar con: java -jar target/benchmarks.jar LevelLoaderBenchmark -prof gc</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelLoaderBenchmark {
+
+    @Param({ "18", "64", "200" })
+    public int boardSize;
+
+    @Param({ "10", "100", "1000" })
+    public int entityCount;
+
+    private LevelFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new LevelFixture(boardSize, entityCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void reload() throws BadOpoException {
+        fixture.buildControllers();
+    }
+
+    @Benchmark
+    public boolean spawnFruitWave() {
+        return fixture.loader.spawnFruitWave(1, fixture.board, fixture.items);
+    }
+}
@@ -0,0 +1,111 @@
+package benchmarks;
+
+import domain.game.SimulationRunner;
+import domain.shared.BadOpoException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide por separado las rutas calientes de cada sub-controlador:
+ * consultas de obstaculos, IA de enemigos, IA de bots y animaciones del tablero.
+ *
+ * <p>Ejecutar con: java -jar target/benchmarks.jar SubsystemBenchmark -prof gc</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubsystemBenchmark {
+
+    private static final int QUERY_MASK = 1023;
+
+    @Param({ "18", "64", "200" })
+    public int boardSize;
+
+    @Param({ "10", "100", "1000" })
+    public int entityCount;
+
+    private LevelFixture fixture;
+    private int[] queryX;
+    private int[] queryY;
+    private int query;
+    private int toggle;
+    private int togglesPerTick;
+
+    @Setup(Level.Trial)
+    public void setUp() throws BadOpoException {
+        fixture = new LevelFixture(boardSize, entityCount);
+        fixture.buildControllers();
+
+        // Celdas a consultar, precalculadas para no medir el generador
+        Random random = new Random(LevelFixture.SEED);
+        queryX = new int[QUERY_MASK + 1];
+        queryY = new int[QUERY_MASK + 1];
+        for (int i = 0; i <= QUERY_MASK; i++) {
+            queryX[i] = random.nextInt(boardSize);
+            queryY[i] = random.nextInt(boardSize);
+        }
+
+        // Hielo que aparece y se rompe en cada tick (animaciones en curso):
+        // con 0.25 s por animacion quedan unas 16 * togglesPerTick activas
+        togglesPerTick = Math.max(1, entityCount / 10);
+        for (int i = 0; i < 16; i++) {
+            toggleIce();
+        }
+    }
+
+    private void toggleIce() {
+        for (int k = 0; k < togglesPerTick; k++) {
+            int i = toggle++ & QUERY_MASK;
+            if (!fixture.board.breakIceBlock(queryX[i], queryY[i])) {
+                fixture.board.createIceBlock(queryX[i], queryY[i]);
+            }
+        }
+        fixture.board.updateAnimations(SimulationRunner.DEFAULT_DT);
+    }
+
+    @Benchmark
+    public boolean isObstacleAt() {
+        int i = query++ & QUERY_MASK;
+        return fixture.items.isObstacleAt(queryX[i], queryY[i]);
+    }
+
+    @Benchmark
+    public void updateEnemies() {
+        fixture.enemies.updateEnemies(SimulationRunner.DEFAULT_DT);
+    }
+
+    @Benchmark
+    public void updateBots() {
+        fixture.players.updateBots(SimulationRunner.DEFAULT_DT, fixture.enemies);
+    }
+
+    /**
+     * Un tick de animaciones con hielo creandose y rompiendose, para medir
+     * el conjunto activo en regimen y no un tablero quieto.
+     */
+    @Benchmark
+    public int updateAnimations() {
+        toggleIce();
+        return fixture.board.getActiveAnimationCount();
+    }
+}
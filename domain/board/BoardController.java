@@ -1,63 +1,111 @@
 package domain.board;
 
-import domain.shared.Direction;
+import domain.shared.EntityBuffer;
 import domain.shared.EntityType;
 import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Controlador principal del tablero de juego.
- * Gestiona la matriz de celdas, validaciones de posiciones,
- * creacion/destruccion de bloques de hielo y animaciones domino.
+ * Gestiona las celdas del tablero, validaciones de posiciones,
+ * creacion/destruccion de bloques de hielo y sus animaciones.
  * 
  * <p>Responsabilidades principales:</p>
  * <ul>
- *   <li>Mantener el estado del tablero (matriz de celdas)</li>
+ *   <li>Mantener el estado del tablero (capas de bits por celda)</li>
  *   <li>Validar movimientos y posiciones</li>
  *   <li>Gestionar bloques de hielo (crear/romper)</li>
- *   <li>Controlar animaciones visuales del efecto domino</li>
+ *   <li>Animar la aparicion y el desvanecimiento del hielo</li>
  * </ul>
  * 
+ * <p>Representacion: cada capa (muros, hielo, calor) es un bitset
+ * {@code long[]} con una fila de {@code stride} palabras por cada fila del
+ * tablero, de modo que la celda (x, y) es el bit {@code x % 64} de la palabra
+ * {@code y * stride + x / 64}. Las consultas por celda son pruebas de bits y
+ * los recorridos de fila o de tablero trabajan de a 64 celdas por palabra.</p>
+ * 
+ * <p>Animaciones: solo las celdas que estan animando viven en arreglos
+ * paralelos (celda, inicio, direccion), con un indice por celda para
+ * encontrarlas en O(1). Actualizarlas cuesta O(celdas animando) y el
+ * progreso se calcula con el reloj de animaciones al consultarlo.</p>
+ * 
  * @author Diego Montes y Juan David Valero
  * @version 1.0
- * @see Cell
- * @see AnimationEntry
  */
 public class BoardController implements java.io.Serializable {
 
     private int width;
     private int height;
-    private Cell[][] grid; // Matriz interna oculta
-    private List<AnimationEntry> animationQueue; // Cola de animaciones dominó
-    private float animationTimer;
-    private static final float ANIMATION_DELAY = 0.3f; // Retardo entre celdas (muy visible)
-    private static final float ANIMATION_SPEED = 4.0f; // Velocidad de aparición/desaparición (más lento)
+    private int stride; // Palabras de 64 bits por fila
+
+    // Capas del tablero (bit en 1 = la celda tiene esa propiedad)
+    private long[] walls; // Muros y demas contenido solido
+    private long[] ice; // Bloques de hielo
+    private long[] hot; // Celdas calientes (no afecta la transitabilidad)
+    private int version; // Cambia con cada modificacion de muros o hielo
+
+    // Animaciones activas del hielo, una por posicion de los arreglos
+    private int[] animCells; // y * width + x
+    private float[] animStarts; // Inicio en el reloj de animaciones
+    private boolean[] animAppearing; // Direccion: true aparece, false se desvanece
+    private int animCount;
+    private int[] animSlot; // Por celda: posicion en los arreglos activos, o -1
+    private float animationClock;
+    private static final int INITIAL_ANIMATIONS = 16;
+    private static final float ANIMATION_SPEED = 4.0f; // Velocidad de aparición/desaparición (0.25 s)
+    private static final long MAX_SAVED_CELLS = 1L << 24; // Limite al leer partidas guardadas
+    private static final String ICE_ID = "ice";
+    private static final String ICE_TYPE = "ICE"; // Tipo visual del hielo (sprite)
 
     public BoardController(int width, int height) {
-        this.width = width;
-        this.height = height;
-        this.grid = new Cell[height][width];
-        this.animationQueue = new ArrayList<>();
-        this.animationTimer = 0f;
-        initializeEmptyBoard();
+        this.animCells = new int[INITIAL_ANIMATIONS];
+        this.animStarts = new float[INITIAL_ANIMATIONS];
+        this.animAppearing = new boolean[INITIAL_ANIMATIONS];
+        allocateLayers(width, height);
     }
 
-    private void initializeEmptyBoard() {
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                grid[y][x] = new Cell(EntityType.EMPTY);
-            }
-        }
+    private void allocateLayers(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.stride = (width + 63) >>> 6;
+        int words = stride * height;
+        this.walls = new long[words];
+        this.ice = new long[words];
+        this.hot = new long[words];
+        this.animSlot = new int[width * height];
+        Arrays.fill(animSlot, -1);
+        this.animCount = 0;
+        this.animationClock = 0f;
+        version++;
     }
     // Aquí luego llamarás a un LevelLoader para poner paredes reales
     // --- MODIFICACIÓN DEL ENTORNO (Habilidades) ---
 
     public void reset(int width, int height) {
-        this.width = width;
-        this.height = height;
-        this.grid = new Cell[height][width];
-        initializeEmptyBoard();
+        allocateLayers(width, height);
+    }
+
+    // --- ACCESO A LAS CAPAS ---
+
+    private int wordIndex(int x, int y) {
+        return y * stride + (x >>> 6);
+    }
+
+    // El desplazamiento de long usa solo los 6 bits bajos: 1L << x == 1L << (x % 64)
+    private static boolean testBit(long[] layer, int word, int x) {
+        return (layer[word] & (1L << x)) != 0;
+    }
+
+    private static void setBit(long[] layer, int word, int x, boolean value) {
+        if (value) {
+            layer[word] |= 1L << x;
+        } else {
+            layer[word] &= ~(1L << x);
+        }
     }
 
     // --- CONSULTAS DE ESTADO (Para IAs y Validaciones) ---
@@ -69,14 +117,66 @@ public class BoardController implements java.io.Serializable {
     public EntityType getEntityAt(int x, int y) {
         if (!isValidPosition(x, y))
             return EntityType.WALL; // Bordes son muros
-        return grid[y][x].getContent();
+        int w = wordIndex(x, y);
+        if (testBit(walls, w, x))
+            return EntityType.WALL;
+        if (testBit(ice, w, x))
+            return EntityType.ICE_BLOCK;
+        return EntityType.EMPTY;
     }
 
     // Usado por Players y Enemies para saber si pueden avanzar
     public boolean isWalkable(int x, int y) {
         if (!isValidPosition(x, y))
             return false;
-        return grid[y][x].isWalkable();
+        int w = wordIndex(x, y);
+        return ((walls[w] | ice[w]) & (1L << x)) == 0;
+    }
+
+    /**
+     * Indica si la celda es un muro fijo. A diferencia de isWalkable, el
+     * hielo no cuenta: se puede romper y no pertenece al fondo estatico.
+     */
+    public boolean isWallAt(int x, int y) {
+        if (!isValidPosition(x, y))
+            return true; // Bordes son muros
+        return testBit(walls, wordIndex(x, y), x);
+    }
+
+    /**
+     * Indica si la celda tiene un bloque de hielo.
+     */
+    public boolean isIceAt(int x, int y) {
+        if (!isValidPosition(x, y))
+            return false;
+        return testBit(ice, wordIndex(x, y), x);
+    }
+
+    /**
+     * Indica si la celda esta marcada como caliente (baldosa caliente).
+     */
+    public boolean isHot(int x, int y) {
+        if (!isValidPosition(x, y))
+            return false;
+        return testBit(hot, wordIndex(x, y), x);
+    }
+
+    /**
+     * Marca o desmarca una celda como caliente.
+     * La usa ItemController al colocar items que queman (HotTile).
+     */
+    public void setHot(int x, int y, boolean isHot) {
+        if (isValidPosition(x, y)) {
+            setBit(hot, wordIndex(x, y), x, isHot);
+        }
+    }
+
+    /**
+     * Version del tablero: cambia cada vez que se modifica un muro o un bloque
+     * de hielo, para que quien guarde calculos (PathFinder) sepa si siguen vigentes.
+     */
+    public int getVersion() {
+        return version;
     }
 
     public int getWidth() {
@@ -94,14 +194,14 @@ public class BoardController implements java.io.Serializable {
         if (!isValidPosition(x, y))
             return false;
 
-        Cell cell = grid[y][x];
-
         // Regla: "Si ya existe un bloque, no se reemplaza" [cite: 33]
-        if (cell.getContent() != EntityType.EMPTY) {
+        if (!isWalkable(x, y)) {
             return false;
         }
 
-        cell.setContent(EntityType.ICE_BLOCK);
+        setBit(ice, wordIndex(x, y), x, true);
+        startAnimation(x, y, true);
+        version++;
         return true;
     }
 
@@ -110,129 +210,307 @@ public class BoardController implements java.io.Serializable {
         if (!isValidPosition(x, y))
             return false;
 
-        Cell cell = grid[y][x];
-        if (cell.getContent() == EntityType.ICE_BLOCK) {
-            cell.setContent(EntityType.EMPTY);
+        int w = wordIndex(x, y);
+        if (testBit(ice, w, x)) {
+            // La celda queda libre ya; el bloque solo se desvanece en la vista
+            setBit(ice, w, x, false);
+            startAnimation(x, y, false);
+            version++;
             return true;
         }
         return false;
     }
 
-    // Añadir animación dominó desde un punto
-    private void addDominoAnimation(int startX, int startY, EntityType targetType) {
-        animationQueue.clear(); // Limpiar animaciones previas
-        animationTimer = 0f; // Reiniciar timer
+    /**
+     * Pone el hielo inicial del mapa directamente en la capa, sin animacion:
+     * el nivel arranca con el bloque ya formado. No reemplaza muros ni hielo.
+     */
+    public boolean placeIce(int x, int y) {
+        if (!isWalkable(x, y))
+            return false;
 
-        // Calcular distancia Manhattan desde el punto inicial
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (targetType == EntityType.ICE_BLOCK) {
-                    // Solo animar celdas vacías que NO sean muros
-                    if (grid[y][x].getContent() == EntityType.EMPTY) {
-                        int distance = Math.abs(x - startX) + Math.abs(y - startY);
-                        animationQueue.add(new AnimationEntry(x, y, targetType, distance * ANIMATION_DELAY));
-                        grid[y][x].setAnimationProgress(0f);
-                        grid[y][x].setAnimating(true);
-                    }
-                } else {
-                    // Solo animar bloques de hielo existentes
-                    if (grid[y][x].getContent() == EntityType.ICE_BLOCK) {
-                        int distance = Math.abs(x - startX) + Math.abs(y - startY);
-                        animationQueue.add(new AnimationEntry(x, y, targetType, distance * ANIMATION_DELAY));
-                        grid[y][x].setAnimationProgress(1.0f); // Empezar completamente visible
-                        grid[y][x].setAnimating(true);
-                    }
-                }
+        setBit(ice, wordIndex(x, y), x, true);
+        int slot = animSlot[y * width + x];
+        if (slot >= 0) {
+            removeAnimation(slot);
+        }
+        version++;
+        return true;
+    }
+
+    // --- ANIMACIONES DEL HIELO ---
+
+    /**
+     * Inicia (o invierte) la animacion de una celda. Si la celda ya estaba
+     * animando, sigue desde lo que se ve ahora para que no salte.
+     *
+     * @param appearing true si el hielo aparece, false si se desvanece
+     */
+    private void startAnimation(int x, int y, boolean appearing) {
+        int cell = y * width + x;
+        int slot = animSlot[cell];
+        float visible;
+        if (slot < 0) {
+            visible = appearing ? 0.0f : 1.0f;
+            if (animCount == animCells.length) {
+                growAnimations();
             }
+            slot = animCount++;
+            animCells[slot] = cell;
+            animSlot[cell] = slot;
+        } else {
+            visible = progressOf(slot);
+        }
+        animAppearing[slot] = appearing;
+        float elapsed = (appearing ? visible : 1.0f - visible) / ANIMATION_SPEED;
+        animStarts[slot] = animationClock - elapsed;
+    }
+
+    // Progreso visible (0.0 a 1.0) de la animacion en la posicion slot
+    private float progressOf(int slot) {
+        float t = Math.min(1.0f, (animationClock - animStarts[slot]) * ANIMATION_SPEED);
+        return animAppearing[slot] ? t : 1.0f - t;
+    }
+
+    // Quita la animacion slot moviendo la ultima a su lugar
+    private void removeAnimation(int slot) {
+        animSlot[animCells[slot]] = -1;
+        int last = --animCount;
+        if (slot != last) {
+            animCells[slot] = animCells[last];
+            animStarts[slot] = animStarts[last];
+            animAppearing[slot] = animAppearing[last];
+            animSlot[animCells[slot]] = slot;
         }
     }
 
-    // Actualizar animaciones (llamar desde DomainController)
+    private void growAnimations() {
+        int capacity = animCells.length * 2;
+        animCells = Arrays.copyOf(animCells, capacity);
+        animStarts = Arrays.copyOf(animStarts, capacity);
+        animAppearing = Arrays.copyOf(animAppearing, capacity);
+    }
+
+    /**
+     * Avanza las animaciones activas y quita las que terminaron. Solo
+     * recorre las celdas que estan animando y no asigna memoria.
+     * La llama DomainController en cada tick.
+     */
     public void updateAnimations(float deltaTime) {
-        if (animationQueue.isEmpty())
+        if (animCount == 0)
             return;
 
-        animationTimer += deltaTime;
-
-        List<AnimationEntry> toRemove = new ArrayList<>();
-
-        for (AnimationEntry entry : animationQueue) {
-            // Solo comenzar la animación si el timer ha llegado al delay de esta celda
-            if (animationTimer >= entry.delay) {
-                Cell cell = grid[entry.y][entry.x];
-
-                // Calcular cuánto tiempo ha pasado desde que esta celda comenzó
-                float timeSinceStart = animationTimer - entry.delay;
-
-                if (entry.targetType == EntityType.ICE_BLOCK) {
-                    // Animación de creación
-                    float progress = timeSinceStart * ANIMATION_SPEED;
-
-                    if (progress >= 1.0f) {
-                        progress = 1.0f;
-                        cell.setContent(EntityType.ICE_BLOCK);
-                        cell.setAnimating(false);
-                        toRemove.add(entry);
-                    } else {
-                        // Durante la animación, marcar como ICE_BLOCK para que se dibuje
-                        if (cell.getContent() == EntityType.EMPTY) {
-                            cell.setContent(EntityType.ICE_BLOCK);
-                        }
-                        cell.setAnimating(true);
-                    }
-                    cell.setAnimationProgress(progress);
-                } else {
-                    // Animación de destrucción
-                    float progress = 1.0f - (timeSinceStart * ANIMATION_SPEED);
-
-                    if (progress <= 0.0f) {
-                        progress = 0.0f;
-                        cell.setContent(EntityType.EMPTY);
-                        cell.setAnimating(false);
-                        toRemove.add(entry);
-                    } else {
-                        cell.setAnimating(true);
-                    }
-                    cell.setAnimationProgress(progress);
-                }
+        animationClock += deltaTime;
+        // De atras hacia adelante: la que ocupa el lugar de una quitada ya se reviso
+        for (int i = animCount - 1; i >= 0; i--) {
+            if ((animationClock - animStarts[i]) * ANIMATION_SPEED >= 1.0f) {
+                removeAnimation(i);
             }
         }
 
-        animationQueue.removeAll(toRemove);
-
-        // Si terminaron todas las animaciones, reiniciar el timer
-        if (animationQueue.isEmpty()) {
-            animationTimer = 0f;
+        // Sin animaciones el reloj vuelve a 0 y no pierde precision
+        if (animCount == 0) {
+            animationClock = 0f;
         }
     }
 
-    // Obtener progreso de animación de una celda
+    // Obtener progreso de animación de una celda (1.0 si no anima)
     public float getCellAnimationProgress(int x, int y) {
         if (!isValidPosition(x, y))
             return 1.0f;
-        return grid[y][x].getAnimationProgress();
+        int slot = animSlot[y * width + x];
+        return (slot < 0) ? 1.0f : progressOf(slot);
+    }
+
+    public boolean isAnimating(int x, int y) {
+        return isValidPosition(x, y) && animSlot[y * width + x] >= 0;
+    }
+
+    /**
+     * Celdas con animacion en curso.
+     */
+    public int getActiveAnimationCount() {
+        return animCount;
     }
 
     // Obtener todas las posiciones de bloques de hielo
     public List<int[]> getIceBlockPositions() {
         List<int[]> positions = new ArrayList<>();
         for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (grid[y][x].getContent() == EntityType.ICE_BLOCK) {
+            int rowStart = y * stride;
+            // Solo se visitan los bits en 1 de cada palabra
+            for (int k = 0; k < stride; k++) {
+                long bits = ice[rowStart + k];
+                while (bits != 0) {
+                    int x = (k << 6) + Long.numberOfTrailingZeros(bits);
                     positions.add(new int[] { x, y });
+                    bits &= bits - 1;
                 }
             }
         }
         return positions;
     }
 
+    /**
+     * Agrega al buffer una entrada "ICE" por bloque de hielo, en orden de
+     * filas, con su progreso de animacion, y al final los bloques rotos que
+     * aun se estan desvaneciendo. La capa de hielo es la unica copia del
+     * hielo: la vista lo recibe de aqui, sin objetos por bloque.
+     */
+    public void fillIceInfo(EntityBuffer out) {
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * stride;
+            for (int k = 0; k < stride; k++) {
+                long bits = ice[rowStart + k];
+                while (bits != 0) {
+                    int x = (k << 6) + Long.numberOfTrailingZeros(bits);
+                    int slot = animSlot[y * width + x];
+                    out.append(ICE_ID, x, y, ICE_TYPE, true, (slot < 0) ? 1.0f : progressOf(slot));
+                    bits &= bits - 1;
+                }
+            }
+        }
+        for (int i = 0; i < animCount; i++) {
+            if (!animAppearing[i]) {
+                int cell = animCells[i];
+                out.append(ICE_ID, cell % width, cell / width, ICE_TYPE, true, progressOf(i));
+            }
+        }
+    }
+
+    /**
+     * Cantidad de bloques de hielo en el tablero (conteo de bits por palabra).
+     */
+    public int countIceBlocks() {
+        int count = 0;
+        for (long word : ice) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Cantidad de celdas transitables (sin muro ni hielo).
+     * Los bits de relleno al final de cada fila se descartan con una mascara.
+     */
+    public int countWalkableCells() {
+        int blocked = 0;
+        int tailBits = width & 63;
+        long tailMask = (tailBits == 0) ? -1L : (1L << tailBits) - 1;
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * stride;
+            for (int k = 0; k < stride; k++) {
+                long solid = walls[rowStart + k] | ice[rowStart + k];
+                if (k == stride - 1) {
+                    solid &= tailMask;
+                }
+                blocked += Long.bitCount(solid);
+            }
+        }
+        return width * height - blocked;
+    }
+
+    /**
+     * Copia en row[0..width) los muros fijos de la fila y (como isWallAt:
+     * el hielo no cuenta). Recorre solo los bits encendidos de cada palabra
+     * en vez de consultar celda por celda. Una fila fuera del tablero queda
+     * toda en muro.
+     *
+     * @param row Arreglo de al menos width posiciones
+     */
+    public void copyWallRow(int y, boolean[] row) {
+        if (y < 0 || y >= height) {
+            Arrays.fill(row, 0, width, true); // Bordes son muros
+            return;
+        }
+        Arrays.fill(row, 0, width, false);
+        int tailBits = width & 63;
+        long tailMask = (tailBits == 0) ? -1L : (1L << tailBits) - 1;
+        int rowStart = y * stride;
+        for (int k = 0; k < stride; k++) {
+            long bits = walls[rowStart + k];
+            if (k == stride - 1) {
+                bits &= tailMask;
+            }
+            while (bits != 0) {
+                row[(k << 6) + Long.numberOfTrailingZeros(bits)] = true;
+                bits &= bits - 1; // Apaga el bit mas bajo
+            }
+        }
+    }
+
     // --- CONFIGURACIÓN (Para Carga de Niveles) ---
 
-    // Este método lo usará tu cargador de niveles
+    // Este método lo usará tu cargador de niveles.
+    // WALL y cualquier otro contenido solido van a la capa de muros;
+    // ICE_BLOCK a la de hielo y EMPTY limpia ambas.
     public void setMapObstacle(int x, int y, EntityType type) throws BadOpoException {
         if (!isValidPosition(x, y))
             throw new BadOpoException(BadOpoException.CONFIG_ERROR);
-        grid[y][x].setContent(type);
+        int w = wordIndex(x, y);
+        setBit(ice, w, x, type == EntityType.ICE_BLOCK);
+        setBit(walls, w, x, type != EntityType.ICE_BLOCK && type != EntityType.EMPTY);
+        int slot = animSlot[y * width + x];
+        if (slot >= 0) {
+            removeAnimation(slot); // El mapa se pone sin animacion
+        }
+        version++;
+    }
+
+    // --- PERSISTENCIA ---
+
+    /**
+     * Escribe el tablero en el formato de partida: dimensiones, las tres
+     * capas de bits tal cual y las animaciones activas (celda, inicio y
+     * direccion) con su reloj.
+     */
+    public void writeState(StateWriter out) {
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeLongs(walls);
+        out.writeLongs(ice);
+        out.writeLongs(hot);
+        out.writeFloat(animationClock);
+        out.writeInt(animCount);
+        for (int i = 0; i < animCount; i++) {
+            out.writeInt(animCells[i]);
+            out.writeFloat(animStarts[i]);
+            out.writeBoolean(animAppearing[i]);
+        }
+    }
+
+    /**
+     * Restaura el tablero escrito por writeState.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        int newWidth = in.readInt();
+        int newHeight = in.readInt();
+        if (newWidth <= 0 || newHeight <= 0 || (long) newWidth * newHeight > MAX_SAVED_CELLS) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
+        }
+        allocateLayers(newWidth, newHeight);
+        int words = stride * height;
+        walls = in.readLongs(words);
+        ice = in.readLongs(words);
+        hot = in.readLongs(words);
+        animationClock = in.readFloat();
+        int entries = in.readCount(9);
+        for (int i = 0; i < entries; i++) {
+            int cell = in.readInt();
+            float start = in.readFloat();
+            boolean appearing = in.readBoolean();
+            if (cell < 0 || cell >= width * height || animSlot[cell] >= 0) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            if (animCount == animCells.length) {
+                growAnimations();
+            }
+            animCells[animCount] = cell;
+            animStarts[animCount] = start;
+            animAppearing[animCount] = appearing;
+            animSlot[cell] = animCount++;
+        }
+        version++;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package domain.board;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Conjunto de celdas del tablero (indice y * width + x) que permite elegir
+ * la k-esima celda del conjunto, en orden de filas, en O(log n).
+ *
+ * <p>Guarda un bit por celda y un arbol de Fenwick con la cantidad de
+ * celdas del conjunto por prefijo. Agregar o quitar una celda cuesta
+ * O(log n); elegir una al azar es {@code select(random.nextInt(size()))},
+ * sin recorrer el tablero ni armar listas de posiciones.</p>
+ *
+ * <p>El resultado de select solo depende de que celdas estan en el
+ * conjunto, no del orden en que se agregaron: un conjunto reconstruido al
+ * cargar una partida elige exactamente las mismas celdas.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see BoardController
+ */
+public class CellSet {
+
+    private final int capacity;
+    private final long[] bits;
+    private final int[] tree; // Fenwick con base 1: tree[i] cubre (i - (i & -i), i]
+    private final int topStep; // Mayor potencia de dos <= capacity
+    private int size;
+
+    public CellSet(int capacity) {
+        this.capacity = capacity;
+        this.bits = new long[(capacity + 63) >>> 6];
+        this.tree = new int[capacity + 1];
+        this.topStep = (capacity == 0) ? 0 : Integer.highestOneBit(capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int cell) {
+        return cell >= 0 && cell < capacity && (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return true si la celda no estaba en el conjunto
+     */
+    public boolean add(int cell) {
+        if (cell < 0 || cell >= capacity || contains(cell))
+            return false;
+        bits[cell >>> 6] |= 1L << cell;
+        update(cell, 1);
+        return true;
+    }
+
+    /**
+     * @return true si la celda estaba en el conjunto
+     */
+    public boolean remove(int cell) {
+        if (!contains(cell))
+            return false;
+        bits[cell >>> 6] &= ~(1L << cell);
+        update(cell, -1);
+        return true;
+    }
+
+    /**
+     * Pone o quita la celda segun el valor.
+     */
+    public void set(int cell, boolean member) {
+        if (member) {
+            add(cell);
+        } else {
+            remove(cell);
+        }
+    }
+
+    /**
+     * Reconstruye todo el conjunto con las celdas que cumplen la condicion,
+     * en O(n) (mas barato que n llamados a add).
+     */
+    public void rebuild(IntPredicate member) {
+        Arrays.fill(bits, 0L);
+        Arrays.fill(tree, 0);
+        size = 0;
+        for (int cell = 0; cell < capacity; cell++) {
+            if (member.test(cell)) {
+                bits[cell >>> 6] |= 1L << cell;
+                tree[cell + 1] = 1;
+                size++;
+            }
+        }
+        // Cada nodo suma su cuenta a su padre
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Celda numero k (desde 0) del conjunto en orden creciente de indice.
+     *
+     * @return La celda, o -1 si k esta fuera de rango
+     */
+    public int select(int k) {
+        if (k < 0 || k >= size)
+            return -1;
+        // Descenso por el arbol: el mayor prefijo con menos de k + 1 celdas
+        int position = 0;
+        int remaining = k + 1;
+        for (int step = topStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= capacity && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position; // Indice base 1 position + 1 == celda position
+    }
+
+    private void update(int cell, int delta) {
+        size += delta;
+        for (int i = cell + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package domain.board;
+
+import domain.shared.Direction;
+
+/**
+ * Campo de distancias calculado por BFS desde un conjunto de celdas origen.
+ * Cada celda guarda cuantos pasos la separan del origen mas cercano
+ * (o -1 si no es alcanzable), de modo que decidir el siguiente paso
+ * solo requiere mirar las cuatro celdas vecinas.
+ * 
+ * <p>Las instancias las crea y reutiliza PathFinder; siguen siendo
+ * validas mientras el tablero y los obstaculos no cambien.</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see PathFinder
+ */
+public class DistanceField {
+
+    /** Distancia de las celdas que no se pueden alcanzar */
+    public static final int UNREACHABLE = -1;
+
+    // Mismo orden que el arreglo canMove de los bots: UP, DOWN, LEFT, RIGHT
+    private static final Direction[] STEPS = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+
+    int width;
+    int height;
+    int[] distance;
+
+    // Datos con los que se calculo, para decidir si se puede reutilizar
+    int[] sourceCells;
+    int sourceCount;
+    int boardVersion;
+    int obstacleVersion;
+    long lastUse;
+
+    DistanceField() {
+        this.sourceCells = new int[8];
+    }
+
+    /**
+     * Pasos desde (x, y) hasta el origen mas cercano.
+     * 
+     * @return Distancia en celdas, o UNREACHABLE si no hay camino o esta fuera del tablero
+     */
+    public int getDistance(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height)
+            return UNREACHABLE;
+        return distance[y * width + x];
+    }
+
+    /**
+     * Primer paso del camino mas corto desde (x, y) hacia el origen mas cercano.
+     * 
+     * @return Direccion a tomar, o NONE si ya se esta en un origen o no hay camino
+     */
+    public Direction stepTowards(int x, int y) {
+        int current = getDistance(x, y);
+        if (current <= 0)
+            return Direction.NONE;
+
+        for (Direction dir : STEPS) {
+            if (getDistance(x + dir.getDx(), y + dir.getDy()) == current - 1) {
+                return dir;
+            }
+        }
+        return Direction.NONE;
+    }
+
+    /**
+     * Paso que mas aumenta la distancia a los origenes (para huir).
+     * 
+     * @return Direccion a tomar, o NONE si ningun vecino queda mas lejos que (x, y)
+     */
+    public Direction stepAway(int x, int y) {
+        int best = getDistance(x, y);
+        if (best == UNREACHABLE)
+            return Direction.NONE;
+
+        Direction bestDir = Direction.NONE;
+        for (Direction dir : STEPS) {
+            int d = getDistance(x + dir.getDx(), y + dir.getDy());
+            if (d > best) {
+                best = d;
+                bestDir = dir;
+            }
+        }
+        return bestDir;
+    }
+}
@@ -0,0 +1,25 @@
+package domain.board;
+
+/**
+ * Vista de los obstaculos que viven fuera del tablero (items solidos; el
+ * hielo es una capa del tablero), para que el PathFinder pueda consultarlos
+ * sin depender del paquete de items.
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see PathFinder
+ * @see domain.items.ItemController
+ */
+public interface ObstacleMap {
+
+    /**
+     * Indica si hay un obstaculo que bloquea el paso en la celda.
+     */
+    boolean isObstacleAt(int x, int y);
+
+    /**
+     * Numero que cambia cada vez que se agrega, quita o mueve un obstaculo.
+     * Permite saber si los campos de distancia calculados siguen vigentes.
+     */
+    int getObstacleVersion();
+}
@@ -0,0 +1,182 @@
+package domain.board;
+
+import domain.shared.EntityInfo;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Servicio de busqueda de caminos sobre el tablero.
+ * Calcula campos de distancia (BFS desde varios origenes a la vez) teniendo
+ * en cuenta los muros/hielo del tablero y los obstaculos de los items.
+ * 
+ * <p>Los campos se guardan en una cache pequena y se reutilizan mientras
+ * los origenes, el tablero y los obstaculos sean los mismos; asi los bots
+ * que comparten objetivo (por ejemplo, todas las frutas) pagan el BFS
+ * una sola vez y cada decision posterior es O(1).</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see DistanceField
+ * @see ObstacleMap
+ */
+public class PathFinder implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int CACHE_SIZE = 4;
+
+    private final BoardController board;
+    private final ObstacleMap obstacles;
+
+    // Estado recalculable: no se guarda con la partida
+    private transient DistanceField[] cache;
+    private transient long useClock;
+    private transient boolean[] passable;
+    private transient int passableBoardVersion;
+    private transient int passableObstacleVersion;
+    private transient int[] queue;
+
+    public PathFinder(BoardController board, ObstacleMap obstacles) {
+        this.board = board;
+        this.obstacles = obstacles;
+    }
+
+    /**
+     * Campo de distancias hacia la entidad mas cercana de la lista
+     * (medida en pasos reales, rodeando muros y hielo).
+     * El campo retornado se reutiliza: es valido hasta el siguiente llamado
+     * que no encuentre coincidencia en la cache.
+     * 
+     * @param sources Entidades origen (frutas, enemigos, ...)
+     * @return Campo de distancias; todo UNREACHABLE si la lista esta vacia
+     */
+    public DistanceField distanceFrom(List<EntityInfo> sources) {
+        if (cache == null) {
+            cache = new DistanceField[CACHE_SIZE];
+        }
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int boardVersion = board.getVersion();
+        int obstacleVersion = obstacles.getObstacleVersion();
+
+        // 1. Buscar un campo vigente con los mismos origenes
+        DistanceField oldest = null;
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            DistanceField field = cache[i];
+            if (field == null) {
+                field = cache[i] = new DistanceField();
+            }
+            if (field.distance != null && field.width == width && field.height == height
+                    && field.boardVersion == boardVersion && field.obstacleVersion == obstacleVersion
+                    && sameSources(field, sources, width)) {
+                field.lastUse = ++useClock;
+                return field;
+            }
+            if (oldest == null || field.lastUse < oldest.lastUse) {
+                oldest = field;
+            }
+        }
+
+        // 2. Recalcular sobre el menos usado
+        compute(oldest, sources, width, height, boardVersion, obstacleVersion);
+        oldest.lastUse = ++useClock;
+        return oldest;
+    }
+
+    private boolean sameSources(DistanceField field, List<EntityInfo> sources, int width) {
+        if (field.sourceCount != sources.size())
+            return false;
+        for (int i = 0; i < field.sourceCount; i++) {
+            EntityInfo e = sources.get(i);
+            if (field.sourceCells[i] != cellOf(e.x, e.y, width))
+                return false;
+        }
+        return true;
+    }
+
+    // Las entidades fuera del tablero se guardan como -1 y no siembran el BFS
+    private int cellOf(int x, int y, int width) {
+        return board.isValidPosition(x, y) ? y * width + x : -1;
+    }
+
+    private void compute(DistanceField field, List<EntityInfo> sources, int width, int height,
+            int boardVersion, int obstacleVersion) {
+        int cells = width * height;
+        refreshPassable(width, height, boardVersion, obstacleVersion);
+
+        if (field.distance == null || field.distance.length != cells) {
+            field.distance = new int[cells];
+        }
+        if (field.sourceCells.length < sources.size()) {
+            field.sourceCells = new int[Math.max(sources.size(), field.sourceCells.length * 2)];
+        }
+        if (queue == null || queue.length < cells) {
+            queue = new int[cells];
+        }
+        field.width = width;
+        field.height = height;
+        field.boardVersion = boardVersion;
+        field.obstacleVersion = obstacleVersion;
+        field.sourceCount = sources.size();
+
+        int[] distance = field.distance;
+        Arrays.fill(distance, DistanceField.UNREACHABLE);
+
+        // Todos los origenes arrancan a distancia 0 (BFS multi-origen)
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            EntityInfo e = sources.get(i);
+            int cell = cellOf(e.x, e.y, width);
+            field.sourceCells[i] = cell;
+            if (cell >= 0 && distance[cell] == DistanceField.UNREACHABLE) {
+                distance[cell] = 0;
+                queue[tail++] = cell;
+            }
+        }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distance[cell] + 1;
+            int x = cell % width;
+            if (cell >= width)
+                tail = visit(cell - width, next, distance, tail);
+            if (cell < cells - width)
+                tail = visit(cell + width, next, distance, tail);
+            if (x > 0)
+                tail = visit(cell - 1, next, distance, tail);
+            if (x < width - 1)
+                tail = visit(cell + 1, next, distance, tail);
+        }
+    }
+
+    private int visit(int cell, int dist, int[] distance, int tail) {
+        if (passable[cell] && distance[cell] == DistanceField.UNREACHABLE) {
+            distance[cell] = dist;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /**
+     * Mapa de celdas transitables; solo se reconstruye cuando cambia
+     * el tablero o algun obstaculo.
+     */
+    private void refreshPassable(int width, int height, int boardVersion, int obstacleVersion) {
+        int cells = width * height;
+        if (passable != null && passable.length == cells
+                && passableBoardVersion == boardVersion && passableObstacleVersion == obstacleVersion) {
+            return;
+        }
+        if (passable == null || passable.length != cells) {
+            passable = new boolean[cells];
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                passable[y * width + x] = board.isWalkable(x, y) && !obstacles.isObstacleAt(x, y);
+            }
+        }
+        passableBoardVersion = boardVersion;
+        passableObstacleVersion = obstacleVersion;
+    }
+}
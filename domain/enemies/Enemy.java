@@ -1,11 +1,20 @@
 package domain.enemies;
 
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Clase abstracta base para todos los enemigos del juego.
- * Define la estructura comun y comportamiento basico de los enemigos,
- * incluyendo posicion, velocidad y sistema de temporizador de movimiento.
+ * Define la estructura comun de los enemigos: posicion, velocidad
+ * (movimientos por segundo) y temporizador de movimiento.
+ *
+ * <p>Un Enemy describe a un enemigo para crearlo y guardarlo. Durante la
+ * partida vive como una fila de EnemyStore y EnemyController lo mueve con
+ * la regla de su tipo, que cada subclase expone como metodos estaticos
+ * sobre el almacen (Troll.turn, Narwhal.decide) o constantes (BREAKS_ICE).
+ * No hay una segunda version de esas reglas sobre los objetos.</p>
  * 
  * <p>Tipos de enemigos disponibles:</p>
  * <ul>
@@ -53,12 +62,6 @@ public abstract class Enemy implements java.io.Serializable {
         this.y = y;
     }
 
-    // Método abstracto: El "cerebro" del enemigo.
-    // Recibe información del entorno y decide hacia dónde quiere ir.
-    // blocked: ¿Me bloqueó un muro en el frame anterior?
-    // targetX/Y: Dónde está el jugador (para los que persiguen)
-    public abstract Direction decideMove(boolean blocked, int targetX, int targetY);
-
     public abstract String getType();
 
     /**
@@ -89,33 +92,58 @@ public abstract class Enemy implements java.io.Serializable {
         }
     }
 
-    // Método helper para saber si este enemigo puede romper hielo (Default: No)
-    public boolean canBreakIce() {
-        return false;
+    /**
+     * Persecucion simple hacia (targetX, targetY): primero el eje X, luego el Y.
+     * La comparten Maceta y Calamar (y EnemyController cuando no hay camino).
+     */
+    static Direction chaseStep(int x, int y, int targetX, int targetY) {
+        if (x < targetX)
+            return Direction.RIGHT;
+        if (x > targetX)
+            return Direction.LEFT;
+
+        if (y < targetY)
+            return Direction.DOWN;
+        if (y > targetY)
+            return Direction.UP;
+
+        return Direction.NONE;
     }
 
-    // --- SISTEMA DE VELOCIDAD ---
+    // --- ALMACEN DE ENEMIGOS ---
+
+    /**
+     * Copia el estado propio de la subclase (direccion, embestida) a la fila i
+     * del almacen. Posicion, velocidad y temporizador los copia EnemyStore.
+     */
+    void storeTo(EnemyStore store, int i) {
+        // Por defecto no hay estado propio
+    }
 
     /**
-     * Actualiza el timer del enemigo.
-     * speed representa movimientos por segundo.
-     * Cuando moveTimer >= 1.0, el enemigo puede moverse.
+     * Inverso de storeTo: toma el estado propio de la fila i del almacen.
      */
-    public void updateTimer(float dt) {
-        moveTimer += speed * dt;
+    void loadFrom(EnemyStore store, int i) {
+        // Por defecto no hay estado propio
     }
 
+    // --- PERSISTENCIA ---
+
     /**
-     * Verifica si el enemigo puede moverse en este frame.
+     * Escribe la velocidad y el temporizador del enemigo.
+     * Las subclases con estado propio lo agregan despues de llamar a super.
+     * El id, el tipo y la posicion los escribe EnemyController.
      */
-    public boolean canMove() {
-        return moveTimer >= 1.0f;
+    public void writeState(StateWriter out) {
+        out.writeFloat(speed);
+        out.writeFloat(moveTimer);
     }
 
     /**
-     * Resetea el timer después de un movimiento.
+     * Restaura el estado escrito por writeState.
      */
-    public void resetTimer() {
-        moveTimer -= 1.0f; // Restamos 1.0 en lugar de poner a 0 para mantener precisión
+    public void readState(StateReader in) throws BadOpoException {
+        speed = in.readFloat();
+        moveTimer = in.readFloat();
     }
 }
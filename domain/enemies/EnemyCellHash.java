@@ -0,0 +1,82 @@
+package domain.enemies;
+
+import java.util.Arrays;
+
+/**
+ * Tabla hash espacial de enemigos por celda, reconstruida en cada tick:
+ * responde en O(1) que enemigos ocupan una celda, sin recorrer a todos.
+ *
+ * <p>Direccionamiento abierto con sondeo lineal sobre una tabla de potencia
+ * de dos (al menos el doble de enemigos). Cada celda ocupada apunta al
+ * primero de sus enemigos y los demas se encadenan con next, de modo que
+ * construirla no crea objetos.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see EnemyController#checkCollision(int, int, int, int)
+ */
+class EnemyCellHash implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int[] keys = new int[16]; // Celda + 1 (0 = casilla vacia)
+    private int[] heads = new int[16]; // Primer enemigo de la celda
+    private int[] next = new int[8]; // Siguiente enemigo en la misma celda, o -1
+    private int mask = 15;
+
+    /**
+     * Indexa los count enemigos por su celda y * width + x.
+     */
+    void build(int[] xs, int[] ys, int count, int width) {
+        int capacity = Integer.highestOneBit(Math.max(8, count) * 2 - 1) << 1;
+        if (keys.length < capacity) {
+            keys = new int[capacity];
+            heads = new int[capacity];
+            mask = capacity - 1;
+        } else {
+            Arrays.fill(keys, 0);
+        }
+        if (next.length < count) {
+            next = new int[Math.max(count, next.length * 2)];
+        }
+        // En orden inverso para que cada cadena quede en orden de indice
+        for (int i = count - 1; i >= 0; i--) {
+            int key = ys[i] * width + xs[i] + 1;
+            int slot = slotOf(key);
+            if (keys[slot] == key) {
+                next[i] = heads[slot];
+            } else {
+                keys[slot] = key;
+                next[i] = -1;
+            }
+            heads[slot] = i;
+        }
+    }
+
+    /**
+     * Primer enemigo en la celda, o -1 si esta vacia.
+     */
+    int first(int cell) {
+        if (cell < 0)
+            return -1;
+        int key = cell + 1;
+        int slot = slotOf(key);
+        return keys[slot] == key ? heads[slot] : -1;
+    }
+
+    /**
+     * Siguiente enemigo en la misma celda que el enemigo i, o -1.
+     */
+    int next(int i) {
+        return next[i];
+    }
+
+    // Primera casilla con la clave o vacia
+    private int slotOf(int key) {
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -1,21 +1,31 @@
 package domain.enemies;
 
 import domain.board.BoardController;
+import domain.board.DistanceField;
+import domain.board.PathFinder;
 import domain.items.ItemController;
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.EntityBuffer;
 import domain.shared.EntityInfo;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Iterator;
 
 /**
  * Controlador que gestiona todos los enemigos activos en el juego.
  * Maneja la creacion, actualizacion de IA, movimiento y colisiones de enemigos.
  * 
+ * <p>Los enemigos viven en un EnemyStore (arreglos primitivos por atributo)
+ * y se actualizan por tramos del mismo tipo con la rutina de ese tipo; las
+ * subclases de Enemy se usan para crearlos y para guardar su estado.</p>
+ * 
  * <p>Responsabilidades principales:</p>
  * <ul>
  *   <li>Crear y mantener la lista de enemigos activos</li>
  *   <li>Actualizar la IA y movimiento de cada enemigo</li>
+ *   <li>Guiar a los perseguidores con un campo de flujo compartido</li>
  *   <li>Validar movimientos contra el tablero y obstaculos</li>
  *   <li>Detectar colisiones con jugadores</li>
  *   <li>Proporcionar informacion visual para la GUI</li>
@@ -24,6 +34,7 @@ import java.util.Iterator;
  * @author Diego Montes y Juan David Valero
  * @version 1.0
  * @see Enemy
+ * @see EnemyStore
  * @see BoardController
  * @see ItemController
  */
@@ -31,17 +42,29 @@ public class EnemyController implements java.io.Serializable {
 
     private BoardController boardCtrl;
     private ItemController itemCtrl; // Necesario para gestionar rotura de hielo
-    private List<Enemy> enemies;
+    private EnemyStore store;
 
     // Guardamos la posición del jugador para que los enemigos perseguidores
     // (Maceta/Calamar) sepan a dónde ir
     private int playerX;
     private int playerY;
 
+    // Campo de flujo de los perseguidores: un solo BFS desde el jugador,
+    // que PathFinder recalcula solo si el jugador o los obstaculos cambian
+    private PathFinder pathFinder;
+    private transient List<EntityInfo> chaseTargets;
+
+    // Enemigos por celda al empezar y al terminar el tick; se reconstruyen
+    // en la primera consulta de colision despues de que alguien se movio
+    private transient EnemyCellHash startCells;
+    private transient EnemyCellHash endCells;
+    private transient boolean cellsDirty;
+
     public EnemyController(BoardController boardCtrl, ItemController itemCtrl) {
         this.boardCtrl = boardCtrl;
         this.itemCtrl = itemCtrl;
-        this.enemies = new ArrayList<>();
+        this.store = new EnemyStore();
+        this.pathFinder = new PathFinder(boardCtrl, itemCtrl);
     }
 
     /**
@@ -52,7 +75,8 @@ public class EnemyController implements java.io.Serializable {
         if (boardCtrl.isValidPosition(x, y)) {
             Enemy e = Enemy.create(type, id, x, y);
             if (e != null) {
-                enemies.add(e);
+                store.add(e);
+                cellsDirty = true;
             }
         }
     }
@@ -68,45 +92,135 @@ public class EnemyController implements java.io.Serializable {
 
     /**
      * Ciclo principal de actualización de la IA.
+     * Primero avanza todos los temporizadores en un solo recorrido y luego
+     * cada tramo de enemigos del mismo tipo se mueve con su rutina, en el
+     * mismo orden en que aparecieron.
      */
     public void updateEnemies(float dt) {
-        for (Enemy e : enemies) {
-            e.updateTimer(dt);
+        store.markTickStart();
+        cellsDirty = true;
+
+        float[] speeds = store.speeds;
+        float[] timers = store.timers;
+        int count = store.size();
+        for (int i = 0; i < count; i++) {
+            timers[i] += speeds[i] * dt;
+        }
+
+        for (int run = 0; run < store.runCount(); run++) {
+            int start = store.runStart(run);
+            int end = store.runEnd(run);
+            switch (store.runType(run)) {
+                case EnemyStore.TROLL:
+                    updateTrolls(start, end);
+                    break;
+                case EnemyStore.FLOWERPOT:
+                    updateChasers(start, end, FlowerPot.BREAKS_ICE);
+                    break;
+                case EnemyStore.SQUID:
+                    updateChasers(start, end, Squid.BREAKS_ICE);
+                    break;
+                case EnemyStore.NARWHAL:
+                    updateNarwhals(start, end);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
 
-            if (!e.canMove())
+    /**
+     * Trolls: avanzan en su direccion y giran a la derecha al chocar.
+     */
+    private void updateTrolls(int start, int end) {
+        float[] timers = store.timers;
+        for (int i = start; i < end; i++) {
+            if (timers[i] < 1.0f)
                 continue;
+            Direction dir = store.direction(i);
+            if (dir != Direction.NONE && tryMove(i, dir, Troll.BREAKS_ICE)) {
+                store.setDirection(i, Troll.turn(dir)); // Bloqueado
+            }
+            timers[i] -= 1.0f;
+        }
+    }
 
-            // 1. El enemigo decide a dónde QUIERE ir (polimorfismo)
-            Direction intent = e.decideMove(false, playerX, playerY);
+    /**
+     * Maceta y Calamar: siguen el campo de flujo hacia el jugador.
+     */
+    private void updateChasers(int start, int end, boolean canBreakIce) {
+        float[] timers = store.timers;
+        for (int i = start; i < end; i++) {
+            if (timers[i] < 1.0f)
+                continue;
+            Direction dir = chaseStep(store.xs[i], store.ys[i]);
+            if (dir != Direction.NONE) {
+                tryMove(i, dir, canBreakIce); // Al chocar no cambian de plan
+            }
+            timers[i] -= 1.0f;
+        }
+    }
 
-            if (intent == Direction.NONE) {
-                e.resetTimer();
+    /**
+     * Narvales: embisten al alinearse con el jugador y rebotan al chocar.
+     */
+    private void updateNarwhals(int start, int end) {
+        float[] timers = store.timers;
+        for (int i = start; i < end; i++) {
+            if (timers[i] < 1.0f)
                 continue;
+            Direction dir = Narwhal.decide(store, i, false, playerX, playerY);
+            if (dir != Direction.NONE && tryMove(i, dir, Narwhal.breaksIce(store, i))) {
+                Narwhal.decide(store, i, true, playerX, playerY); // Notifica bloqueo
             }
+            timers[i] -= 1.0f;
+        }
+    }
 
-            int nextX = e.getX() + intent.getDx();
-            int nextY = e.getY() + intent.getDy();
+    /**
+     * El Controller valida el mundo y mueve al enemigo i un paso en dir.
+     * Si hay hielo y el enemigo puede romperlo, el turno se gasta rompiendolo.
+     *
+     * @return true si el paso quedo bloqueado (muro u obstaculo)
+     */
+    private boolean tryMove(int i, Direction dir, boolean canBreakIce) {
+        int nextX = store.xs[i] + dir.getDx();
+        int nextY = store.ys[i] + dir.getDy();
 
-            // 2. El Controller valida el mundo
-            boolean blocked = !boardCtrl.isWalkable(nextX, nextY);
-            boolean obstacle = itemCtrl.isObstacleAt(nextX, nextY);
+        // El hielo es parte del tablero: una celda con hielo no es caminable
+        boolean blocked = !boardCtrl.isWalkable(nextX, nextY);
 
-            // 3. Si hay obstáculo, pregunta al enemigo si puede romperlo
-            if (obstacle && e.canBreakIce()) {
-                if (itemCtrl.breakIceBlock(nextX, nextY)) {
-                    e.resetTimer();
-                    continue; // Consumió turno rompiendo
-                }
-            }
+        if (blocked && canBreakIce && itemCtrl.breakIceBlock(nextX, nextY)) {
+            return false; // Consumió turno rompiendo
+        }
+        if (blocked || itemCtrl.isObstacleAt(nextX, nextY)) {
+            return true;
+        }
+        store.xs[i] = nextX;
+        store.ys[i] = nextY;
+        return false;
+    }
 
-            // 4. Ejecutar movimiento o notificar bloqueo
-            if (!blocked && !obstacle) {
-                e.setPosition(nextX, nextY);
-            } else {
-                e.decideMove(true, playerX, playerY); // Notifica bloqueo al enemigo
-            }
-            e.resetTimer();
+    /**
+     * Paso de un perseguidor en (x, y): la celda vecina mas cerca del jugador
+     * segun el campo de flujo, una consulta O(1) por enemigo. Si el jugador no
+     * es alcanzable (encerrado en hielo) persigue en linea recta, de modo que
+     * el Calamar sigue avanzando hacia el y rompiendo el hielo.
+     */
+    private Direction chaseStep(int x, int y) {
+        if (chaseTargets == null) {
+            chaseTargets = new ArrayList<>(1);
+            chaseTargets.add(new EntityInfo("player", playerX, playerY, null, false));
+        }
+        EntityInfo target = chaseTargets.get(0);
+        target.x = playerX;
+        target.y = playerY;
+
+        DistanceField field = pathFinder.distanceFrom(chaseTargets);
+        if (field.getDistance(x, y) == DistanceField.UNREACHABLE) {
+            return Enemy.chaseStep(x, y, playerX, playerY);
         }
+        return field.stepTowards(x, y);
     }
 
     /**
@@ -114,39 +228,138 @@ public class EnemyController implements java.io.Serializable {
      * Retorna true si hay colisión (Game Over).
      */
     public boolean checkCollision(int pX, int pY) {
-        for (Enemy e : enemies) {
-            if (e.getX() == pX && e.getY() == pY) {
+        return checkCollision(pX, pY, pX, pY);
+    }
+
+    /**
+     * Colision por barrido durante el ultimo tick: el jugador fue de
+     * (fromX, fromY) a (toX, toY) y cada enemigo de su celda inicial a la
+     * actual. Hay colision si terminan en la misma celda, si el jugador
+     * entro a la celda de un enemigo antes de que este se moviera, o si
+     * intercambiaron celdas (se atravesaron, tipico de un Narval embistiendo).
+     * Cada consulta es O(1) con las tablas espaciales del tick.
+     */
+    public boolean checkCollision(int fromX, int fromY, int toX, int toY) {
+        syncCellHashes();
+        int width = boardCtrl.getWidth();
+        int from = cellOf(fromX, fromY, width);
+        int to = cellOf(toX, toY, width);
+
+        // Misma celda al final del tick, o al empezar (antes de que el enemigo saliera)
+        if (endCells.first(to) >= 0 || startCells.first(from) >= 0) {
+            return true;
+        }
+        // Cruce: un enemigo que salio de la celda destino hacia la celda de origen
+        for (int i = startCells.first(to); i >= 0; i = startCells.next(i)) {
+            if (store.xs[i] == fromX && store.ys[i] == fromY) {
                 return true;
             }
         }
         return false;
     }
 
-    // Método auxiliar para obtener la lista (útil para la vista/GUI)
+    private int cellOf(int x, int y, int width) {
+        return boardCtrl.isValidPosition(x, y) ? y * width + x : -1;
+    }
+
+    private void syncCellHashes() {
+        if (startCells == null) {
+            startCells = new EnemyCellHash();
+            endCells = new EnemyCellHash();
+            cellsDirty = true;
+        }
+        if (cellsDirty) {
+            int width = boardCtrl.getWidth();
+            startCells.build(store.prevXs, store.prevYs, store.size(), width);
+            endCells.build(store.xs, store.ys, store.size(), width);
+            cellsDirty = false;
+        }
+    }
+
+    /**
+     * Copia de los enemigos como objetos Enemy (para herramientas y pruebas).
+     * Modificarlos no afecta la partida.
+     */
     public List<Enemy> getEnemies() {
-        return enemies;
+        List<Enemy> list = new ArrayList<>(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            list.add(store.toEnemy(i));
+        }
+        return list;
+    }
+
+    public int getEnemyCount() {
+        return store.size();
     }
 
     public List<EntityInfo> getEnemyInfo() {
         List<EntityInfo> infoList = new ArrayList<>();
 
-        for (Enemy e : enemies) {
-            // SIN INSTANCEOF - Usamos polimorfismo
-            String type = e.getVisualType();
-
-            infoList.add(new EntityInfo(e.getId(), e.getX(), e.getY(), type, false));
+        for (int i = 0; i < store.size(); i++) {
+            infoList.add(new EntityInfo(store.ids[i], store.xs[i], store.ys[i], store.visualType(i), false));
         }
         return infoList;
     }
 
+    /**
+     * Version sin asignaciones de getEnemyInfo: agrega los enemigos al buffer recibido.
+     */
+    public void fillEnemyInfo(EntityBuffer out) {
+        for (int i = 0; i < store.size(); i++) {
+            out.append(store.ids[i], store.xs[i], store.ys[i], store.visualType(i), false);
+        }
+    }
+
     /**
      * Elimina todos los enemigos activos.
      */
     public void reset() {
-        enemies.clear();
+        store.clear();
+        cellsDirty = true;
         // Opcional: Resetear coordenadas del target para evitar comportamientos raros
         // en el primer frame
         this.playerX = -1;
         this.playerY = -1;
     }
-}
\ No newline at end of file
+
+    /**
+     * Escribe los enemigos (tipo, id, posicion y estado propio)
+     * y la ultima posicion conocida del jugador. El estado propio lo
+     * escribe cada subclase de Enemy, reconstruida desde el almacen.
+     */
+    public void writeState(StateWriter out) {
+        out.writeInt(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            Enemy e = store.toEnemy(i);
+            out.writeString(e.getType());
+            out.writeString(e.getId());
+            out.writeInt(e.getX());
+            out.writeInt(e.getY());
+            e.writeState(out);
+        }
+        out.writeInt(playerX);
+        out.writeInt(playerY);
+    }
+
+    /**
+     * Restaura los enemigos escritos por writeState.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        reset();
+        int count = in.readCount(24);
+        for (int i = 0; i < count; i++) {
+            String type = in.readString();
+            String id = in.readString();
+            int x = in.readInt();
+            int y = in.readInt();
+            Enemy e = Enemy.create(type, id, x, y);
+            if (e == null) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            e.readState(in);
+            store.add(e);
+        }
+        this.playerX = in.readInt();
+        this.playerY = in.readInt();
+    }
+}
@@ -0,0 +1,198 @@
+package domain.enemies;
+
+import domain.shared.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Almacen de enemigos orientado a datos: en vez de una lista de objetos,
+ * un arreglo primitivo por atributo (posicion, velocidad, temporizador,
+ * direccion, tipo), todos indexados por el numero de enemigo.
+ *
+ * <p>Los enemigos se guardan en orden de aparicion y ese orden es el de
+ * actualizacion. Los enemigos seguidos del mismo tipo forman un tramo
+ * (run); EnemyController recorre cada tramo con la rutina de su tipo, sin
+ * llamadas virtuales ni saltos entre objetos dispersos en memoria.</p>
+ *
+ * <p>Las subclases de Enemy siguen siendo la forma de crear enemigos y de
+ * escribir su estado: add copia un Enemy a los arreglos y toEnemy lo
+ * reconstruye (partidas guardadas, herramientas).</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see EnemyController
+ * @see Enemy
+ */
+class EnemyStore implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Codigos de tipo (indices de TYPE_NAMES)
+    static final byte TROLL = 0;
+    static final byte FLOWERPOT = 1;
+    static final byte SQUID = 2;
+    static final byte NARWHAL = 3;
+    static final String[] TYPE_NAMES = { "TROLL", "FLOWERPOT", "SQUID", "NARWHAL" };
+
+    /** Direcciones por ordinal, para guardarlas como byte */
+    static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Atributos por enemigo (mismo indice en todos los arreglos)
+    String[] ids;
+    int[] xs;
+    int[] ys;
+    int[] prevXs; // Posicion al empezar el tick (colision por barrido)
+    int[] prevYs;
+    float[] speeds;
+    float[] timers;
+    byte[] types;
+    byte[] directions; // Ordinal de Direction (Troll y Narval)
+    boolean[] dashing; // Solo Narval
+    private int size;
+
+    // Tramos de enemigos seguidos del mismo tipo
+    private int[] runStarts;
+    private byte[] runTypes;
+    private int runCount;
+
+    EnemyStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        ids = new String[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+        prevXs = new int[capacity];
+        prevYs = new int[capacity];
+        speeds = new float[capacity];
+        timers = new float[capacity];
+        types = new byte[capacity];
+        directions = new byte[capacity];
+        dashing = new boolean[capacity];
+        runStarts = new int[capacity];
+        runTypes = new byte[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int runCount() {
+        return runCount;
+    }
+
+    int runStart(int run) {
+        return runStarts[run];
+    }
+
+    int runEnd(int run) {
+        return (run + 1 < runCount) ? runStarts[run + 1] : size;
+    }
+
+    byte runType(int run) {
+        return runTypes[run];
+    }
+
+    /**
+     * Codigo del tipo, o -1 si no es un enemigo conocido.
+     */
+    static byte typeCode(String type) {
+        for (byte i = 0; i < TYPE_NAMES.length; i++) {
+            if (TYPE_NAMES[i].equals(type))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Copia el enemigo al final del almacen.
+     *
+     * @throws IllegalArgumentException si el tipo no tiene rutina en EnemyController
+     */
+    void add(Enemy enemy) {
+        byte type = typeCode(enemy.getType());
+        if (type < 0)
+            throw new IllegalArgumentException("Tipo de enemigo sin almacen: " + enemy.getType());
+        if (size == xs.length) {
+            grow();
+        }
+        int i = size++;
+        ids[i] = enemy.getId();
+        xs[i] = enemy.getX();
+        ys[i] = enemy.getY();
+        prevXs[i] = xs[i];
+        prevYs[i] = ys[i];
+        speeds[i] = enemy.speed;
+        timers[i] = enemy.moveTimer;
+        types[i] = type;
+        directions[i] = (byte) Direction.NONE.ordinal();
+        dashing[i] = false;
+        enemy.storeTo(this, i);
+
+        if (runCount == 0 || runTypes[runCount - 1] != type) {
+            runStarts[runCount] = i;
+            runTypes[runCount] = type;
+            runCount++;
+        }
+    }
+
+    /**
+     * Reconstruye el enemigo numero i con su estado actual.
+     */
+    Enemy toEnemy(int i) {
+        Enemy enemy = Enemy.create(TYPE_NAMES[types[i]], ids[i], xs[i], ys[i]);
+        enemy.speed = speeds[i];
+        enemy.moveTimer = timers[i];
+        enemy.loadFrom(this, i);
+        return enemy;
+    }
+
+    /**
+     * Guarda las posiciones actuales como las del inicio del tick.
+     */
+    void markTickStart() {
+        System.arraycopy(xs, 0, prevXs, 0, size);
+        System.arraycopy(ys, 0, prevYs, 0, size);
+    }
+
+    Direction direction(int i) {
+        return DIRECTIONS[directions[i]];
+    }
+
+    void setDirection(int i, Direction dir) {
+        directions[i] = (byte) dir.ordinal();
+    }
+
+    /**
+     * Tipo visual del enemigo i (ver Enemy.getVisualType), sin crear cadenas.
+     */
+    String visualType(int i) {
+        if (types[i] == NARWHAL && dashing[i])
+            return Narwhal.DASH_VISUAL_TYPE;
+        return TYPE_NAMES[types[i]];
+    }
+
+    void clear() {
+        Arrays.fill(ids, 0, size, null);
+        size = 0;
+        runCount = 0;
+    }
+
+    private void grow() {
+        int capacity = xs.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        prevXs = Arrays.copyOf(prevXs, capacity);
+        prevYs = Arrays.copyOf(prevYs, capacity);
+        speeds = Arrays.copyOf(speeds, capacity);
+        timers = Arrays.copyOf(timers, capacity);
+        types = Arrays.copyOf(types, capacity);
+        directions = Arrays.copyOf(directions, capacity);
+        dashing = Arrays.copyOf(dashing, capacity);
+        runStarts = Arrays.copyOf(runStarts, capacity);
+        runTypes = Arrays.copyOf(runTypes, capacity);
+    }
+}
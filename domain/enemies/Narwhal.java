@@ -1,6 +1,9 @@
 package domain.enemies;
 
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Enemigo Narval (Narwhal) con capacidad de embestida.
@@ -21,56 +24,60 @@ import domain.shared.Direction;
  */
 public class Narwhal extends Enemy {
 
+    static final String DASH_VISUAL_TYPE = "NARWHAL_DASH";
+    private static final float NORMAL_SPEED = 3.3f; // ~3.3 movimientos por segundo (1 casilla cada 0.3s)
+    private static final float DASH_SPEED = 16.0f; // ~16 movimientos por segundo (muy rápido)
+
     private Direction currentDir;
     private boolean isDashing; // Indica si está en modo embestida
 
     public Narwhal(String id, int x, int y) {
-        super(id, x, y, 3.3f); // Velocidad normal: ~3.3 movimientos por segundo (1 casilla cada 0.3s)
+        super(id, x, y, NORMAL_SPEED);
         this.currentDir = Direction.LEFT;
         this.isDashing = false;
     }
 
-    @Override
-    public Direction decideMove(boolean blocked, int targetX, int targetY) {
-        // Comprobar si está alineado con el jugador (misma fila o columna)
-        boolean alignedHorizontally = (this.y == targetY);
-        boolean alignedVertically = (this.x == targetX);
-
-        if (alignedHorizontally && !isDashing) {
-            // Alineado horizontalmente: embiste hacia el jugador
-            isDashing = true;
-            speed = 16.0f; // Velocidad de embestida: ~16 movimientos por segundo (muy rápido)
-            currentDir = (this.x < targetX) ? Direction.RIGHT : Direction.LEFT;
-            return currentDir;
-        } else if (alignedVertically && !isDashing) {
-            // Alineado verticalmente: embiste hacia el jugador
-            isDashing = true;
-            speed = 16.0f; // Velocidad de embestida: ~16 movimientos por segundo (muy rápido)
-            currentDir = (this.y < targetY) ? Direction.DOWN : Direction.UP;
-            return currentDir;
+    /**
+     * Decide el paso del narval de la fila i del almacen de EnemyController.
+     * Si esta alineado con el jugador (misma fila o columna) embiste hacia
+     * el; si el paso anterior quedo bloqueado (blocked) termina la embestida
+     * e invierte la direccion.
+     */
+    static Direction decide(EnemyStore store, int i, boolean blocked, int targetX, int targetY) {
+        Direction dash = store.dashing[i] ? Direction.NONE
+                : dashDirection(store.xs[i], store.ys[i], targetX, targetY);
+        if (dash != Direction.NONE) {
+            // Alineado: embiste hacia el jugador
+            store.dashing[i] = true;
+            store.speeds[i] = DASH_SPEED;
+            store.setDirection(i, dash);
+            return dash;
         }
-
-        // Si está bloqueado (chocó con muro), termina la embestida
         if (blocked) {
-            isDashing = false;
-            speed = 3.3f; // Vuelve a velocidad normal
-            // Rebote simple: invierte dirección
-            if (currentDir == Direction.LEFT)
-                currentDir = Direction.RIGHT;
-            else if (currentDir == Direction.RIGHT)
-                currentDir = Direction.LEFT;
-            else if (currentDir == Direction.UP)
-                currentDir = Direction.DOWN;
-            else if (currentDir == Direction.DOWN)
-                currentDir = Direction.UP;
+            store.dashing[i] = false;
+            store.speeds[i] = NORMAL_SPEED;
+            store.setDirection(i, store.direction(i).opposite()); // Rebote simple
         }
+        return store.direction(i);
+    }
 
-        return currentDir;
+    /**
+     * Solo rompe hielo mientras embiste.
+     */
+    static boolean breaksIce(EnemyStore store, int i) {
+        return store.dashing[i];
     }
 
-    @Override
-    public boolean canBreakIce() {
-        return isDashing; // Solo rompe hielo cuando está embistiendo
+    /**
+     * Direccion de embestida si (x, y) esta en la fila o columna del jugador
+     * (la fila tiene prioridad), o NONE si no esta alineado.
+     */
+    private static Direction dashDirection(int x, int y, int targetX, int targetY) {
+        if (y == targetY)
+            return (x < targetX) ? Direction.RIGHT : Direction.LEFT;
+        if (x == targetX)
+            return (y < targetY) ? Direction.DOWN : Direction.UP;
+        return Direction.NONE;
     }
 
     @Override
@@ -84,6 +91,32 @@ public class Narwhal extends Enemy {
 
     @Override
     public String getVisualType() {
-        return isDashing ? "NARWHAL_DASH" : "NARWHAL";
+        return isDashing ? DASH_VISUAL_TYPE : "NARWHAL";
+    }
+
+    @Override
+    void storeTo(EnemyStore store, int i) {
+        store.setDirection(i, currentDir);
+        store.dashing[i] = isDashing;
+    }
+
+    @Override
+    void loadFrom(EnemyStore store, int i) {
+        currentDir = store.direction(i);
+        isDashing = store.dashing[i];
+    }
+
+    @Override
+    public void writeState(StateWriter out) {
+        super.writeState(out);
+        out.writeEnum(currentDir);
+        out.writeBoolean(isDashing);
+    }
+
+    @Override
+    public void readState(StateReader in) throws BadOpoException {
+        super.readState(in);
+        currentDir = in.readEnum(Direction.class);
+        isDashing = in.readBoolean();
     }
-}
\ No newline at end of file
+}
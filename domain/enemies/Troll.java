@@ -1,6 +1,9 @@
 package domain.enemies;
 
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Enemigo Troll con patron de patrullaje.
@@ -21,6 +24,8 @@ import domain.shared.Direction;
  */
 public class Troll extends Enemy {
 
+    static final boolean BREAKS_ICE = false;
+
     private Direction currentDir;
 
     public Troll(String id, int x, int y) {
@@ -28,17 +33,8 @@ public class Troll extends Enemy {
         this.currentDir = Direction.RIGHT; // Dirección inicial por defecto
     }
 
-    @Override
-    public Direction decideMove(boolean blocked, int targetX, int targetY) {
-        // Regla: Si chocó, cambia de dirección (gira 90 grados a la derecha)
-        if (blocked) {
-            currentDir = invert(currentDir);
-        }
-        return currentDir;
-    }
-
-    // Ahora rota 90 grados a la derecha en lugar de invertir 180 grados
-    private Direction invert(Direction d) {
+    // Regla: Si chocó, cambia de dirección (gira 90 grados a la derecha)
+    static Direction turn(Direction d) {
         if (d == Direction.RIGHT)
             return Direction.DOWN;
         if (d == Direction.DOWN)
@@ -54,4 +50,26 @@ public class Troll extends Enemy {
     public String getType() {
         return "TROLL";
     }
-}
\ No newline at end of file
+
+    @Override
+    void storeTo(EnemyStore store, int i) {
+        store.setDirection(i, currentDir);
+    }
+
+    @Override
+    void loadFrom(EnemyStore store, int i) {
+        currentDir = store.direction(i);
+    }
+
+    @Override
+    public void writeState(StateWriter out) {
+        super.writeState(out);
+        out.writeEnum(currentDir);
+    }
+
+    @Override
+    public void readState(StateReader in) throws BadOpoException {
+        super.readState(in);
+        currentDir = in.readEnum(Direction.class);
+    }
+}
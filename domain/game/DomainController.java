@@ -5,16 +5,23 @@ import domain.enemies.EnemyController;
 import domain.items.ItemController;
 import domain.level.LevelInfo;
 import domain.level.LevelLoader;
+import domain.players.IceCream;
 import domain.players.IceCreamFlavor;
 import domain.players.PlayerController;
 import domain.players.PlayerType;
 import domain.shared.ActionType;
 import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.EntityBuffer;
 import domain.shared.EntityInfo;
 import domain.shared.GameStatus;
+import domain.shared.MatchRandom;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import domain.shared.BadOpoLogger;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +37,7 @@ import java.util.List;
  *   <li>Controlar el sistema de oleadas de frutas</li>
  *   <li>Gestionar el tiempo y puntuaciones</li>
  *   <li>Proporcionar persistencia (guardar/cargar partidas)</li>
+ *   <li>Sembrar el azar de la partida y grabar repeticiones</li>
  * </ul>
  * 
  * <p>Modos de juego disponibles:</p>
@@ -50,6 +58,18 @@ import java.util.List;
 public class DomainController implements java.io.Serializable {
     private static final long serialVersionUID = 1L;
 
+    // --- FORMATO DE PARTIDA GUARDADA ---
+    private static final int SAVE_MAGIC = 0x42444F50; // "BDOP"
+    // 3: plazos de los items como instantes del reloj de ItemController
+    // 4: hileras domino en curso en lugar de una cola de acciones
+    // 5: el hielo solo se guarda en la capa del tablero, no como items
+    // 6: animaciones activas del tablero en lugar de la capa animando
+    // 7: semilla y estado del generador de la partida
+    private static final int SAVE_VERSION = 7;
+
+    // Semillas de las partidas que no fijan una (se eligen al cargar el nivel)
+    private static final java.util.Random SEED_SOURCE = new java.util.Random();
+
     // --- SUB-CONTROLADORES ---
     private BoardController boardCtrl;
     private ItemController itemCtrl;
@@ -69,6 +89,22 @@ public class DomainController implements java.io.Serializable {
     private int currentWave; // Oleada actual (0 = primera oleada, 1 = segunda oleada)
     private boolean waveSpawned; // Si ya se spawnó la oleada actual
 
+    // --- AZAR Y REPETICIONES ---
+    // Todo el azar de la partida sale de un unico generador creado con esta semilla
+    private long randomSeed;
+    private boolean seedFixed; // true si se fijo con setRandomSeed
+    private MatchRandom random; // Se guarda su estado: la partida cargada sigue igual
+    private transient ReplayRecorder recorder;
+
+    // --- PERFILADO (opcional, null = no se mide) ---
+    private transient TickProfiler profiler;
+
+    // --- SNAPSHOTS PARA LA VISTA (doble buffer, no se guardan con la partida) ---
+    // Celda de cada jugador al empezar el tick {x1, y1, x2, y2}, para la colision por barrido
+    private transient int[] tickStartCells;
+    private transient FrameSnapshot[] snapshots;
+    private transient int frontSnapshot;
+
     // --- CONFIGURACIÓN DE PARTIDA (Lo que selecciona la GUI) ---
     private String gameMode; // "PVP", "PVM", "MVM", "SINGLE"
     private IceCreamFlavor p1Flavor; // Sabor del Jugador 1
@@ -100,29 +136,122 @@ public class DomainController implements java.io.Serializable {
         this.gameMode = "PVP";
         this.p1Flavor = IceCreamFlavor.VANILLA;
         this.p2Selection = "CHOCOLATE";
+
+        this.randomSeed = SEED_SOURCE.nextLong();
+        applySeed(randomSeed);
     }
 
     /**
      * Guarda el estado actual del juego en un archivo.
+     * 
+     * <p>Formato binario propio (big endian): numero magico "BDOP", version del
+     * formato, si la semilla es fija, estado de la partida (con la semilla y
+     * el estado del generador) y luego cada sub-controlador en orden
+     * (tablero, items, enemigos, jugadores, configuracion del nivel).
+     * Cada clase escribe solo sus campos primitivos; no se guardan grafos de
+     * objetos ni nombres de clases como en la serializacion de Java.</p>
      */
     public void saveGame(String fileName) throws BadOpoException {
-        try (java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(new java.io.FileOutputStream(fileName))) {
-            out.writeObject(this);
-        } catch (java.io.IOException e) {
-            throw new BadOpoException("Error al guardar la partida: " + e.getMessage());
+        StateWriter out = new StateWriter();
+        out.writeInt(SAVE_MAGIC);
+        out.writeInt(SAVE_VERSION);
+        // Preferencia de la sesion, no estado simulado: fuera de la suma de verificacion
+        out.writeBoolean(seedFixed);
+        writeState(out);
+        try {
+            out.writeTo(Paths.get(fileName));
+        } catch (IOException | RuntimeException e) {
+            throw new BadOpoException("Error al guardar la partida: " + e.getMessage(), e);
         }
     }
 
     /**
      * Carga un estado de juego desde un archivo.
      * Retorna una NUEVA instancia de DomainController con el estado cargado.
+     * Rechaza archivos de otro formato o de una version desconocida.
      */
     public static DomainController loadGame(String fileName) throws BadOpoException {
-        try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.FileInputStream(fileName))) {
-            return (DomainController) in.readObject();
-        } catch (java.io.IOException | ClassNotFoundException e) {
-            throw new BadOpoException("Error al cargar la partida: " + e.getMessage());
+        try {
+            StateReader in = StateReader.open(Paths.get(fileName));
+            if (in.readInt() != SAVE_MAGIC) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            int version = in.readInt();
+            if (version != SAVE_VERSION) {
+                throw new BadOpoException("Version de partida no soportada: " + version);
+            }
+            DomainController loaded = new DomainController();
+            loaded.seedFixed = in.readBoolean();
+            loaded.readState(in);
+            if (!in.isFinished()) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            throw new BadOpoException("Error al cargar la partida: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeState(StateWriter out) {
+        out.writeEnum(status);
+        out.writeFloat(timeElapsed);
+        out.writeFloat(maxTime);
+        out.writeInt(scoreP1);
+        out.writeInt(scoreP2);
+        out.writeString(winner);
+        out.writeInt(currentWave);
+        out.writeBoolean(waveSpawned);
+
+        out.writeString(gameMode);
+        out.writeEnum(p1Flavor);
+        out.writeString(p2Selection);
+        out.writeString(currentLevel);
+        out.writeString(p1Name);
+        out.writeString(p2Name);
+        out.writeEnum(p1Difficulty);
+        out.writeEnum(p2Difficulty);
+        out.writeLong(randomSeed);
+        out.writeLong(random.getState());
+
+        boardCtrl.writeState(out);
+        itemCtrl.writeState(out);
+        enemyCtrl.writeState(out);
+        playerCtrl.writeState(out);
+        levelLoader.writeState(out);
+    }
+
+    private void readState(StateReader in) throws BadOpoException {
+        status = in.readEnum(GameStatus.class);
+        timeElapsed = in.readFloat();
+        maxTime = in.readFloat();
+        scoreP1 = in.readInt();
+        scoreP2 = in.readInt();
+        winner = in.readString();
+        currentWave = in.readInt();
+        waveSpawned = in.readBoolean();
+
+        gameMode = in.readString();
+        p1Flavor = in.readEnum(IceCreamFlavor.class);
+        p2Selection = in.readString();
+        currentLevel = in.readString();
+        p1Name = in.readString();
+        p2Name = in.readString();
+        p1Difficulty = in.readEnum(PlayerType.class);
+        p2Difficulty = in.readEnum(PlayerType.class);
+        if (status == null || gameMode == null || p1Flavor == null) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
         }
+        // Antes que los jugadores: los bots que se recrean toman este generador
+        randomSeed = in.readLong();
+        applySeed(randomSeed);
+        random.setState(in.readLong());
+
+        // El tablero primero: los items toman de el las dimensiones del indice
+        boardCtrl.readState(in);
+        itemCtrl.readState(in);
+        enemyCtrl.readState(in);
+        playerCtrl.readState(in);
+        levelLoader.readState(in);
     }
 
     // =============================================================
@@ -227,6 +356,75 @@ public class DomainController implements java.io.Serializable {
         return playerCtrl.getPlayerName("player2");
     }
 
+    /**
+     * Fija la semilla aleatoria de la partida.
+     * El mismo generador se comparte entre el cargador de niveles (spawns),
+     * los items que se mueven al azar (Piña, Cereza) y los bots, para que dos
+     * partidas con la misma semilla coincidan. Cada loadLevel vuelve a
+     * empezar desde esta semilla; sin semilla fija se elige una nueva.
+     */
+    public void setRandomSeed(long seed) {
+        this.randomSeed = seed;
+        this.seedFixed = true;
+        applySeed(seed);
+    }
+
+    /**
+     * Semilla de la partida en curso (para reproducirla o reportar errores).
+     */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    private void applySeed(long seed) {
+        random = new MatchRandom(seed);
+        levelLoader.setRandom(random);
+        itemCtrl.setRandom(random);
+        playerCtrl.setRandom(random);
+    }
+
+    /**
+     * Activa la grabacion de repeticiones: cada loadLevel inicia una nueva
+     * grabacion y cada tick y accion de jugador queda registrado.
+     * 
+     * @param recorder Grabador a usar, o null para dejar de grabar
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Activa la medicion por fases de updateGameLoop.
+     * 
+     * @param profiler Perfilador donde registrar las duraciones, o null para no medir
+     */
+    public void setTickProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Guarda la repeticion de la partida en curso (hasta el tick actual).
+     */
+    public void saveReplay(String fileName) throws BadOpoException {
+        if (recorder == null) {
+            throw new BadOpoException("La grabacion de repeticiones no esta activa.");
+        }
+        recorder.save(fileName, getStateChecksum());
+    }
+
+    /**
+     * Suma de verificacion (CRC32) del estado completo de la partida, en el
+     * mismo formato que saveGame. Dos simulaciones que coinciden bit a bit
+     * producen la misma suma.
+     */
+    public long getStateChecksum() {
+        StateWriter out = new StateWriter();
+        writeState(out);
+        java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+        crc.update(out.toByteArray());
+        return crc.getValue();
+    }
+
     /**
      * Establece la configuración personalizada del nivel
      */
@@ -242,6 +440,16 @@ public class DomainController implements java.io.Serializable {
      * Carga el nivel y configura los jugadores según el modo elegido.
      */
     public void loadLevel(String[] mapLayout) throws BadOpoException {
+        // 0. Reiniciar el generador: la partida queda determinada por la semilla
+        if (!seedFixed) {
+            randomSeed = SEED_SOURCE.nextLong();
+        }
+        applySeed(randomSeed);
+        if (recorder != null && mapLayout != null) {
+            recorder.startMatch(randomSeed, currentLevel, mapLayout, levelLoader.getConfiguration(),
+                    gameMode, p1Flavor, p2Selection, p1Name, p2Name, p1Difficulty, p2Difficulty);
+        }
+
         // 1. Limpiar estado anterior
         playerCtrl.reset(); // Asegúrate de agregar este método en PlayerController para limpiar el Map
         enemyCtrl.reset(); // Igual en EnemyController
@@ -364,6 +572,9 @@ public class DomainController implements java.io.Serializable {
     public void updateGameLoop(float dt) {
         if (status != GameStatus.PLAYING)
             return;
+        if (recorder != null)
+            recorder.recordTick(dt);
+        long tickStart = profilerNow();
 
         timeElapsed += dt;
         if (timeElapsed >= maxTime) {
@@ -372,18 +583,26 @@ public class DomainController implements java.io.Serializable {
             return;
         }
 
+        markPlayersAtTickStart();
+
         // Informar posición de jugadores a enemigos (solo si hay jugadores vivos)
-        int[] p1Pos = playerCtrl.getPosition("player1");
-        if (p1Pos != null && playerCtrl.isPlayerAlive("player1"))
-            enemyCtrl.updatePlayerPos(p1Pos[0], p1Pos[1]);
+        IceCream p1 = playerCtrl.getPlayer("player1");
+        if (p1 != null && p1.isAlive())
+            enemyCtrl.updatePlayerPos(p1.getX(), p1.getY());
 
-        // Actualizar lógica
+        // Actualizar lógica (cada fase se mide si hay perfilador)
+        long mark = profilerNow();
         itemCtrl.updateItems(dt);
+        boardCtrl.updateAnimations(dt); // Hielo que aparece o se desvanece
+        mark = lap(TickPhase.ITEMS, mark);
         enemyCtrl.updateEnemies(dt);
+        mark = lap(TickPhase.ENEMIES, mark);
         // Si hay bots (helados máquina), aquí deberías llamar a
         playerCtrl.updateBots(dt, enemyCtrl);
+        mark = lap(TickPhase.BOTS, mark);
 
         checkCollisions();
+        mark = lap(TickPhase.COLLISIONS, mark);
 
         // Sistema de oleadas: cuando no hay frutas y no se ha spawneado esta oleada
         if (itemCtrl.getFruitCount() == 0) {
@@ -404,11 +623,34 @@ public class DomainController implements java.io.Serializable {
             // Hay frutas, resetear flag para permitir siguiente oleada
             waveSpawned = false;
         }
+        lap(TickPhase.WAVES, mark);
+        lap(TickPhase.TICK, tickStart);
+    }
+
+    /**
+     * Instante actual para el perfilador (0 si no hay, sin llamar a nanoTime).
+     */
+    private long profilerNow() {
+        return profiler != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Registra la duracion de una fase desde start y devuelve el instante
+     * actual, que sirve de inicio para la fase siguiente.
+     */
+    private long lap(TickPhase phase, long start) {
+        if (profiler == null)
+            return 0L;
+        long now = System.nanoTime();
+        profiler.record(phase, now - start);
+        return now;
     }
 
     public void handlePlayerAction(String playerId, ActionType action, Direction dir) {
         if (status != GameStatus.PLAYING)
             return;
+        if (recorder != null)
+            recorder.recordAction(playerId, action, dir);
         try {
             // Solo procesar input si es humano
             // Podrías validar playerCtrl.getPlayer(playerId).getType() == HUMAN
@@ -452,8 +694,52 @@ public class DomainController implements java.io.Serializable {
         return itemCtrl.getRemainingFruitsByType();
     }
 
+    /**
+     * Llena y retorna la foto del frame actual para la vista.
+     * Alterna entre dos FrameSnapshot reutilizados, de modo que la foto
+     * entregada en el llamado anterior sigue intacta mientras se llena esta.
+     * A diferencia de getObjectsToDraw/getPlayer1Info/getRemainingFruits,
+     * no crea listas ni DTOs nuevos en cada frame.
+     * 
+     * @return Foto del frame, valida hasta el siguiente llamado
+     */
+    public FrameSnapshot getFrameSnapshot() {
+        if (snapshots == null) {
+            snapshots = new FrameSnapshot[] { new FrameSnapshot(), new FrameSnapshot() };
+        }
+        FrameSnapshot back = snapshots[1 - frontSnapshot];
+        fillFrameSnapshot(back);
+        frontSnapshot = 1 - frontSnapshot;
+        return back;
+    }
+
+    /**
+     * Llena la foto recibida con el estado actual. La usa GameLoop, que
+     * maneja sus propios buffers para entregarlos a otro hilo.
+     */
+    void fillFrameSnapshot(FrameSnapshot out) {
+        EntityBuffer entities = out.entityBuffer();
+        entities.clear();
+        itemCtrl.fillItemInfo(entities);
+        enemyCtrl.fillEnemyInfo(entities);
+
+        out.setPlayers(fillPlayerInfo("player1", out.player1Slot()),
+                fillPlayerInfo("player2", out.player2Slot()));
+        out.setState(status, scoreP1, scoreP2, getTimeRemaining(), timeElapsed);
+        itemCtrl.fillFruitCounter(out.fruitCounts());
+    }
+
+    private EntityInfo fillPlayerInfo(String pid, EntityInfo slot) {
+        IceCream p = playerCtrl.getPlayer(pid);
+        if (p == null || !p.isAlive()) {
+            return null;
+        }
+        slot.set(p.getId(), p.getX(), p.getY(), p.getType(), false);
+        return slot;
+    }
+
     public boolean isWall(int x, int y) {
-        return !boardCtrl.isWalkable(x, y);
+        return boardCtrl.isWallAt(x, y);
     }
 
     public int getBoardWidth() {
@@ -488,6 +774,13 @@ public class DomainController implements java.io.Serializable {
         return Math.max(0, maxTime - timeElapsed);
     }
 
+    /**
+     * Duracion maxima de la partida en segundos.
+     */
+    public float getMaxTime() {
+        return maxTime;
+    }
+
     /**
      * Obtiene la informacion visual del Jugador 1 para la GUI.
      * La vista puede llamar directamente: EntityInfo p1 = domain.getPlayer1Info();
@@ -512,25 +805,45 @@ public class DomainController implements java.io.Serializable {
     // INTERNO
     // =============================================================
 
+    /**
+     * Guarda la celda de cada jugador antes de mover bots y enemigos.
+     * Los movimientos humanos de antes del tick ya estan incluidos.
+     */
+    private void markPlayersAtTickStart() {
+        if (tickStartCells == null) {
+            tickStartCells = new int[4];
+        }
+        markPlayerAtTickStart("player1", 0);
+        markPlayerAtTickStart("player2", 2);
+    }
+
+    private void markPlayerAtTickStart(String pid, int slot) {
+        IceCream p = playerCtrl.getPlayer(pid);
+        tickStartCells[slot] = (p != null) ? p.getX() : -1;
+        tickStartCells[slot + 1] = (p != null) ? p.getY() : -1;
+    }
+
     private void checkCollisions() {
-        checkPlayerCollision("player1");
-        checkPlayerCollision("player2");
+        checkPlayerCollision("player1", 0);
+        checkPlayerCollision("player2", 2);
 
         // Después de revisar colisiones, verificar si el juego debe terminar
         checkGameEndConditions();
     }
 
-    private void checkPlayerCollision(String pid) {
-        int[] pos = playerCtrl.getPosition(pid);
-        if (pos == null)
+    private void checkPlayerCollision(String pid, int slot) {
+        IceCream p = playerCtrl.getPlayer(pid);
+        if (p == null)
             return;
 
         // Verificar si el jugador ya está muerto
-        if (!playerCtrl.isPlayerAlive(pid))
+        if (!p.isAlive())
             return;
+        int px = p.getX();
+        int py = p.getY();
 
-        // Contra enemigos
-        if (enemyCtrl.checkCollision(pos[0], pos[1])) {
+        // Contra enemigos, sobre el recorrido del tick (atrapa cruces de celda)
+        if (enemyCtrl.checkCollision(tickStartCells[slot], tickStartCells[slot + 1], px, py)) {
             playerCtrl.killPlayer(pid);
 
             // Solo terminar inmediatamente en modo SINGLE
@@ -541,7 +854,7 @@ public class DomainController implements java.io.Serializable {
         }
 
         // Contra cactus con púas (peligroso)
-        if (itemCtrl.hasDangerousCactusAt(pos[0], pos[1])) {
+        if (itemCtrl.hasDangerousCactusAt(px, py)) {
             playerCtrl.killPlayer(pid);
 
             // Solo terminar inmediatamente en modo SINGLE
@@ -552,7 +865,7 @@ public class DomainController implements java.io.Serializable {
         }
 
         // Contra Items
-        int points = itemCtrl.collectItemAt(pos[0], pos[1]);
+        int points = itemCtrl.collectItemAt(px, py);
         if (points == -1) {
             // Item letal (fuego, etc.)
             playerCtrl.killPlayer(pid);
@@ -620,6 +933,7 @@ public class DomainController implements java.io.Serializable {
      * Retorna una matriz de booleanos indicando dónde hay muros fijos.
      * true = Muro, false = Caminable.
      * Útil para que la Vista lo guarde y no pregunte celda por celda.
+     * Cada fila se llena desde la capa de bits de muros del tablero.
      */
     public boolean[][] getWallMap() {
         int w = boardCtrl.getWidth();
@@ -627,9 +941,7 @@ public class DomainController implements java.io.Serializable {
         boolean[][] walls = new boolean[h][w];
 
         for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                walls[y][x] = !boardCtrl.isWalkable(x, y);
-            }
+            boardCtrl.copyWallRow(y, walls[y]);
         }
         return walls;
     }
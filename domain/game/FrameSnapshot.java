@@ -0,0 +1,143 @@
+package domain.game;
+
+import domain.items.FruitCounter;
+import domain.shared.EntityBuffer;
+import domain.shared.EntityInfo;
+import domain.shared.GameStatus;
+
+/**
+ * Foto de todo lo que la vista necesita para dibujar un frame:
+ * items y enemigos, los dos jugadores, puntajes, tiempo y frutas restantes.
+ * 
+ * <p>DomainController mantiene dos instancias y alterna entre ellas
+ * (doble buffer): llena la que no se entrego en el frame anterior,
+ * reutilizando sus listas, contadores y DTOs, asi que un frame estable no
+ * asigna memoria. La vista puede leer la foto recibida mientras el
+ * dominio llena la otra, pero no debe guardarla mas de un frame.</p>
+ * 
+ * <p>Con la simulacion en su propio hilo, GameLoop usa tres instancias
+ * (triple buffer) y numera cada foto publicada con getFrameNumber.</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see DomainController#getFrameSnapshot()
+ * @see GameLoop
+ * @see EntityBuffer
+ */
+public class FrameSnapshot {
+
+    private final EntityBuffer entities = new EntityBuffer();
+    private final FruitCounter remainingFruits = new FruitCounter();
+
+    // DTOs propios de cada jugador; player1/player2 apuntan a ellos o son null
+    private final EntityInfo player1Slot = new EntityInfo(null, 0, 0, null, false);
+    private final EntityInfo player2Slot = new EntityInfo(null, 0, 0, null, false);
+    private EntityInfo player1;
+    private EntityInfo player2;
+
+    private GameStatus status;
+    private int scoreP1;
+    private int scoreP2;
+    private float timeRemaining;
+    private float timeElapsed;
+    private long frameNumber = -1; // Solo lo asigna GameLoop al publicar
+
+    FrameSnapshot() {
+    }
+
+    // --- Llenado (solo DomainController) ---
+
+    EntityBuffer entityBuffer() {
+        return entities;
+    }
+
+    FruitCounter fruitCounts() {
+        return remainingFruits;
+    }
+
+    EntityInfo player1Slot() {
+        return player1Slot;
+    }
+
+    EntityInfo player2Slot() {
+        return player2Slot;
+    }
+
+    void setPlayers(EntityInfo player1, EntityInfo player2) {
+        this.player1 = player1;
+        this.player2 = player2;
+    }
+
+    void setState(GameStatus status, int scoreP1, int scoreP2, float timeRemaining, float timeElapsed) {
+        this.status = status;
+        this.scoreP1 = scoreP1;
+        this.scoreP2 = scoreP2;
+        this.timeRemaining = timeRemaining;
+        this.timeElapsed = timeElapsed;
+    }
+
+    void setFrameNumber(long frameNumber) {
+        this.frameNumber = frameNumber;
+    }
+
+    // --- Lectura (vista) ---
+
+    /**
+     * Numero de publicacion de la foto en GameLoop (crece con cada foto nueva).
+     */
+    public long getFrameNumber() {
+        return frameNumber;
+    }
+
+    /**
+     * Items y enemigos a dibujar. Los jugadores van aparte.
+     */
+    public EntityBuffer getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return EntityInfo del jugador 1, o null si no existe o esta muerto
+     */
+    public EntityInfo getPlayer1() {
+        return player1;
+    }
+
+    /**
+     * @return EntityInfo del jugador 2, o null si no existe o esta muerto
+     */
+    public EntityInfo getPlayer2() {
+        return player2;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public int getScoreP1() {
+        return scoreP1;
+    }
+
+    public int getScoreP2() {
+        return scoreP2;
+    }
+
+    public float getTimeRemaining() {
+        return timeRemaining;
+    }
+
+    /**
+     * Tiempo de juego transcurrido en segundos (no avanza en pausa).
+     * La vista lo usa como reloj de las animaciones.
+     */
+    public float getTimeElapsed() {
+        return timeElapsed;
+    }
+
+    /**
+     * Frutas restantes por tipo. El contador se reutiliza entre frames.
+     */
+    public FruitCounter getRemainingFruits() {
+        return remainingFruits;
+    }
+}
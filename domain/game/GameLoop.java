@@ -0,0 +1,191 @@
+package domain.game;
+
+import domain.shared.BadOpoLogger;
+import domain.shared.GameStatus;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta la simulacion en tiempo real en un hilo propio, separado del hilo
+ * de la interfaz (EDT), y publica fotos del estado para que la vista las dibuje.
+ * 
+ * <p>Tiempo: paso fijo con acumulador. Cada vuelta suma el tiempo real
+ * transcurrido (System.nanoTime) y ejecuta tantos ticks de dt como quepan,
+ * de modo que el tiempo de juego avanza exactamente al ritmo del reloj y
+ * cada tick usa el mismo dt (las repeticiones siguen siendo exactas).
+ * Tras una pausa larga (depuracion, suspension) se descarta el atraso que
+ * pase de MAX_CATCH_UP_STEPS ticks en lugar de correr para alcanzarlo.</p>
+ * 
+ * <p>Entrega de fotos: triple buffer sin bloqueos. El hilo de simulacion
+ * llena su foto privada y la intercambia con la del medio
+ * (AtomicReference.getAndSet); el lector toma la del medio solo si es mas
+ * nueva que la que tiene. Ninguna foto se escribe mientras el lector la
+ * tiene, y entre frames no se asigna memoria.</p>
+ * 
+ * <p>Hilos: mientras el ciclo corre, solo el hilo de simulacion toca el
+ * DomainController. Las ordenes de la interfaz (acciones, pausa) se encolan
+ * con submit y se aplican antes del siguiente tick. Para leer o modificar
+ * el dominio desde otro hilo hay que detener el ciclo con stop.</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see DomainController
+ * @see FrameSnapshot
+ */
+public class GameLoop {
+
+    /** Ticks maximos por vuelta al recuperar atraso */
+    private static final int MAX_CATCH_UP_STEPS = 5;
+
+    private final DomainController domain;
+    private final float dt;
+    private final long stepNanos;
+
+    private final Queue<Consumer<DomainController>> commands = new ConcurrentLinkedQueue<>();
+
+    // Triple buffer: back es del hilo de simulacion, front del lector
+    private final AtomicReference<FrameSnapshot> middle;
+    private FrameSnapshot back;
+    private FrameSnapshot front;
+    private long published;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public GameLoop(DomainController domain) {
+        this(domain, SimulationRunner.DEFAULT_DT);
+    }
+
+    /**
+     * @param domain Dominio con el nivel ya cargado
+     * @param dt     Paso fijo en segundos de cada tick
+     */
+    public GameLoop(DomainController domain, float dt) {
+        if (dt <= 0)
+            throw new IllegalArgumentException("dt debe ser positivo: " + dt);
+        this.domain = domain;
+        this.dt = dt;
+        this.stepNanos = Math.round(dt * 1e9);
+        this.back = new FrameSnapshot();
+        this.front = new FrameSnapshot();
+        this.middle = new AtomicReference<>(new FrameSnapshot());
+    }
+
+    /**
+     * Publica la foto inicial y arranca el hilo de simulacion.
+     * No hace nada si ya esta corriendo. Puede volver a llamarse despues
+     * de stop; las ordenes pendientes se conservan.
+     */
+    public synchronized void start() {
+        if (running)
+            return;
+        publish(); // Todavia ningun otro hilo toca el dominio
+        running = true;
+        thread = new Thread(this::run, "BadOpo-Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Detiene el hilo de simulacion y espera a que termine. Al retornar,
+     * el dominio puede usarse con seguridad desde el hilo que llamo.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+    }
+
+    /**
+     * Indica si el hilo de simulacion sigue corriendo. Se detiene solo
+     * cuando la partida termina.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Encola una orden para el dominio (accion de jugador, pausa...).
+     * Se ejecuta en el hilo de simulacion antes del siguiente tick.
+     */
+    public void submit(Consumer<DomainController> command) {
+        commands.add(command);
+    }
+
+    /**
+     * Foto mas reciente publicada. Debe llamarse siempre desde el mismo hilo
+     * lector (el EDT); la foto retornada no cambia hasta el siguiente llamado.
+     */
+    public FrameSnapshot latestFrame() {
+        FrameSnapshot candidate = middle.get();
+        if (candidate.getFrameNumber() > front.getFrameNumber()) {
+            front = middle.getAndSet(front);
+        }
+        return front;
+    }
+
+    private void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                accumulator += now - previous;
+                previous = now;
+                if (accumulator > MAX_CATCH_UP_STEPS * stepNanos) {
+                    accumulator = MAX_CATCH_UP_STEPS * stepNanos;
+                }
+
+                boolean stepped = false;
+                while (accumulator >= stepNanos) {
+                    applyCommands();
+                    domain.updateGameLoop(dt);
+                    accumulator -= stepNanos;
+                    stepped = true;
+                }
+
+                if (stepped) {
+                    publish();
+                    GameStatus status = domain.getStatus();
+                    if (status != GameStatus.PLAYING && status != GameStatus.PAUSED) {
+                        running = false; // Partida terminada: la foto final ya se publico
+                        break;
+                    }
+                }
+                LockSupport.parkNanos(stepNanos - accumulator);
+            }
+        } catch (RuntimeException e) {
+            running = false;
+            BadOpoLogger.logError("Error en el hilo de simulacion", e);
+        }
+    }
+
+    private void applyCommands() {
+        Consumer<DomainController> command;
+        while ((command = commands.poll()) != null) {
+            command.accept(domain);
+        }
+    }
+
+    private void publish() {
+        domain.fillFrameSnapshot(back);
+        back.setFrameNumber(++published);
+        back = middle.getAndSet(back);
+    }
+}
@@ -0,0 +1,105 @@
+package domain.game;
+
+import domain.shared.GameStatus;
+
+/**
+ * Resultado de una partida simulada sin interfaz grafica.
+ * Guarda el estado final, el ganador, las puntuaciones y las metricas
+ * de rendimiento de la simulacion (ticks y tiempo real consumido).
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see SimulationRunner
+ */
+public class MatchResult {
+
+    private final String level;
+    private final GameStatus status;
+    private final String winner;
+    private final int scoreP1;
+    private final int scoreP2;
+    private final long ticks;
+    private final float simulatedSeconds;
+    private final long wallNanos;
+
+    public MatchResult(String level, GameStatus status, String winner, int scoreP1, int scoreP2,
+            long ticks, float simulatedSeconds, long wallNanos) {
+        this.level = level;
+        this.status = status;
+        this.winner = winner;
+        this.scoreP1 = scoreP1;
+        this.scoreP2 = scoreP2;
+        this.ticks = ticks;
+        this.simulatedSeconds = simulatedSeconds;
+        this.wallNanos = wallNanos;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * Estado con el que termino la partida (WON, GAME_OVER, TIMEOUT).
+     * Si se alcanzo el limite de ticks sin terminar, sera PLAYING.
+     */
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Nombre del ganador, "EMPATE", o null en modo SINGLE.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    public int getScoreP1() {
+        return scoreP1;
+    }
+
+    public int getScoreP2() {
+        return scoreP2;
+    }
+
+    /**
+     * Lado ganador segun la puntuacion final: 1, 2, o 0 si hubo empate.
+     * Es el mismo criterio que usa el dominio en modos multijugador.
+     */
+    public int getWinningSlot() {
+        if (scoreP1 > scoreP2)
+            return 1;
+        if (scoreP2 > scoreP1)
+            return 2;
+        return 0;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Tiempo de juego simulado (ticks * dt), en segundos.
+     */
+    public float getSimulatedSeconds() {
+        return simulatedSeconds;
+    }
+
+    /**
+     * Tiempo real que tomo la simulacion, en nanosegundos.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getTicksPerSecond() {
+        if (wallNanos <= 0)
+            return 0;
+        return ticks * 1_000_000_000.0 / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Match[%s, %s, ganador: %s, P1: %d, P2: %d, ticks: %d, %.0f ticks/s]",
+                level, status, winner, scoreP1, scoreP2, ticks, getTicksPerSecond());
+    }
+}
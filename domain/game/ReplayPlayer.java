@@ -0,0 +1,228 @@
+package domain.game;
+
+import domain.level.LevelConfiguration;
+import domain.players.IceCreamFlavor;
+import domain.players.PlayerType;
+import domain.shared.ActionType;
+import domain.shared.BadOpoException;
+import domain.shared.Direction;
+import domain.shared.StateReader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reproductor de repeticiones grabadas por ReplayRecorder.
+ * Vuelve a simular la partida sin interfaz grafica, tan rapido como lo
+ * permita la CPU, aplicando cada accion en el mismo tick en que ocurrio.
+ * 
+ * <p>Usos principales:</p>
+ * <ul>
+ *   <li>Reproducir partidas de reportes de errores</li>
+ *   <li>Pruebas de regresion del motor: verify compara la suma de
+ *       verificacion del estado final con la grabada</li>
+ * </ul>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see ReplayRecorder
+ * @see SimulationRunner
+ */
+public class ReplayPlayer {
+
+    private static final ActionType[] ACTIONS = ActionType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private long seed;
+    private String level;
+    private String[] mapLayout;
+    private LevelConfiguration config;
+    private String gameMode;
+    private IceCreamFlavor p1Flavor;
+    private String p2Selection;
+    private String p1Name;
+    private String p2Name;
+    private PlayerType p1Difficulty;
+    private PlayerType p2Difficulty;
+
+    private List<ReplayEvent> events;
+    private int tickCount;
+    private long checksum;
+
+    /**
+     * Evento de la repeticion: cambio de paso de tiempo (action == null)
+     * o accion de un jugador.
+     */
+    private static class ReplayEvent {
+        int tick;
+        float dt;
+        String playerId;
+        ActionType action;
+        Direction dir;
+    }
+
+    private ReplayPlayer() {
+        this.events = new ArrayList<>();
+    }
+
+    /**
+     * Lee una repeticion desde un archivo.
+     */
+    public static ReplayPlayer load(String fileName) throws BadOpoException {
+        try {
+            StateReader in = StateReader.open(Paths.get(fileName));
+            if (in.readInt() != ReplayRecorder.REPLAY_MAGIC) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            int version = in.readInt();
+            if (version != ReplayRecorder.REPLAY_VERSION) {
+                throw new BadOpoException("Version de repeticion no soportada: " + version);
+            }
+            ReplayPlayer replay = new ReplayPlayer();
+            replay.readHeader(in);
+            replay.readEvents(in);
+            return replay;
+        } catch (IOException | RuntimeException e) {
+            throw new BadOpoException("Error al cargar la repeticion: " + e.getMessage(), e);
+        }
+    }
+
+    private void readHeader(StateReader in) throws BadOpoException {
+        seed = in.readLong();
+        level = in.readString();
+        int rows = in.readCount(4);
+        mapLayout = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            mapLayout[i] = in.readString();
+        }
+        if (in.readBoolean()) {
+            config = new LevelConfiguration();
+            config.readState(in);
+        }
+        gameMode = in.readString();
+        p1Flavor = in.readEnum(IceCreamFlavor.class);
+        p2Selection = in.readString();
+        p1Name = in.readString();
+        p2Name = in.readString();
+        p1Difficulty = in.readEnum(PlayerType.class);
+        p2Difficulty = in.readEnum(PlayerType.class);
+        if (gameMode == null || p1Flavor == null || p1Difficulty == null || p2Difficulty == null) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
+        }
+    }
+
+    private void readEvents(StateReader in) throws BadOpoException {
+        int lastTick = 0;
+        while (true) {
+            int tag = in.readByte();
+            if (tag == ReplayRecorder.EVENT_END) {
+                tickCount = in.readInt();
+                checksum = in.readLong();
+                break;
+            }
+            ReplayEvent event = new ReplayEvent();
+            event.tick = in.readInt();
+            if (event.tick < lastTick) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            lastTick = event.tick;
+            if (tag == ReplayRecorder.EVENT_DT) {
+                event.dt = in.readFloat();
+            } else if (tag == ReplayRecorder.EVENT_ACTION) {
+                event.playerId = in.readString();
+                int action = in.readByte();
+                int dir = in.readByte();
+                if (action < 0 || action >= ACTIONS.length || dir < 0 || dir >= DIRECTIONS.length) {
+                    throw new BadOpoException(BadOpoException.SAVE_ERROR);
+                }
+                event.action = ACTIONS[action];
+                event.dir = DIRECTIONS[dir];
+            } else {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            events.add(event);
+        }
+        if (tickCount < lastTick || !in.isFinished()) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
+        }
+    }
+
+    /**
+     * Simula la partida completa en un DomainController nuevo y lo retorna
+     * en el estado en que quedo al final de la grabacion.
+     */
+    public DomainController replay() throws BadOpoException {
+        DomainController domain = new DomainController();
+        domain.setRandomSeed(seed);
+        domain.setGameMode(gameMode);
+        domain.setPlayer1Flavor(p1Flavor.name());
+        if (p2Selection != null) {
+            domain.setPlayer2Flavor(p2Selection);
+        }
+        domain.setPlayer1Name(p1Name);
+        domain.setPlayer2Name(p2Name);
+        domain.setPlayer1Difficulty(p1Difficulty.name());
+        domain.setPlayer2Difficulty(p2Difficulty.name());
+        domain.setCurrentLevel(level);
+        domain.setLevelConfiguration(config);
+        domain.loadLevel(mapLayout);
+
+        float dt = SimulationRunner.DEFAULT_DT;
+        int next = 0;
+        for (int tick = 0; tick <= tickCount; tick++) {
+            // Eventos ocurridos antes de este tick
+            while (next < events.size() && events.get(next).tick == tick) {
+                ReplayEvent event = events.get(next++);
+                if (event.action == null) {
+                    dt = event.dt;
+                } else {
+                    domain.handlePlayerAction(event.playerId, event.action, event.dir);
+                }
+            }
+            if (tick < tickCount) {
+                domain.updateGameLoop(dt);
+            }
+        }
+        return domain;
+    }
+
+    /**
+     * Simula la partida y compara el estado final con el grabado.
+     * 
+     * @return true si la simulacion coincide bit a bit con la original
+     */
+    public boolean verify() throws BadOpoException {
+        return replay().getStateChecksum() == checksum;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public long getRecordedChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Cantidad de acciones de jugador registradas.
+     */
+    public int getActionCount() {
+        int count = 0;
+        for (ReplayEvent event : events) {
+            if (event.action != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,188 @@
+package domain.game;
+
+import domain.level.LevelConfiguration;
+import domain.players.IceCreamFlavor;
+import domain.players.PlayerType;
+import domain.shared.ActionType;
+import domain.shared.BadOpoException;
+import domain.shared.Direction;
+import domain.shared.StateWriter;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Grabador de repeticiones: registra lo minimo para reproducir una partida
+ * bit a bit con ReplayPlayer.
+ * 
+ * <p>Como todo el azar de la partida sale de un unico generador sembrado
+ * (ver DomainController.setRandomSeed), basta con guardar:</p>
+ * <ul>
+ *   <li>La semilla, el nivel, el mapa y la configuracion del nivel</li>
+ *   <li>La configuracion de la partida (modo, sabores, nombres, dificultades)</li>
+ *   <li>Cada handlePlayerAction con el numero de tick en que ocurrio</li>
+ *   <li>El paso de tiempo (solo cuando cambia)</li>
+ *   <li>Al final, la cantidad de ticks y una suma de verificacion del estado</li>
+ * </ul>
+ * 
+ * <p>Los ticks cuentan solo las llamadas a updateGameLoop con la partida en
+ * juego, asi que las pausas no necesitan registrarse. Se activa con
+ * DomainController.setReplayRecorder antes de loadLevel.</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see ReplayPlayer
+ * @see DomainController
+ */
+public class ReplayRecorder {
+
+    static final int REPLAY_MAGIC = 0x42445250; // "BDRP"
+    // 2: la Cereza elige destino del indice de celdas libres
+    // 3: Maceta y Calamar siguen el campo de flujo de EnemyController
+    // 4: colision jugador-enemigo por barrido (cruces de celda)
+    // 5: temporizadores de items con reloj en microsegundos (TimingWheel)
+    // 6: cada hilera de hielo avanza por su cuenta (DominoChain)
+    // 7: hielo en la capa del tablero (el nivel no reparte nada sobre el hielo inicial)
+    // 8: el estado comparado incluye las animaciones activas del hielo
+    // 9: el hielo inicial del mapa aparece ya formado, sin animacion
+    // 10: el estado comparado incluye la semilla y el estado del generador
+    static final int REPLAY_VERSION = 10;
+
+    // Etiquetas de los eventos
+    static final int EVENT_END = 0;
+    static final int EVENT_DT = 1;
+    static final int EVENT_ACTION = 2;
+
+    // --- CABECERA (se captura al iniciar la partida) ---
+    private long seed;
+    private String level;
+    private String[] mapLayout;
+    private LevelConfiguration config;
+    private String gameMode;
+    private IceCreamFlavor p1Flavor;
+    private String p2Selection;
+    private String p1Name;
+    private String p2Name;
+    private PlayerType p1Difficulty;
+    private PlayerType p2Difficulty;
+    private boolean started;
+
+    // --- EVENTOS ---
+    private StateWriter events;
+    private int ticks;
+    private float currentDt;
+
+    public ReplayRecorder() {
+        this.events = new StateWriter();
+        this.currentDt = Float.NaN;
+    }
+
+    /**
+     * Inicia (o reinicia) la grabacion con la configuracion de la partida
+     * que se esta cargando. Lo llama DomainController.loadLevel.
+     */
+    void startMatch(long seed, String level, String[] mapLayout, LevelConfiguration config,
+            String gameMode, IceCreamFlavor p1Flavor, String p2Selection, String p1Name, String p2Name,
+            PlayerType p1Difficulty, PlayerType p2Difficulty) {
+        this.seed = seed;
+        this.level = level;
+        this.mapLayout = mapLayout.clone();
+        this.config = (config != null) ? config.copy() : null;
+        this.gameMode = gameMode;
+        this.p1Flavor = p1Flavor;
+        this.p2Selection = p2Selection;
+        this.p1Name = p1Name;
+        this.p2Name = p2Name;
+        this.p1Difficulty = p1Difficulty;
+        this.p2Difficulty = p2Difficulty;
+        this.started = true;
+
+        this.events = new StateWriter();
+        this.ticks = 0;
+        this.currentDt = Float.NaN;
+    }
+
+    /**
+     * Registra un tick de simulacion con su paso de tiempo.
+     */
+    void recordTick(float dt) {
+        // Comparacion de bits: el paso se reproduce exactamente igual
+        if (Float.floatToIntBits(dt) != Float.floatToIntBits(currentDt)) {
+            events.writeByte(EVENT_DT);
+            events.writeInt(ticks);
+            events.writeFloat(dt);
+            currentDt = dt;
+        }
+        ticks++;
+    }
+
+    /**
+     * Registra una accion de jugador antes del siguiente tick.
+     * Acciones y direcciones se guardan por ordinal (un byte cada una).
+     */
+    void recordAction(String playerId, ActionType action, Direction dir) {
+        events.writeByte(EVENT_ACTION);
+        events.writeInt(ticks);
+        events.writeString(playerId);
+        events.writeByte(action.ordinal());
+        events.writeByte(dir.ordinal());
+    }
+
+    /**
+     * Ticks registrados desde el inicio de la partida.
+     */
+    public int getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * Indica si ya se inicio una partida y hay algo que guardar.
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Escribe la repeticion al archivo. Puede llamarse en cualquier momento
+     * (por ejemplo al reportar un error a mitad de partida): la repeticion
+     * cubre los ticks registrados hasta ahora.
+     * 
+     * @param fileName Archivo de destino
+     * @param checksum Suma de verificacion del estado actual (DomainController.getStateChecksum)
+     */
+    void save(String fileName, long checksum) throws BadOpoException {
+        if (!started) {
+            throw new BadOpoException("No hay una partida grabada.");
+        }
+        StateWriter out = new StateWriter();
+        out.writeInt(REPLAY_MAGIC);
+        out.writeInt(REPLAY_VERSION);
+        out.writeLong(seed);
+        out.writeString(level);
+        out.writeInt(mapLayout.length);
+        for (String row : mapLayout) {
+            out.writeString(row);
+        }
+        out.writeBoolean(config != null);
+        if (config != null) {
+            config.writeState(out);
+        }
+        out.writeString(gameMode);
+        out.writeEnum(p1Flavor);
+        out.writeString(p2Selection);
+        out.writeString(p1Name);
+        out.writeString(p2Name);
+        out.writeEnum(p1Difficulty);
+        out.writeEnum(p2Difficulty);
+
+        out.write(events);
+        out.writeByte(EVENT_END);
+        out.writeInt(ticks);
+        out.writeLong(checksum);
+        try {
+            out.writeTo(Paths.get(fileName));
+        } catch (IOException | RuntimeException e) {
+            throw new BadOpoException("Error al guardar la repeticion: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package domain.game;
+
+import domain.level.LevelConfiguration;
+import domain.players.PlayerType;
+import domain.shared.BadOpoException;
+import domain.shared.GameStatus;
+
+/**
+ * Ejecutor de partidas sin interfaz grafica (headless).
+ * Avanza el DomainController con un paso de tiempo fijo tan rapido como
+ * lo permita la CPU, sin depender de Swing ni del Timer de 16 ms de la GUI.
+ *
+ * <p>Usos principales:</p>
+ * <ul>
+ *   <li>Correr miles de partidas MVM para balancear los bots</li>
+ *   <li>Pruebas de regresion del motor de juego</li>
+ *   <li>Medir el rendimiento de la simulacion (ticks por segundo)</li>
+ * </ul>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see DomainController
+ * @see MatchResult
+ */
+public class SimulationRunner {
+
+    /** Paso fijo usado por la GUI (Timer de 16 ms) */
+    public static final float DEFAULT_DT = 0.016f;
+
+    private final float dt;
+
+    public SimulationRunner() {
+        this(DEFAULT_DT);
+    }
+
+    /**
+     * @param dt Paso de tiempo fijo en segundos para cada tick
+     */
+    public SimulationRunner(float dt) {
+        if (dt <= 0)
+            throw new IllegalArgumentException("dt debe ser positivo: " + dt);
+        this.dt = dt;
+    }
+
+    public float getDt() {
+        return dt;
+    }
+
+    /**
+     * Crea un dominio nuevo en modo MVM con las dificultades dadas
+     * y simula la partida completa.
+     */
+    public MatchResult runMachineVsMachine(String level, String[] mapLayout, LevelConfiguration config,
+            PlayerType p1, PlayerType p2) throws BadOpoException {
+        return runMachineVsMachine(level, mapLayout, config, p1, p2, new DomainController());
+    }
+
+    /**
+     * Igual que {@link #runMachineVsMachine(String, String[], LevelConfiguration, PlayerType, PlayerType)}
+     * pero con una semilla fija para el generador aleatorio de la partida.
+     */
+    public MatchResult runMachineVsMachine(String level, String[] mapLayout, LevelConfiguration config,
+            PlayerType p1, PlayerType p2, long seed) throws BadOpoException {
+        DomainController domain = new DomainController();
+        domain.setRandomSeed(seed);
+        return runMachineVsMachine(level, mapLayout, config, p1, p2, domain);
+    }
+
+    private MatchResult runMachineVsMachine(String level, String[] mapLayout, LevelConfiguration config,
+            PlayerType p1, PlayerType p2, DomainController domain) throws BadOpoException {
+        domain.setGameMode("MVM");
+        domain.setPlayer1Difficulty(p1.name());
+        domain.setPlayer2Difficulty(p2.name());
+        domain.setPlayer1Name(p1.name());
+        domain.setPlayer2Name(p2.name());
+        return run(domain, level, mapLayout, config);
+    }
+
+    /**
+     * Carga el nivel en el dominio (ya configurado con modo y jugadores)
+     * y lo avanza hasta que termine la partida.
+     *
+     * @param domain    Dominio con el modo de juego y los jugadores configurados
+     * @param level     Nombre del nivel (ej: "LEVEL_1"), solo informativo
+     * @param mapLayout Mapa de texto del nivel
+     * @param config    Configuracion de frutas, enemigos y obstaculos
+     * @return Resultado final con metricas de rendimiento
+     */
+    public MatchResult run(DomainController domain, String level, String[] mapLayout, LevelConfiguration config)
+            throws BadOpoException {
+        domain.setCurrentLevel(level);
+        domain.setLevelConfiguration(config);
+        domain.loadLevel(mapLayout);
+
+        // Limite de seguridad: el timeout del juego siempre termina antes
+        long maxTicks = (long) Math.ceil(domain.getMaxTime() / dt) + 1;
+
+        long ticks = 0;
+        long start = System.nanoTime();
+        while (domain.getStatus() == GameStatus.PLAYING && ticks < maxTicks) {
+            domain.updateGameLoop(dt);
+            ticks++;
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        return new MatchResult(level, domain.getStatus(), domain.getWinner(),
+                domain.getScoreP1(), domain.getScoreP2(), ticks, ticks * dt, wallNanos);
+    }
+}
@@ -0,0 +1,119 @@
+package domain.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de duraciones en nanosegundos con cubetas log-lineales:
+ * cada potencia de dos se divide en SUB_BUCKETS cubetas iguales, asi que
+ * el error relativo de un percentil es como mucho 1/SUB_BUCKETS (~6%)
+ * con un arreglo fijo de pocos cientos de contadores.
+ *
+ * <p>record no asigna memoria ni toma bloqueos (contadores atomicos),
+ * de modo que puede llamarse en cada tick desde el hilo de simulacion
+ * mientras otro hilo (vista o JMX) consulta los percentiles. Las
+ * lecturas concurrentes son aproximadas: un percentil puede no incluir
+ * la ultima muestra.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see TickProfiler
+ */
+class TickHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Exponente maximo representable (2^40 ns, unos 18 minutos) */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Registra una duracion. Los valores negativos cuentan como 0.
+     */
+    void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Duracion bajo la cual queda la fraccion indicada de las muestras
+     * (limite superior de la cubeta, acotado por el maximo observado).
+     *
+     * @param quantile Fraccion entre 0 y 1 (0.5 = mediana, 0.99 = p99)
+     * @return Nanosegundos, o 0 si no hay muestras
+     */
+    long percentile(double quantile) {
+        long samples = count.get();
+        if (samples == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(quantile * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target)
+                return Math.min(upperBoundOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Promedio en nanosegundos, o 0 si no hay muestras.
+     */
+    long getMean() {
+        long samples = count.get();
+        return samples == 0 ? 0 : total.get() / samples;
+    }
+
+    /**
+     * Vuelve a cero. Una muestra registrada al mismo tiempo puede perderse.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    // --- CUBETAS ---
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT)
+            return BUCKET_COUNT - 1;
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,39 @@
+package domain.game;
+
+/**
+ * Fases medidas por TickProfiler: las etapas de
+ * DomainController.updateGameLoop, el tick completo y el pintado de la vista.
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see TickProfiler
+ */
+public enum TickPhase {
+    /** ItemController.updateItems (obstaculos, frutas, domino) */
+    ITEMS("items"),
+    /** EnemyController.updateEnemies (IA y movimiento de enemigos) */
+    ENEMIES("enemigos"),
+    /** PlayerController.updateBots (IA de los helados maquina) */
+    BOTS("bots"),
+    /** DomainController.checkCollisions */
+    COLLISIONS("colisiones"),
+    /** Revision de oleadas (y el spawn de la siguiente cuando toca) */
+    WAVES("oleadas"),
+    /** updateGameLoop completo, de principio a fin */
+    TICK("tick"),
+    /** GamePanel.paintComponent (hilo de la interfaz) */
+    PAINT("pintado");
+
+    private final String label;
+
+    TickPhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Nombre corto para el overlay y JMX.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
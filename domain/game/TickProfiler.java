@@ -0,0 +1,192 @@
+package domain.game;
+
+import domain.shared.BadOpoLogger;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Perfilador por fases del ciclo de juego: cuanto tarda cada etapa de
+ * DomainController.updateGameLoop (items, enemigos, bots, colisiones,
+ * oleadas y el tick completo) y el pintado de GamePanel.
+ *
+ * <p>Cada fase tiene un TickHistogram sin asignaciones ni bloqueos, asi
+ * que medir cuesta un par de System.nanoTime por fase y se puede dejar
+ * activo en produccion. Los percentiles (p50, p99, maximo) se leen desde
+ * cualquier hilo: el overlay de GamePanel (tecla F3) o JMX con
+ * register.</p>
+ *
+ * <p>Se conecta con DomainController.setTickProfiler; sin perfilador el
+ * ciclo no mide nada (simulaciones, torneos y benchmarks).</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see TickPhase
+ * @see TickProfilerMBean
+ */
+public class TickProfiler implements TickProfilerMBean {
+
+    /** Nombre JMX con el que se registra */
+    public static final String OBJECT_NAME = "badopo:type=TickProfiler";
+
+    private static final TickPhase[] PHASES = TickPhase.values();
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final TickHistogram[] histograms = new TickHistogram[PHASES.length];
+    private final double frameBudgetMillis;
+    private volatile boolean enabled = true;
+
+    public TickProfiler() {
+        this(SimulationRunner.DEFAULT_DT);
+    }
+
+    /**
+     * @param dt Paso del ciclo en segundos (presupuesto de cada tick)
+     */
+    public TickProfiler(float dt) {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new TickHistogram();
+        }
+        this.frameBudgetMillis = dt * 1000.0;
+    }
+
+    /**
+     * Registra este perfilador en el servidor JMX de la plataforma.
+     * Si ya habia uno registrado con el mismo nombre lo reemplaza.
+     *
+     * @return true si quedo registrado
+     */
+    public boolean register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            return true;
+        } catch (JMException e) {
+            BadOpoLogger.logError("No se pudo registrar el perfilador en JMX", e);
+            return false;
+        }
+    }
+
+    /**
+     * Registra la duracion de una fase (no hace nada si esta desactivado).
+     */
+    public void record(TickPhase phase, long nanos) {
+        if (enabled) {
+            histograms[phase.ordinal()].record(nanos);
+        }
+    }
+
+    public long getP50Nanos(TickPhase phase) {
+        return histograms[phase.ordinal()].percentile(0.50);
+    }
+
+    public long getP99Nanos(TickPhase phase) {
+        return histograms[phase.ordinal()].percentile(0.99);
+    }
+
+    public long getMaxNanos(TickPhase phase) {
+        return histograms[phase.ordinal()].getMax();
+    }
+
+    public long getMeanNanos(TickPhase phase) {
+        return histograms[phase.ordinal()].getMean();
+    }
+
+    public long getCount(TickPhase phase) {
+        return histograms[phase.ordinal()].getCount();
+    }
+
+    // --- JMX ---
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String[] getPhases() {
+        String[] names = new String[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            names[i] = PHASES[i].getLabel();
+        }
+        return names;
+    }
+
+    @Override
+    public long[] getCounts() {
+        long[] values = new long[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            values[i] = histograms[i].getCount();
+        }
+        return values;
+    }
+
+    @Override
+    public long[] getP50Nanos() {
+        long[] values = new long[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            values[i] = histograms[i].percentile(0.50);
+        }
+        return values;
+    }
+
+    @Override
+    public long[] getP99Nanos() {
+        long[] values = new long[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            values[i] = histograms[i].percentile(0.99);
+        }
+        return values;
+    }
+
+    @Override
+    public long[] getMaxNanos() {
+        long[] values = new long[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            values[i] = histograms[i].getMax();
+        }
+        return values;
+    }
+
+    @Override
+    public double getFrameBudgetMillis() {
+        return frameBudgetMillis;
+    }
+
+    @Override
+    public String[] getSummary() {
+        String[] lines = new String[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            TickPhase phase = PHASES[i];
+            lines[i] = String.format("%-10s p50=%.3fms p99=%.3fms max=%.3fms n=%d",
+                    phase.getLabel(), toMillis(getP50Nanos(phase)), toMillis(getP99Nanos(phase)),
+                    toMillis(getMaxNanos(phase)), getCount(phase));
+        }
+        return lines;
+    }
+
+    @Override
+    public void reset() {
+        for (TickHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Convierte nanosegundos a milisegundos.
+     */
+    public static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,36 @@
+package domain.game;
+
+/**
+ * Interfaz JMX de TickProfiler (visible en jconsole / VisualVM bajo
+ * badopo:type=TickProfiler). Los arreglos siguen el orden de getPhases.
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see TickProfiler
+ */
+public interface TickProfilerMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** Nombres de las fases, en el orden de los demas arreglos */
+    String[] getPhases();
+
+    long[] getCounts();
+
+    long[] getP50Nanos();
+
+    long[] getP99Nanos();
+
+    long[] getMaxNanos();
+
+    /** Presupuesto de un tick en milisegundos (el dt del ciclo) */
+    double getFrameBudgetMillis();
+
+    /** Una linea legible por fase con p50, p99 y maximo en milisegundos */
+    String[] getSummary();
+
+    /** Borra todas las muestras */
+    void reset();
+}
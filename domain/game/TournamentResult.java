@@ -0,0 +1,143 @@
+package domain.game;
+
+import domain.players.PlayerType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estadisticas acumuladas de un torneo MVM.
+ * Agrupa victorias, derrotas y empates por tipo de bot, en total
+ * y por cada nivel jugado. Es seguro registrar partidas desde varios hilos.
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see TournamentRunner
+ */
+public class TournamentResult {
+
+    /**
+     * Contadores de un tipo de bot (en total o dentro de un nivel).
+     */
+    public static class Record {
+        private long wins;
+        private long losses;
+        private long draws;
+        private long totalScore;
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getLosses() {
+            return losses;
+        }
+
+        public long getDraws() {
+            return draws;
+        }
+
+        public long getMatches() {
+            return wins + losses + draws;
+        }
+
+        public double getWinRate() {
+            long matches = getMatches();
+            return matches == 0 ? 0 : (double) wins / matches;
+        }
+
+        public double getAverageScore() {
+            long matches = getMatches();
+            return matches == 0 ? 0 : (double) totalScore / matches;
+        }
+
+        private void add(int slot, int winningSlot, int score) {
+            if (winningSlot == 0)
+                draws++;
+            else if (winningSlot == slot)
+                wins++;
+            else
+                losses++;
+            totalScore += score;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d partidas, %.1f%% victorias (%d/%d/%d), puntaje medio %.1f",
+                    getMatches(), getWinRate() * 100, wins, losses, draws, getAverageScore());
+        }
+    }
+
+    private final Map<PlayerType, Record> byType = new LinkedHashMap<>();
+    private final Map<String, Map<PlayerType, Record>> byLevel = new TreeMap<>();
+    private long matches;
+    private long totalTicks;
+    private long errors;
+
+    /**
+     * Registra el resultado de una partida entre p1 y p2.
+     */
+    public synchronized void record(PlayerType p1, PlayerType p2, MatchResult result) {
+        int winningSlot = result.getWinningSlot();
+        Map<PlayerType, Record> levelRecords = byLevel.computeIfAbsent(result.getLevel(), k -> new LinkedHashMap<>());
+
+        recordFor(byType, p1).add(1, winningSlot, result.getScoreP1());
+        recordFor(byType, p2).add(2, winningSlot, result.getScoreP2());
+        recordFor(levelRecords, p1).add(1, winningSlot, result.getScoreP1());
+        recordFor(levelRecords, p2).add(2, winningSlot, result.getScoreP2());
+
+        matches++;
+        totalTicks += result.getTicks();
+    }
+
+    /**
+     * Cuenta una partida que no pudo completarse (error al cargar el nivel).
+     */
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    private static Record recordFor(Map<PlayerType, Record> records, PlayerType type) {
+        return records.computeIfAbsent(type, k -> new Record());
+    }
+
+    public synchronized Record getRecord(PlayerType type) {
+        return recordFor(byType, type);
+    }
+
+    public synchronized Record getRecord(String level, PlayerType type) {
+        return recordFor(byLevel.computeIfAbsent(level, k -> new LinkedHashMap<>()), type);
+    }
+
+    public synchronized long getMatches() {
+        return matches;
+    }
+
+    public synchronized long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Torneo: ").append(matches).append(" partidas, ").append(totalTicks).append(" ticks");
+        if (errors > 0)
+            sb.append(", ").append(errors).append(" errores");
+        sb.append('\n');
+        for (Map.Entry<PlayerType, Record> e : byType.entrySet()) {
+            sb.append("  ").append(e.getKey()).append(": ").append(e.getValue()).append('\n');
+        }
+        for (Map.Entry<String, Map<PlayerType, Record>> level : byLevel.entrySet()) {
+            sb.append(level.getKey()).append('\n');
+            for (Map.Entry<PlayerType, Record> e : level.getValue().entrySet()) {
+                sb.append("  ").append(e.getKey()).append(": ").append(e.getValue()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
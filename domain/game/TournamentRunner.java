@@ -0,0 +1,158 @@
+package domain.game;
+
+import domain.level.LevelConfiguration;
+import domain.players.PlayerType;
+import domain.shared.BadOpoException;
+import domain.shared.BadOpoLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ejecutor de torneos MVM (Maquina vs Maquina) en paralelo.
+ * Reparte muchas partidas independientes en un ForkJoinPool; cada partida
+ * crea su propio DomainController (con sus propios controladores de tablero,
+ * items, enemigos y jugadores) y su propia semilla aleatoria.
+ *
+ * <p>Se juegan todos los cruces entre tipos de bot distintos
+ * (MACHINE_HUNGRY, MACHINE_FEARFUL, MACHINE_EXPERT), en ambos lados,
+ * en cada nivel registrado.</p>
+ *
+ * <p>Toda la aleatoriedad de una partida sale del generador que siembra
+ * DomainController.setRandomSeed, asi que el mismo baseSeed repite el
+ * mismo torneo sin importar el orden en que el pool ejecute las partidas.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see SimulationRunner
+ * @see TournamentResult
+ */
+public class TournamentRunner {
+
+    /** Partidas que ejecuta cada tarea sin volver a dividirse */
+    private static final int BATCH_SIZE = 16;
+
+    private static final PlayerType[] MACHINES = {
+            PlayerType.MACHINE_HUNGRY, PlayerType.MACHINE_FEARFUL, PlayerType.MACHINE_EXPERT };
+
+    private final int parallelism;
+    private final SimulationRunner runner;
+    private final List<String> levelNames;
+    private final List<String[]> levelMaps;
+    private final List<LevelConfiguration> levelConfigs;
+    private final List<PlayerType[]> pairings;
+
+    public TournamentRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public TournamentRunner(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.runner = new SimulationRunner();
+        this.levelNames = new ArrayList<>();
+        this.levelMaps = new ArrayList<>();
+        this.levelConfigs = new ArrayList<>();
+        this.pairings = new ArrayList<>();
+
+        for (PlayerType p1 : MACHINES) {
+            for (PlayerType p2 : MACHINES) {
+                if (p1 != p2) {
+                    pairings.add(new PlayerType[] { p1, p2 });
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega un nivel al torneo. La configuracion se copia para que
+     * cambios posteriores no afecten las partidas en curso.
+     */
+    public void addLevel(String name, String[] mapLayout, LevelConfiguration config) {
+        levelNames.add(name);
+        levelMaps.add(mapLayout);
+        levelConfigs.add(config.copy());
+    }
+
+    /**
+     * Ejecuta el torneo y espera a que terminen todas las partidas.
+     *
+     * @param matchesPerPairing Partidas por cada cruce de bots y nivel
+     * @param baseSeed          Semilla base; cada partida deriva la suya de su indice
+     * @return Estadisticas combinadas por tipo de bot y por nivel
+     */
+    public TournamentResult run(int matchesPerPairing, long baseSeed) {
+        TournamentResult result = new TournamentResult();
+        long total = (long) levelNames.size() * pairings.size() * matchesPerPairing;
+        if (total == 0)
+            return result;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new MatchBatch(0, total, matchesPerPairing, baseSeed, result));
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
+    /**
+     * Semilla de la partida numero index (mezcla tipo SplitMix64),
+     * independiente del hilo que la ejecute.
+     */
+    static long seedFor(long baseSeed, long index) {
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void playMatch(long index, int matchesPerPairing, long baseSeed, TournamentResult result) {
+        int pairing = (int) ((index / matchesPerPairing) % pairings.size());
+        int level = (int) (index / ((long) matchesPerPairing * pairings.size()));
+        PlayerType[] players = pairings.get(pairing);
+
+        try {
+            MatchResult match = runner.runMachineVsMachine(levelNames.get(level), levelMaps.get(level),
+                    levelConfigs.get(level), players[0], players[1], seedFor(baseSeed, index));
+            result.record(players[0], players[1], match);
+        } catch (BadOpoException e) {
+            BadOpoLogger.logError("Error en partida de torneo " + index, e);
+            result.recordError();
+        }
+    }
+
+    /**
+     * Rango de partidas [from, to) que se divide hasta BATCH_SIZE.
+     */
+    private class MatchBatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long from;
+        private final long to;
+        private final int matchesPerPairing;
+        private final long baseSeed;
+        private final TournamentResult result;
+
+        MatchBatch(long from, long to, int matchesPerPairing, long baseSeed, TournamentResult result) {
+            this.from = from;
+            this.to = to;
+            this.matchesPerPairing = matchesPerPairing;
+            this.baseSeed = baseSeed;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                for (long i = from; i < to; i++) {
+                    playMatch(i, matchesPerPairing, baseSeed, result);
+                }
+                return;
+            }
+            long mid = (from + to) >>> 1;
+            invokeAll(new MatchBatch(from, mid, matchesPerPairing, baseSeed, result),
+                    new MatchBatch(mid, to, matchesPerPairing, baseSeed, result));
+        }
+    }
+}
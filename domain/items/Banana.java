@@ -14,11 +14,6 @@ public class Banana extends Fruit {
         super(id, x, y, 100); // Plátano da 100 puntos
     }
 
-    @Override
-    public void update(float dt) {
-        // No hace nada porque es estática
-    }
-
     @Override
     public String getType() {
         return "BANANA";
@@ -1,6 +1,9 @@
 package domain.items;
 
 import domain.board.BoardController;
+import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Cactus: Fruta especial con puas que alternan entre estado peligroso y seguro.
@@ -20,28 +23,33 @@ import domain.board.BoardController;
  */
 public class Cactus extends Fruit {
 
-    private static final float SPIKE_INTERVAL = 30.0f; // 30 segundos entre cambios de estado
+    private static final long SPIKE_INTERVAL = TimingWheel.micros(30.0f); // 30 segundos entre cambios de estado
     private static final int CACTUS_SCORE = 250;
 
-    private float stateTimer;
+    private long nextToggle; // Instante del proximo cambio (reloj de items)
     private boolean hasSpikes; // true = tiene púas (peligroso), false = seguro para recolectar
 
     public Cactus(String id, int x, int y) {
         super(id, x, y, CACTUS_SCORE);
-        this.stateTimer = 0;
+        this.nextToggle = SPIKE_INTERVAL;
         this.hasSpikes = false; // Inicia sin púas (seguro)
     }
 
     @Override
-    public void update(float dt) {
-        // Acumular tiempo
-        stateTimer += dt;
+    void start(long now) {
+        nextToggle = now + SPIKE_INTERVAL;
+    }
+
+    @Override
+    long getWakeTime() {
+        return nextToggle;
+    }
 
+    @Override
+    void onWake(long now) {
         // Cada 30 segundos, alternar estado de púas
-        if (stateTimer >= SPIKE_INTERVAL) {
-            hasSpikes = !hasSpikes;
-            stateTimer = 0; // Reiniciar timer
-        }
+        hasSpikes = !hasSpikes;
+        nextToggle = now + SPIKE_INTERVAL;
     }
 
     @Override
@@ -80,10 +88,11 @@ public class Cactus extends Fruit {
     /**
      * Obtiene el tiempo restante hasta el próximo cambio de estado.
      * 
+     * @param now Reloj de items (ItemController#getClock)
      * @return segundos restantes
      */
-    public float getTimeUntilStateChange() {
-        return SPIKE_INTERVAL - stateTimer;
+    public float getTimeUntilStateChange(long now) {
+        return Math.max(0, nextToggle - now) / 1_000_000.0f;
     }
 
     @Override
@@ -91,4 +100,21 @@ public class Cactus extends Fruit {
         // Retorna tipo diferente según si tiene púas o no (para visualización)
         return hasSpikes ? "CACTUS_SPIKES" : "CACTUS";
     }
+
+    @Override
+    public String getSaveType() {
+        return "CACTUS";
+    }
+
+    @Override
+    public void writeState(StateWriter out) {
+        out.writeLong(nextToggle);
+        out.writeBoolean(hasSpikes);
+    }
+
+    @Override
+    public void readState(StateReader in) throws BadOpoException {
+        nextToggle = in.readLong();
+        hasSpikes = in.readBoolean();
+    }
 }
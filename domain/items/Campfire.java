@@ -1,5 +1,9 @@
 package domain.items;
 
+import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
+
 /**
  * Fogata que alterna entre encendida (peligrosa) y apagada (segura).
  * Cuando esta encendida, elimina al jugador que la toque.
@@ -20,13 +24,13 @@ package domain.items;
 public class Campfire extends Obstacle {
 
     private boolean isOn;
-    private float timer;
-    private static final float REIGNITE_TIME = 10.0f;
+    private long reigniteAt; // Instante en que vuelve a encenderse (reloj de items)
+    private static final long REIGNITE_TIME = TimingWheel.micros(10.0f);
 
     public Campfire(String id, int x, int y) {
         super(id, x, y);
         this.isOn = true;
-        this.timer = 0;
+        this.reigniteAt = 0;
     }
 
     @Override
@@ -50,26 +54,47 @@ public class Campfire extends Obstacle {
     }
 
     @Override
-    public void update(float dt) {
-        if (!isOn) {
-            timer += dt;
-            if (timer >= REIGNITE_TIME) {
-                isOn = true;
-                timer = 0;
-            }
-        }
+    long getWakeTime() {
+        return isOn ? NO_WAKE : reigniteAt;
+    }
+
+    @Override
+    void onWake(long now) {
+        isOn = true;
     }
 
     @Override
-    public void onIceBrokenAbove() {
+    public void onIceBrokenAbove(long now) {
         if (isOn) {
             isOn = false;
-            timer = 0;
+            reigniteAt = now + REIGNITE_TIME;
         }
     }
 
+    @Override
+    public boolean blocksFruitSpawn() {
+        return true;
+    }
+
     @Override
     public String getType() {
         return isOn ? "CAMPFIRE" : "CAMPFIRE_OFF";
     }
+
+    @Override
+    public String getSaveType() {
+        return "CAMPFIRE";
+    }
+
+    @Override
+    public void writeState(StateWriter out) {
+        out.writeBoolean(isOn);
+        out.writeLong(reigniteAt);
+    }
+
+    @Override
+    public void readState(StateReader in) throws BadOpoException {
+        isOn = in.readBoolean();
+        reigniteAt = in.readLong();
+    }
 }
@@ -1,7 +1,9 @@
 package domain.items;
 
 import domain.board.BoardController;
-import java.util.Random;
+import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Fruta Cereza que se teletransporta periodicamente.
@@ -19,41 +21,32 @@ import java.util.Random;
  */
 public class Cherry extends Fruit {
 
-    private Random random;
-    private float teleportTimer;
-    private static final float TELEPORT_INTERVAL = 20.0f; // 20 segundos
+    // Desde cuando puede teletransportarse (reloj de items). No necesita
+    // despertar: el salto solo ocurre cuando el jugador se mueve
+    private long teleportAt;
+    private static final long TELEPORT_INTERVAL = TimingWheel.micros(20.0f); // 20 segundos
 
     public Cherry(String id, int x, int y) {
         // La cereza otorga 150 puntos
         super(id, x, y, 150);
-        this.random = new Random();
-        this.teleportTimer = 0;
+        this.teleportAt = TELEPORT_INTERVAL;
     }
 
     @Override
-    public void update(float dt) {
-        // Acumular tiempo
-        teleportTimer += dt;
+    void start(long now) {
+        teleportAt = now + TELEPORT_INTERVAL;
     }
 
     @Override
     public void onPlayerMove(BoardController board, ItemController itemCtrl) {
         // Solo intentamos teletransportarnos si ha pasado el tiempo suficiente
-        if (teleportTimer >= TELEPORT_INTERVAL) {
-            int attempts = 0;
-            int maxAttempts = 50; // Evitar bucle infinito
-
-            while (attempts < maxAttempts) {
-                int newX = random.nextInt(board.getWidth());
-                int newY = random.nextInt(board.getHeight());
-
-                // Verificar que la posición sea válida
-                if (board.isWalkable(newX, newY) && !itemCtrl.isObstacleAt(newX, newY)) {
-                    this.setPosition(newX, newY);
-                    teleportTimer = 0; // Reiniciar timer
-                    break;
-                }
-                attempts++;
+        long now = itemCtrl.getClock();
+        if (now >= teleportAt) {
+            // Celda libre elegida del indice de ItemController, sin sondeos al azar
+            int[] target = itemCtrl.randomOpenPosition(itemCtrl.getRandom()); // Generador de la partida
+            if (target != null) {
+                this.setPosition(target[0], target[1]);
+                teleportAt = now + TELEPORT_INTERVAL; // Reiniciar timer
             }
         }
     }
@@ -62,4 +55,14 @@ public class Cherry extends Fruit {
     public String getType() {
         return "CHERRY";
     }
+
+    @Override
+    public void writeState(StateWriter out) {
+        out.writeLong(teleportAt);
+    }
+
+    @Override
+    public void readState(StateReader in) throws BadOpoException {
+        teleportAt = in.readLong();
+    }
 }
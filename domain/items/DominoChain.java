@@ -0,0 +1,100 @@
+package domain.items;
+
+import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
+
+import java.util.List;
+
+/**
+ * Una hilera de hielo en efecto domino: las celdas que crea o rompe una
+ * sola accion de un jugador, con su propio cursor y temporizador.
+ *
+ * <p>Cada cadena avanza una celda cada DOMINO_DELAY segundos de forma
+ * independiente: la hilera larga de un jugador no retrasa la del otro.
+ * ItemController las guarda en un buffer circular en orden de creacion.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see ItemController
+ */
+class DominoChain implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    final boolean isCreate;
+    private final int[] xs;
+    private final int[] ys;
+    private int cursor; // Proxima celda a procesar
+    float timer;
+
+    DominoChain(boolean isCreate, List<int[]> positions) {
+        this.isCreate = isCreate;
+        this.xs = new int[positions.size()];
+        this.ys = new int[positions.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = positions.get(i)[0];
+            ys[i] = positions.get(i)[1];
+        }
+    }
+
+    private DominoChain(boolean isCreate, int[] xs, int[] ys, float timer) {
+        this.isCreate = isCreate;
+        this.xs = xs;
+        this.ys = ys;
+        this.timer = timer;
+    }
+
+    boolean isFinished() {
+        return cursor >= xs.length;
+    }
+
+    /**
+     * Celdas que faltan procesar.
+     */
+    int remaining() {
+        return xs.length - cursor;
+    }
+
+    int nextX() {
+        return xs[cursor];
+    }
+
+    int nextY() {
+        return ys[cursor];
+    }
+
+    /**
+     * Da por procesada la celda actual.
+     */
+    void advance() {
+        cursor++;
+    }
+
+    // --- PERSISTENCIA ---
+
+    /**
+     * Escribe el tipo, el temporizador y solo las celdas que faltan.
+     */
+    void writeState(StateWriter out) {
+        out.writeBoolean(isCreate);
+        out.writeFloat(timer);
+        out.writeInt(remaining());
+        for (int i = cursor; i < xs.length; i++) {
+            out.writeInt(xs[i]);
+            out.writeInt(ys[i]);
+        }
+    }
+
+    static DominoChain readState(StateReader in) throws BadOpoException {
+        boolean isCreate = in.readBoolean();
+        float timer = in.readFloat();
+        int count = in.readCount(8);
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = in.readInt();
+            ys[i] = in.readInt();
+        }
+        return new DominoChain(isCreate, xs, ys, timer);
+    }
+}
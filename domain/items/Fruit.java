@@ -23,6 +23,10 @@ package domain.items;
  * @see Cactus
  */
 public abstract class Fruit extends Item {
+
+    /** Tipos de fruta en orden fijo: el indice de cada uno lo usa FruitCounter */
+    static final String[] TYPES = { "BANANA", "GRAPE", "PINEAPPLE", "CHERRY", "CACTUS" };
+
     protected int score;
 
     public Fruit(String id, int x, int y, int score) {
@@ -50,6 +54,28 @@ public abstract class Fruit extends Item {
         return true; // Por defecto se puede caminar sobre las frutas
     }
 
+    /**
+     * Indice del tipo de fruta en TYPES, o -1 si no es una fruta conocida.
+     */
+    static int typeIndex(String type) {
+        if (type == null)
+            return -1;
+        switch (type) {
+            case "BANANA":
+                return 0;
+            case "GRAPE":
+                return 1;
+            case "PINEAPPLE":
+                return 2;
+            case "CHERRY":
+                return 3;
+            case "CACTUS":
+                return 4;
+            default:
+                return -1;
+        }
+    }
+
     // --- CREADOR ESTÁTICO DE FRUTAS ---
     public static Fruit create(String type, String id, int x, int y) {
         if (type == null)
@@ -0,0 +1,111 @@
+package domain.items;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cantidad de frutas en juego, total y por tipo, que ItemController
+ * actualiza al crear, recolectar o quitar cada fruta. Asi la condicion de
+ * fin de oleada y el contador del HUD se leen sin recorrer los items.
+ *
+ * <p>Los conteos van en un arreglo indexado por tipo (Fruit.TYPES). El tipo
+ * es el de creacion (getSaveType): un cactus cuenta como CACTUS tenga o no
+ * puas. Fuera de domain.items la clase es de solo lectura.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see ItemController#getFruitCounter()
+ * @see Fruit
+ */
+public class FruitCounter implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] counts = new int[Fruit.TYPES.length];
+    private int total;
+    private int activeTypes; // Tipos con al menos una fruta
+
+    // --- Escritura (solo ItemController) ---
+
+    void add(Item item) {
+        int type = Fruit.typeIndex(item.getSaveType());
+        if (type < 0)
+            return;
+        if (counts[type]++ == 0)
+            activeTypes++;
+        total++;
+    }
+
+    void remove(Item item) {
+        int type = Fruit.typeIndex(item.getSaveType());
+        if (type < 0 || counts[type] == 0)
+            return;
+        if (--counts[type] == 0)
+            activeTypes--;
+        total--;
+    }
+
+    void clear() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        activeTypes = 0;
+    }
+
+    /**
+     * Copia los conteos de otro contador sin asignar memoria (fotos de frame).
+     */
+    void copyFrom(FruitCounter other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        total = other.total;
+        activeTypes = other.activeTypes;
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Frutas en juego de todos los tipos.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Cantidad de tipos distintos que tienen alguna fruta en juego.
+     */
+    public int getActiveTypeCount() {
+        return activeTypes;
+    }
+
+    /**
+     * Cantidad de tipos conocidos; los indices validos van de 0 a getTypeCount() - 1.
+     */
+    public int getTypeCount() {
+        return counts.length;
+    }
+
+    public String getTypeName(int type) {
+        return Fruit.TYPES[type];
+    }
+
+    public int getCount(int type) {
+        return counts[type];
+    }
+
+    public int getCount(String type) {
+        int index = Fruit.typeIndex(type);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    /**
+     * Conteos como mapa tipo -> cantidad (solo tipos en juego).
+     * Crea un mapa nuevo: no usar en cada frame.
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                map.put(Fruit.TYPES[i], counts[i]);
+            }
+        }
+        return map;
+    }
+}
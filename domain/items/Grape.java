@@ -14,11 +14,6 @@ public class Grape extends Fruit {
         super(id, x, y, 50); // Uva da 50 puntos
     }
 
-    @Override
-    public void update(float dt) {
-        // No hace nada porque es estática
-    }
-
     @Override
     public String getType() {
         return "GRAPE";
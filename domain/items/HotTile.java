@@ -8,7 +8,7 @@ package domain.items;
  * @author Diego Montes y Juan David Valero
  * @version 1.0
  * @see Obstacle
- * @see IceBlock
+ * @see ItemController#createIceBlock(int, int)
  */
 public class HotTile extends Obstacle {
 
@@ -32,12 +32,12 @@ public class HotTile extends Obstacle {
     }
 
     @Override
-    public String getType() {
-        return "HOT_TILE";
+    public boolean blocksFruitSpawn() {
+        return true;
     }
 
     @Override
-    public void update(float dt) {
-        // No hace nada
+    public String getType() {
+        return "HOT_TILE";
     }
 }
@@ -1,6 +1,9 @@
 package domain.items;
 
 import domain.board.BoardController;
+import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Clase abstracta base para todos los items del juego.
@@ -33,6 +36,15 @@ public abstract class Item implements java.io.Serializable {
     protected int x;
     protected int y;
 
+    /** Valor de getWakeTime para los items que no cambian con el tiempo */
+    static final long NO_WAKE = Long.MAX_VALUE;
+
+    // Despertar vigente en la rueda de ItemController (null = ninguno)
+    transient TimingWheel.Timer timer;
+
+    // Posicion en la lista de items de ItemController (-1 = fuera de juego)
+    int slot = -1;
+
     public Item(String id, int x, int y) {
         this.id = id;
         this.x = x;
@@ -58,10 +70,8 @@ public abstract class Item implements java.io.Serializable {
 
     public abstract boolean isWalkable();
 
-    public abstract void update(float dt);
-
     // --- NUEVO: POLIMORFISMO PARA LA VISTA ---
-    // Cada hijo debe decir su nombre ("BANANA", "ICE", etc.)
+    // Cada hijo debe decir su nombre ("BANANA", "CAMPFIRE", etc.)
     public abstract String getType();
 
     // Por defecto nada es destructible, solo los Obstáculos sobreescribirán esto
@@ -95,7 +105,12 @@ public abstract class Item implements java.io.Serializable {
         // Por defecto no hace nada
     }
 
-    public void onIceBrokenAbove() {
+    /**
+     * Se invoca cuando se rompe hielo en la celda del item.
+     *
+     * @param now Reloj de items en microsegundos (ItemController#getClock)
+     */
+    public void onIceBrokenAbove(long now) {
         // Por defecto no hace nada
     }
 
@@ -103,19 +118,72 @@ public abstract class Item implements java.io.Serializable {
         return false;
     }
 
+    /**
+     * Indica si en la celda de este item no pueden aparecer frutas nuevas
+     * (calor, fogatas). Lo usa el indice de celdas libres de ItemController.
+     */
+    public boolean blocksFruitSpawn() {
+        return false;
+    }
+
     /**
      * Verifica si este ítem puede aparecer en la posición actual.
-     * Recibe la lista de otros ítems para consultar el contexto.
+     * Recibe los ítems que ya ocupan esa celda para consultar el contexto.
      */
     public boolean canSpawnAt(java.util.List<Item> items) {
         return true; // Por defecto siempre puede
     }
 
+    // --- TEMPORIZADORES ---
+
+    /**
+     * Instante del reloj de items (microsegundos) en que el item cambia de
+     * estado por si solo, o NO_WAKE. ItemController lo programa en su rueda
+     * y solo llama a onWake cuando vence, en vez de actualizar cada tick.
+     * Debe volver a consultarse cada vez que cambia el estado del item.
+     */
+    long getWakeTime() {
+        return NO_WAKE;
+    }
+
+    /**
+     * El reloj alcanzo getWakeTime.
+     */
+    void onWake(long now) {
+        // Por defecto no hace nada
+    }
+
     /**
-     * Se invoca cuando el ítem es destruido.
-     * Recibe la lista de ítems para notificar efectos colaterales.
+     * Fija los plazos iniciales al aparecer en juego. No se llama al cargar
+     * una partida: ahi los plazos vienen de readState.
      */
-    public void onDestroy(java.util.List<Item> items) {
+    void start(long now) {
         // Por defecto no hace nada
     }
+
+    // --- PERSISTENCIA ---
+
+    /**
+     * Tipo con el que se recrea el item al cargar una partida.
+     * Coincide con getType salvo en los items cuyo nombre visual cambia con
+     * su estado (Cactus, Campfire).
+     */
+    public String getSaveType() {
+        return getType();
+    }
+
+    /**
+     * Escribe el estado propio del item (temporizadores, banderas).
+     * El id, el tipo y la posicion los escribe ItemController.
+     */
+    public void writeState(StateWriter out) {
+        // Por defecto no hay estado adicional
+    }
+
+    /**
+     * Restaura el estado escrito por writeState.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        // Por defecto no hay estado adicional
+    }
 }
@@ -1,13 +1,17 @@
 package domain.items;
 
 import domain.board.BoardController;
+import domain.board.CellSet;
+import domain.board.ObstacleMap;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import domain.shared.BadOpoException;
+import domain.shared.EntityBuffer;
 import domain.shared.EntityInfo;
-import java.util.ArrayList;
-import java.util.List;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Controlador que gestiona todos los items del juego (frutas y obstaculos).
@@ -17,6 +21,7 @@ import java.util.List;
  * <ul>
  *   <li>Crear y mantener la lista de items activos</li>
  *   <li>Gestionar el efecto domino para creacion/destruccion de hielo</li>
+ *   <li>Despertar a los items temporizados cuando vencen sus plazos (TimingWheel)</li>
  *   <li>Detectar recoleccion de frutas y calcular puntos</li>
  *   <li>Verificar obstaculos y elementos peligrosos</li>
  *   <li>Proporcionar informacion visual para la GUI</li>
@@ -27,202 +32,472 @@ import java.util.List;
  * @see Item
  * @see Fruit
  * @see Obstacle
+ * @see TimingWheel
  */
-public class ItemController implements java.io.Serializable {
+public class ItemController implements ObstacleMap, java.io.Serializable {
 
     private BoardController boardCtrl;
+    // Sin orden fijo: al quitar un item el ultimo pasa a su lugar (Item.slot)
     private List<Item> items;
     private Random random;
 
-    private List<DominoAction> dominoQueue;
-    private float dominoTimer;
+    // Indice espacial: una cubeta de items por celda (width * height)
+    // para que las consultas por posicion no recorran toda la lista
+    private List<Item>[] cellIndex;
+    private int indexWidth;
+    private int indexHeight;
+    // Cambia cuando se agrega, quita o mueve un item que bloquea el paso
+    private int obstacleVersion;
+    // Frutas en juego por tipo, al dia con cada addItem/removeItem
+    private final FruitCounter fruits = new FruitCounter();
+
+    // Celdas libres, derivadas del tablero y del indice: donde puede aparecer
+    // una fruta (spawnCells) y donde no hay muro, hielo ni obstaculo (openCells).
+    // Se actualizan celda a celda con los items y se reconstruyen si cambia el tablero
+    private transient CellSet spawnCells;
+    private transient CellSet openCells;
+    private transient int cellsBoardVersion;
+    private transient boolean cellsDirty;
+    private static final int SPAWN_MARGIN = 2; // Filas y columnas del borde sin frutas
+
+    // Reloj de items en microsegundos (avanza con updateItems) y rueda con los
+    // despertares de los items temporizados; la rueda se reconstruye de los items
+    private long clock;
+    private transient TimingWheel wheel;
+    private transient List<Item> woken;
+
+    // Hileras de hielo en curso, una por accion, en un buffer circular
+    // (chainHead es la mas antigua). Todas avanzan en el mismo tick
+    private DominoChain[] chains;
+    private int chainHead;
+    private int chainCount;
     private static final float DOMINO_DELAY = 0.08f;
+    private static final List<Item> NO_ITEMS = java.util.Collections.emptyList();
+    private static final String ICE_BLOCK = "ICE_BLOCK"; // Tipo de obstaculo del hielo en niveles y configuraciones
 
     public ItemController(BoardController boardCtrl) {
         this.boardCtrl = boardCtrl;
         this.items = new ArrayList<>();
         this.random = new Random();
-        this.dominoQueue = new ArrayList<>();
-        this.dominoTimer = 0;
+        this.chains = new DominoChain[4];
+        rebuildIndex();
     }
 
     public List<Item> getItems() {
         return items;
     }
 
+    /**
+     * Establece el generador de la partida. Lo usan tambien los items que se
+     * mueven al azar (Piña, Cereza) a traves de getRandom.
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
     public void spawnFruit(String type, String id, int x, int y) {
         if (boardCtrl.isWalkable(x, y)) {
             Fruit f = Fruit.create(type, id, x, y);
             if (f != null) {
-                items.add(f);
+                f.start(clock);
+                addItem(f);
             }
         }
     }
 
+    /**
+     * Crea un obstaculo. El tipo ICE_BLOCK no crea un item: va a la capa de
+     * hielo del tablero (ver createIceBlock).
+     */
     public void spawnObstacle(String type, String id, int x, int y) {
+        if (ICE_BLOCK.equalsIgnoreCase(type)) {
+            createIceBlock(x, y);
+            return;
+        }
         if (boardCtrl.isValidPosition(x, y)) {
             Obstacle o = Obstacle.create(type, id, x, y);
-            if (o != null && o.canSpawnAt(items)) {
-                items.add(o);
+            if (o != null && o.canSpawnAt(itemsAt(x, y))) {
+                o.start(clock);
+                addItem(o);
             }
         }
     }
 
     /**
-     * Encola una serie de operaciones de creación de hielo con efecto dominó.
+     * Inicia una hilera de creación de hielo con efecto dominó. Avanza en
+     * paralelo con las demás hileras en curso.
      */
     public void queueIceCreation(List<int[]> positions) {
-        for (int[] pos : positions) {
-            dominoQueue.add(new DominoAction(true, pos[0], pos[1]));
-        }
+        addChain(new DominoChain(true, positions));
     }
 
     /**
-     * Encola una serie de operaciones de destrucción de hielo con efecto dominó.
+     * Inicia una hilera de destrucción de hielo con efecto dominó. Avanza en
+     * paralelo con las demás hileras en curso.
      */
     public void queueIceDestruction(List<int[]> positions) {
-        for (int[] pos : positions) {
-            dominoQueue.add(new DominoAction(false, pos[0], pos[1]));
-        }
+        addChain(new DominoChain(false, positions));
+    }
+
+    /**
+     * Hileras de hielo que aún no terminan.
+     */
+    public int getActiveDominoChains() {
+        return chainCount;
     }
 
     public void updateItems(float dt) {
-        for (Item item : items) {
-            item.update(dt);
-        }
-
-        if (!dominoQueue.isEmpty()) {
-            dominoTimer += dt;
-            if (dominoTimer >= DOMINO_DELAY) {
-                dominoTimer = 0;
-                DominoAction action = dominoQueue.remove(0);
-                if (action.isCreate) {
-                    spawnObstacle("ICE_BLOCK", "ice_" + System.nanoTime(), action.x, action.y);
-                } else {
-                    breakIceBlockImmediate(action.x, action.y);
-                }
+        // Solo los items cuyo despertar vence en este tick, no todos
+        clock += TimingWheel.micros(dt);
+        syncWheel();
+        wheel.advance(clock, woken);
+        for (int i = 0; i < woken.size(); i++) {
+            Item item = woken.get(i);
+            item.onWake(clock);
+            wheel.schedule(item, item.getWakeTime());
+        }
+        woken.clear();
+
+        if (chainCount > 0) {
+            updateChains(dt);
+        }
+    }
+
+    // =============================================================
+    // EFECTO DOMINÓ
+    // =============================================================
+
+    private void addChain(DominoChain chain) {
+        if (chain.isFinished()) {
+            return; // Hilera vacía
+        }
+        if (chainCount == chains.length) {
+            // Se duplica el buffer dejando la cadena más antigua en la posición 0
+            DominoChain[] grown = new DominoChain[chains.length * 2];
+            for (int i = 0; i < chainCount; i++) {
+                grown[i] = chains[(chainHead + i) % chains.length];
             }
+            chains = grown;
+            chainHead = 0;
         }
+        chains[(chainHead + chainCount) % chains.length] = chain;
+        chainCount++;
+    }
+
+    /**
+     * Avanza cada hilera con su propio temporizador, de la más antigua a la
+     * más nueva, y quita las que terminaron. Las que siguen se compactan
+     * hacia la cola y la cabeza avanza: en el caso comun (termina la más
+     * antigua) ninguna se mueve y el buffer da la vuelta.
+     */
+    private void updateChains(float dt) {
+        int count = chainCount;
+        for (int i = 0; i < count; i++) {
+            DominoChain chain = chains[(chainHead + i) % chains.length];
+            chain.timer += dt;
+            if (chain.timer >= DOMINO_DELAY) {
+                chain.timer = 0;
+                stepChain(chain);
+            }
+        }
+        int kept = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            int slot = (chainHead + i) % chains.length;
+            DominoChain chain = chains[slot];
+            chains[slot] = null;
+            if (!chain.isFinished()) {
+                kept++;
+                chains[(chainHead + count - kept) % chains.length] = chain;
+            }
+        }
+        chainHead = (chainHead + count - kept) % chains.length;
+        chainCount = kept;
+    }
+
+    private void stepChain(DominoChain chain) {
+        int x = chain.nextX();
+        int y = chain.nextY();
+        chain.advance();
+        if (chain.isCreate) {
+            createIceBlock(x, y);
+        } else {
+            breakIceBlock(x, y);
+        }
+    }
+
+    private void clearChains() {
+        java.util.Arrays.fill(chains, null);
+        chainHead = 0;
+        chainCount = 0;
     }
 
     // Método para recolección simple
     public void collectItemsAt(int x, int y) {
-        Iterator<Item> it = items.iterator();
+        Iterator<Item> it = itemsAt(x, y).iterator();
         while (it.hasNext()) {
             Item item = it.next();
-            if (item.getX() == x && item.getY() == y) {
-                if (item.isCollectable()) {
-                    // Lógica de sumar puntos iría aquí o retornando el valor
-                    it.remove();
-                }
+            if (item.isCollectable()) {
+                // Lógica de sumar puntos iría aquí o retornando el valor
+                removeItem(it, item);
             }
         }
     }
 
     // Método para consultar obstáculos desde fuera (usado por Enemies)
+    @Override
     public boolean isObstacleAt(int x, int y) {
-        for (Item item : items) {
-            if (item.getX() == x && item.getY() == y) {
-                if (!item.isWalkable()) {
-                    return true;
-                }
+        for (Item item : itemsAt(x, y)) {
+            if (!item.isWalkable()) {
+                return true;
             }
         }
         return false;
     }
 
+    @Override
+    public int getObstacleVersion() {
+        return obstacleVersion;
+    }
+
+    // =============================================================
+    // HIELO (capa del tablero)
+    // =============================================================
+
     /**
      * Verifica si hay un bloque de hielo destructible en la posicion.
      * Usado para calcular la hilera antes de encolar.
      */
     public boolean hasDestructibleAt(int x, int y) {
-        for (Item item : items) {
-            if (item.getX() == x && item.getY() == y) {
-                if (item.isDestructible()) {
-                    return true;
-                }
-                if (!item.isWalkable()) {
-                    return false;
-                }
-            }
-        }
-        return false;
+        return boardCtrl.isIceAt(x, y);
+    }
+
+    public boolean isIceAt(int x, int y) {
+        return boardCtrl.isIceAt(x, y);
     }
 
     /**
-     * Rompe un bloque de hielo inmediatamente (usado por la cola dominó).
+     * Congela una celda. El hielo vive solo en la capa del tablero: crearlo
+     * es escribir un bit, sin objetos ni ids. No se crea sobre muros, hielo
+     * ni baldosas calientes (se derrite).
+     *
+     * @return true si se creo el bloque
      */
-    private void breakIceBlockImmediate(int x, int y) {
-        Iterator<Item> it = items.iterator();
-        while (it.hasNext()) {
-            Item item = it.next();
-            if (item.getX() == x && item.getY() == y) {
-                if (item.isDestructible()) {
-                    it.remove();
-                    item.onDestroy(items);
-                    return;
-                }
-            }
+    public boolean createIceBlock(int x, int y) {
+        if (boardCtrl.isHot(x, y)) {
+            return false;
         }
+        boolean cellsWereInSync = cellsInSync();
+        if (!boardCtrl.createIceBlock(x, y)) {
+            return false;
+        }
+        afterIceChange(x, y, cellsWereInSync);
+        return true;
     }
 
     /**
      * Intenta romper un bloque de hielo. Retorna true si habia hielo.
      * Retorna false si hay hueco o muro (detiene domino).
+     * Las fogatas de la celda se apagan.
      */
     public boolean breakIceBlock(int x, int y) {
-        Iterator<Item> it = items.iterator();
-        while (it.hasNext()) {
-            Item item = it.next();
-
-            if (item.getX() == x && item.getY() == y) {
-                if (item.isDestructible()) {
-                    it.remove();
-                    item.onDestroy(items);
-                    return true;
-                }
+        boolean cellsWereInSync = cellsInSync();
+        if (!boardCtrl.breakIceBlock(x, y)) {
+            return false;
+        }
+        afterIceChange(x, y, cellsWereInSync);
+        List<Item> cell = itemsAt(x, y);
+        for (int i = 0; i < cell.size(); i++) {
+            cell.get(i).onIceBrokenAbove(clock);
+        }
+        scheduleAll(cell);
+        return true;
+    }
 
-                if (!item.isWalkable()) {
-                    return false;
-                }
-            }
+    /**
+     * El hielo cambia la version del tablero; si las celdas libres estaban
+     * al dia basta reevaluar esta celda en vez de reconstruirlas.
+     */
+    private void afterIceChange(int x, int y, boolean cellsWereInSync) {
+        if (cellsWereInSync) {
+            cellsBoardVersion = boardCtrl.getVersion();
+            refreshCell(x, y);
         }
-        return false;
     }
 
-    // Método para condición de victoria
+    /**
+     * Reloj de items en microsegundos de juego. Los plazos de los items
+     * temporizados (Cactus, Fogata, Cereza) son instantes de este reloj.
+     */
+    public long getClock() {
+        return clock;
+    }
+
+    // Método para condición de victoria (contador incremental, no recorre los items)
     public int getFruitCount() {
-        int count = 0;
-        for (Item item : items) {
-            if (item.isFruit()) {
-                count++;
+        return fruits.getTotal();
+    }
+
+    /**
+     * Frutas en juego por tipo. Solo lectura fuera de domain.items.
+     */
+    public FruitCounter getFruitCounter() {
+        return fruits;
+    }
+
+    public java.util.Map<String, Integer> getRemainingFruitsByType() {
+        return fruits.toMap();
+    }
+
+    /**
+     * Copia los conteos de frutas en el contador recibido sin asignar memoria.
+     */
+    public void fillFruitCounter(FruitCounter out) {
+        out.copyFrom(fruits);
+    }
+
+    // =============================================================
+    // CELDAS LIBRES
+    // =============================================================
+
+    /**
+     * Elige al azar hasta count celdas distintas donde puede aparecer una
+     * fruta: caminables, fuera del borde y de las esquinas de los jugadores,
+     * y sin calor, fogata ni hielo. Cada eleccion consume un
+     * random.nextInt(celdas restantes) y toma esa celda en orden de filas.
+     *
+     * @return Posiciones {x, y} elegidas (menos de count si no alcanzan)
+     */
+    public List<int[]> pickSpawnPositions(int count, Random random) {
+        syncCells();
+        List<int[]> picked = new ArrayList<>();
+        for (int i = 0; i < count && !spawnCells.isEmpty(); i++) {
+            int cell = spawnCells.select(random.nextInt(spawnCells.size()));
+            spawnCells.remove(cell); // Sin repetir dentro de la misma tanda
+            picked.add(new int[] { cell % indexWidth, cell / indexWidth });
+        }
+        // Las frutas no bloquean la celda: vuelven al conjunto
+        for (int[] pos : picked) {
+            spawnCells.add(pos[1] * indexWidth + pos[0]);
+        }
+        return picked;
+    }
+
+    /**
+     * Celda al azar sin muro, hielo ni obstaculo (destino de la Cereza).
+     *
+     * @return Posicion {x, y}, o null si el tablero esta lleno
+     */
+    public int[] randomOpenPosition(Random random) {
+        syncCells();
+        if (openCells.isEmpty()) {
+            return null;
+        }
+        int cell = openCells.select(random.nextInt(openCells.size()));
+        return new int[] { cell % indexWidth, cell / indexWidth };
+    }
+
+    private void syncCells() {
+        syncIndexSize();
+        if (spawnCells == null || cellsDirty || cellsBoardVersion != boardCtrl.getVersion()) {
+            int cellCount = indexWidth * indexHeight;
+            if (spawnCells == null || spawnCells.getCapacity() != cellCount) {
+                spawnCells = new CellSet(cellCount);
+                openCells = new CellSet(cellCount);
             }
+            spawnCells.rebuild(cell -> isSpawnCell(cell % indexWidth, cell / indexWidth));
+            openCells.rebuild(cell -> isOpenCell(cell % indexWidth, cell / indexWidth));
+            cellsBoardVersion = boardCtrl.getVersion();
+            cellsDirty = false;
         }
-        return count;
     }
 
-    public java.util.Map<String, Integer> getRemainingFruitsByType() {
-        java.util.Map<String, Integer> counts = new java.util.HashMap<>();
-        for (Item item : items) {
-            if (item.isFruit()) {
-                counts.put(item.getType(), counts.getOrDefault(item.getType(), 0) + 1);
+    /**
+     * Reevalua una celda tras agregar, quitar o mover un item que la bloquea.
+     * Si los conjuntos estan desactualizados se reconstruyen en la proxima consulta.
+     */
+    private void refreshCell(int x, int y) {
+        if (!cellsInSync() || x < 0 || x >= indexWidth || y < 0 || y >= indexHeight) {
+            return;
+        }
+        int cell = y * indexWidth + x;
+        spawnCells.set(cell, isSpawnCell(x, y));
+        openCells.set(cell, isOpenCell(x, y));
+    }
+
+    private boolean cellsInSync() {
+        return spawnCells != null && !cellsDirty && cellsBoardVersion == boardCtrl.getVersion();
+    }
+
+    private boolean isOpenCell(int x, int y) {
+        return boardCtrl.isWalkable(x, y) && !isObstacleAt(x, y);
+    }
+
+    private boolean isSpawnCell(int x, int y) {
+        if (x < SPAWN_MARGIN || y < SPAWN_MARGIN
+                || x >= indexWidth - SPAWN_MARGIN || y >= indexHeight - SPAWN_MARGIN) {
+            return false;
+        }
+        // Esquinas donde aparecen los jugadores
+        if ((x <= SPAWN_MARGIN && y <= SPAWN_MARGIN)
+                || (x >= indexWidth - SPAWN_MARGIN - 1 && y >= indexHeight - SPAWN_MARGIN - 1)) {
+            return false;
+        }
+        if (!boardCtrl.isWalkable(x, y)) {
+            return false;
+        }
+        for (Item item : itemsAt(x, y)) {
+            if (item.blocksFruitSpawn()) {
+                return false;
             }
         }
-        return counts;
+        return true;
+    }
+
+    // =============================================================
+    // TEMPORIZADORES
+    // =============================================================
+
+    private void syncWheel() {
+        if (wheel == null) {
+            wheel = new TimingWheel(clock);
+            woken = new ArrayList<>();
+            scheduleAll(items);
+        }
+    }
+
+    /**
+     * Reprograma los items tras un evento que pudo cambiar sus plazos.
+     */
+    private void scheduleAll(List<Item> changed) {
+        if (wheel == null) {
+            return; // Se programan todos al reconstruir la rueda
+        }
+        for (int i = 0; i < changed.size(); i++) {
+            Item item = changed.get(i);
+            wheel.schedule(item, item.getWakeTime());
+        }
+    }
+
+    /**
+     * Los items que cambian las celdas libres: los que bloquean el paso o la aparicion de frutas.
+     */
+    private static boolean affectsCells(Item item) {
+        return !item.isWalkable() || item.blocksFruitSpawn();
     }
 
     // Método para colisión con retorno de puntos (Si no lo tenías actualizado)
     public int collectItemAt(int x, int y) {
-        Iterator<Item> it = items.iterator();
+        Iterator<Item> it = itemsAt(x, y).iterator();
         while (it.hasNext()) {
             Item item = it.next();
-            if (item.getX() == x && item.getY() == y) {
-                if (item.isCollectable()) {
-                    int p = item.getScore();
-                    it.remove();
-                    return p;
-                }
-
+            if (item.isCollectable()) {
+                int p = item.getScore();
+                removeItem(it, item);
+                return p;
             }
         }
         return 0;
@@ -236,11 +511,9 @@ public class ItemController implements java.io.Serializable {
      * @return true si hay un cactus con púas que puede dañar al jugador
      */
     public boolean hasDangerousCactusAt(int x, int y) {
-        for (Item item : items) {
-            if (item.getX() == x && item.getY() == y) {
-                if (item.isDangerous()) {
-                    return true;
-                }
+        for (Item item : itemsAt(x, y)) {
+            if (item.isDangerous()) {
+                return true;
             }
         }
         return false;
@@ -251,13 +524,15 @@ public class ItemController implements java.io.Serializable {
      * Mueve todas las Piñas a una posición adyacente válida aleatoria.
      */
     public void onPlayerMove() {
-        // Necesitamos importar java.util.Random si no está
-        if (this.random == null)
-            this.random = new Random();
-
         // Recorremos todos los items. Cada ítem decide si se mueve o hace algo.
+        // Si cambió de celda (Piña, Cereza), se reubica en el índice espacial.
         for (Item item : items) {
+            int oldX = item.getX();
+            int oldY = item.getY();
             item.onPlayerMove(boardCtrl, this);
+            if (item.getX() != oldX || item.getY() != oldY) {
+                reindex(item, oldX, oldY);
+            }
         }
     }
 
@@ -269,14 +544,223 @@ public class ItemController implements java.io.Serializable {
         for (Item i : items) {
             info.add(new EntityInfo(i.getId(), i.getX(), i.getY(), i.getType(), i.isDestructible()));
         }
+        EntityBuffer ice = new EntityBuffer(); // Buffer nuevo: sus entradas no se reutilizan
+        boardCtrl.fillIceInfo(ice);
+        info.addAll(ice);
         return info;
     }
 
+    /**
+     * Version sin asignaciones de getItemInfo: agrega los items al buffer recibido.
+     */
+    public void fillItemInfo(EntityBuffer out) {
+        for (int k = 0; k < items.size(); k++) {
+            Item i = items.get(k);
+            out.append(i.getId(), i.getX(), i.getY(), i.getType(), i.isDestructible());
+        }
+        boardCtrl.fillIceInfo(out); // El hielo encima de los items de su celda
+    }
+
+    /**
+     * Agrega solo las frutas al buffer recibido (contexto de los bots).
+     */
+    public void fillFruitInfo(EntityBuffer out) {
+        for (int k = 0; k < items.size(); k++) {
+            Item i = items.get(k);
+            if (i.isFruit()) {
+                out.append(i.getId(), i.getX(), i.getY(), i.getType(), false);
+            }
+        }
+    }
+
     /**
      * Elimina todos los items (Frutas y Obstáculos) del mapa.
      */
     public void reset() {
         items.clear();
+        wheel = null;
+        fruits.clear();
+        obstacleVersion++;
+        rebuildIndex();
+    }
+
+    // =============================================================
+    // PERSISTENCIA
+    // =============================================================
+
+    /**
+     * Escribe los items (tipo de creacion, id, posicion y estado propio)
+     * y las hileras domino en curso. Debe escribirse despues del tablero.
+     */
+    public void writeState(StateWriter out) {
+        out.writeInt(items.size());
+        for (Item item : items) {
+            out.writeString(item.getSaveType());
+            out.writeString(item.getId());
+            out.writeInt(item.getX());
+            out.writeInt(item.getY());
+            item.writeState(out);
+        }
+        out.writeInt(chainCount);
+        for (int i = 0; i < chainCount; i++) {
+            chains[(chainHead + i) % chains.length].writeState(out);
+        }
+        out.writeLong(clock);
+    }
+
+    /**
+     * Restaura los items escritos por writeState. El tablero ya debe estar
+     * cargado para que el indice espacial tome sus dimensiones.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        reset();
+        int count = in.readCount(16);
+        for (int i = 0; i < count; i++) {
+            String type = in.readString();
+            String id = in.readString();
+            int x = in.readInt();
+            int y = in.readInt();
+            Item item = Fruit.create(type, id, x, y);
+            if (item == null) {
+                item = Obstacle.create(type, id, x, y);
+            }
+            if (item == null) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            item.readState(in);
+            addItem(item);
+        }
+        clearChains();
+        int chainTotal = in.readCount(9);
+        for (int i = 0; i < chainTotal; i++) {
+            addChain(DominoChain.readState(in));
+        }
+        clock = in.readLong();
     }
 
+    // =============================================================
+    // ÍNDICE ESPACIAL
+    // =============================================================
+
+    /**
+     * Retorna los items de una celda en orden de creacion.
+     * Fuera del tablero retorna una lista vacia.
+     */
+    private List<Item> itemsAt(int x, int y) {
+        syncIndexSize();
+        if (x < 0 || x >= indexWidth || y < 0 || y >= indexHeight) {
+            return NO_ITEMS;
+        }
+        List<Item> cell = cellIndex[y * indexWidth + x];
+        return (cell != null) ? cell : NO_ITEMS;
+    }
+
+    private void addItem(Item item) {
+        syncIndexSize();
+        item.slot = items.size();
+        items.add(item);
+        indexItem(item);
+        if (item.isFruit()) {
+            fruits.add(item);
+        }
+        if (affectsCells(item)) {
+            refreshCell(item.getX(), item.getY());
+        }
+        if (!item.isWalkable()) {
+            obstacleVersion++;
+        }
+        // Las baldosas calientes no se mueven ni se destruyen: basta marcarlas al crearlas
+        if (item.isHot()) {
+            boardCtrl.setHot(item.getX(), item.getY(), true);
+        }
+        if (wheel != null) {
+            wheel.schedule(item, item.getWakeTime());
+        }
+    }
+
+    /**
+     * Quita un item de su celda (via el iterador de la celda) y de la lista
+     * general en O(1): el ultimo item de la lista ocupa su lugar.
+     */
+    private void removeItem(Iterator<Item> cellIterator, Item item) {
+        cellIterator.remove();
+        Item last = items.remove(items.size() - 1);
+        if (last != item) {
+            items.set(item.slot, last);
+            last.slot = item.slot;
+        }
+        item.slot = -1;
+        TimingWheel.cancel(item);
+        if (item.isFruit()) {
+            fruits.remove(item);
+        }
+        if (!item.isWalkable()) {
+            obstacleVersion++;
+        }
+        if (affectsCells(item)) {
+            refreshCell(item.getX(), item.getY());
+        }
+    }
+
+    private void indexItem(Item item) {
+        int x = item.getX();
+        int y = item.getY();
+        if (x < 0 || x >= indexWidth || y < 0 || y >= indexHeight) {
+            return;
+        }
+        int slot = y * indexWidth + x;
+        if (cellIndex[slot] == null) {
+            cellIndex[slot] = new ArrayList<>(2);
+        }
+        cellIndex[slot].add(item);
+    }
+
+    private void reindex(Item item, int oldX, int oldY) {
+        if (!item.isWalkable()) {
+            obstacleVersion++;
+        }
+        if (syncIndexSize()) {
+            return; // Reconstruido: ya quedó en su nueva celda
+        }
+        if (oldX >= 0 && oldX < indexWidth && oldY >= 0 && oldY < indexHeight) {
+            List<Item> cell = cellIndex[oldY * indexWidth + oldX];
+            if (cell != null) {
+                cell.remove(item);
+            }
+        }
+        indexItem(item);
+        if (affectsCells(item)) {
+            refreshCell(oldX, oldY);
+            refreshCell(item.getX(), item.getY());
+        }
+    }
+
+    /**
+     * El tablero se redimensiona al cargar cada nivel; si cambió de tamaño
+     * el índice se reconstruye a partir de la lista de items.
+     */
+    private boolean syncIndexSize() {
+        if (cellIndex == null || indexWidth != boardCtrl.getWidth() || indexHeight != boardCtrl.getHeight()) {
+            rebuildIndex();
+            return true;
+        }
+        return false;
+    }
+
+    private void rebuildIndex() {
+        this.indexWidth = boardCtrl.getWidth();
+        this.indexHeight = boardCtrl.getHeight();
+        this.cellIndex = newCellIndex(indexWidth * indexHeight);
+        for (Item item : items) {
+            indexItem(item);
+        }
+        cellsDirty = true;
+    }
+
+    // Java no crea arreglos de un tipo generico; el cast es seguro porque
+    // el arreglo nunca sale de esta clase
+    @SuppressWarnings("unchecked")
+    private static List<Item>[] newCellIndex(int size) {
+        return (List<Item>[]) new List<?>[size];
+    }
 }
\ No newline at end of file
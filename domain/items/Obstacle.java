@@ -6,7 +6,6 @@ package domain.items;
  * 
  * <p>Tipos de obstaculos disponibles:</p>
  * <ul>
- *   <li>IceBlock - Bloque de hielo destructible</li>
  *   <li>Campfire (Fogata) - Causa muerte al tocarlo cuando esta encendida</li>
  *   <li>HotTile (Baldosa Caliente) - Derrite bloques de hielo sobre ella</li>
  * </ul>
@@ -14,7 +13,7 @@ package domain.items;
  * @author Diego Montes y Juan David Valero
  * @version 1.0
  * @see Item
- * @see IceBlock
+ * @see domain.board.BoardController#isIceAt(int, int)
  * @see Campfire
  * @see HotTile
  */
@@ -37,8 +36,6 @@ public abstract class Obstacle extends Item {
             return null;
 
         switch (type.toUpperCase()) {
-            case "ICE_BLOCK":
-                return new IceBlock(id, x, y);
             case "CAMPFIRE":
                 return new Campfire(id, x, y);
             case "HOT_TILE":
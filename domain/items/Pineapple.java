@@ -1,7 +1,6 @@
 package domain.items;
 
 import domain.board.BoardController;
-import java.util.Random;
 
 /**
  * Fruta Piña que se mueve aleatoriamente cuando el jugador se mueve.
@@ -19,23 +18,14 @@ import java.util.Random;
  */
 public class Pineapple extends Fruit {
 
-    private Random random;
-
     public Pineapple(String id, int x, int y) {
         // La piña otorga 200 puntos
         super(id, x, y, 200);
-        this.random = new Random();
-    }
-
-    @Override
-    public void update(float dt) {
-        // La piña no se mueve por tiempo (dt), sino por turnos/eventos del jugador.
-        // Por eso este método se queda vacío.
     }
 
     @Override
     public void onPlayerMove(BoardController board, ItemController itemCtrl) {
-        int startDir = random.nextInt(4);
+        int startDir = itemCtrl.getRandom().nextInt(4); // Generador de la partida
         int[] dx = { 0, 0, -1, 1 }; // Arriba, Abajo, Izq, Der
         int[] dy = { -1, 1, 0, 0 };
 
@@ -0,0 +1,173 @@
+package domain.items;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de temporizadores jerarquica para los items que cambian solos con
+ * el tiempo (Cactus, Fogata). Cada item programa su proximo despertar y la
+ * rueda lo entrega cuando el reloj lo alcanza: el costo por tick es el de
+ * los despertares que vencen, no el de todos los items del mapa.
+ *
+ * <p>El reloj (microsegundos de juego, ver ItemController#getClock) avanza en
+ * casillas de TICK_MICROS. Hay LEVELS niveles de SLOTS casillas: el nivel 0
+ * cubre los proximos 64 ticks de rueda, el 1 los proximos 64^2, etc. Al
+ * completar una vuelta de un nivel, la casilla siguiente del nivel superior
+ * se reparte en los inferiores (cascada).</p>
+ *
+ * <p>Un item tiene a lo sumo un temporizador vigente (Item.timer). Cancelar
+ * o reprogramar solo cambia esa referencia; la entrada vieja se descarta al
+ * salir de su casilla. Los temporizadores no se guardan: ItemController
+ * reconstruye la rueda con Item.getWakeTime.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see ItemController
+ * @see Item#getWakeTime()
+ */
+class TimingWheel {
+
+    /** Ancho de una casilla de la rueda (10 ms) */
+    static final long TICK_MICROS = 10_000;
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int LEVELS = 4;
+
+    /**
+     * Entrada de la rueda: un despertar programado de un item.
+     */
+    static final class Timer {
+        final Item item;
+        final long deadline; // Instante del reloj en microsegundos
+        Timer next;
+
+        Timer(Item item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+
+    private final Timer[][] wheel = new Timer[LEVELS][SLOTS];
+    private List<Timer> pending = new ArrayList<>(); // Vencen en la casilla actual o ya vencieron
+    private List<Timer> carried = new ArrayList<>(); // Pendientes del avance anterior
+    private long current; // Ultima casilla procesada
+
+    TimingWheel(long now) {
+        this.current = Math.floorDiv(now, TICK_MICROS);
+    }
+
+    /**
+     * Convierte segundos de juego a microsegundos del reloj de items.
+     */
+    static long micros(float seconds) {
+        return Math.round(seconds * 1_000_000.0);
+    }
+
+    /**
+     * Programa el despertar del item en deadline, reemplazando el anterior.
+     * Con Item.NO_WAKE solo lo cancela.
+     */
+    void schedule(Item item, long deadline) {
+        if (deadline == Item.NO_WAKE) {
+            item.timer = null;
+            return;
+        }
+        if (item.timer != null && item.timer.deadline == deadline) {
+            return; // Ya esta programado
+        }
+        Timer timer = new Timer(item, deadline);
+        item.timer = timer;
+        insert(timer);
+    }
+
+    /**
+     * Cancela el despertar pendiente del item, si lo hay.
+     */
+    static void cancel(Item item) {
+        item.timer = null;
+    }
+
+    /**
+     * Avanza la rueda hasta now y agrega a out los items cuyo despertar
+     * vencio, en orden de vencimiento por casilla. Sus temporizadores quedan
+     * consumidos: el llamador debe reprogramarlos.
+     */
+    void advance(long now, List<Item> out) {
+        if (!pending.isEmpty()) {
+            List<Timer> swap = carried;
+            carried = pending;
+            pending = swap;
+            for (int i = 0; i < carried.size(); i++) {
+                fire(carried.get(i), now, out);
+            }
+            carried.clear();
+        }
+        long target = Math.floorDiv(now, TICK_MICROS);
+        while (current < target) {
+            current++;
+            // Primero los niveles altos, para que su cascada caiga en los bajos
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((current & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((current >>> (BITS * level)) & (SLOTS - 1)), now, out);
+                }
+            }
+            int slot = (int) (current & (SLOTS - 1));
+            Timer timer = wheel[0][slot];
+            wheel[0][slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                fire(timer, now, out);
+                timer = next;
+            }
+        }
+    }
+
+    // Entrega el item si el temporizador sigue vigente y vencio;
+    // si vence mas adelante en esta misma casilla, queda pendiente
+    private void fire(Timer timer, long now, List<Item> out) {
+        if (timer.item.timer != timer) {
+            return; // Cancelado o reprogramado
+        }
+        if (timer.deadline <= now) {
+            timer.item.timer = null;
+            out.add(timer.item);
+        } else {
+            pending.add(timer);
+        }
+    }
+
+    // Reparte una casilla en los niveles inferiores; lo que vence en la
+    // casilla actual se entrega ya, no en el proximo avance
+    private void cascade(int level, int slot, long now, List<Item> out) {
+        Timer timer = wheel[level][slot];
+        wheel[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            if (Math.floorDiv(timer.deadline, TICK_MICROS) <= current) {
+                fire(timer, now, out);
+            } else if (timer.item.timer == timer) {
+                insert(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void insert(Timer timer) {
+        long due = Math.floorDiv(timer.deadline, TICK_MICROS);
+        long delta = due - current;
+        if (delta <= 0) {
+            timer.next = null;
+            pending.add(timer);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) {
+            level++;
+        }
+        // Mas alla del ultimo nivel: vuelve a repartirse en cada vuelta
+        int slot = (int) ((due >>> (BITS * level)) & (SLOTS - 1));
+        timer.next = wheel[level][slot];
+        wheel[level][slot] = timer;
+    }
+}
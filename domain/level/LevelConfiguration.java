@@ -1,5 +1,8 @@
 package domain.level;
 
+import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -250,6 +253,118 @@ public class LevelConfiguration implements java.io.Serializable {
         return getTotalFruits() > 0 || getTotalEnemies() > 0;
     }
 
+    // ==================== PERSISTENCIA ====================
+
+    // Etiquetas de los parametros personalizados en el formato de partida
+    private static final int PARAM_STRING = 0;
+    private static final int PARAM_INTEGER = 1;
+    private static final int PARAM_BOOLEAN = 2;
+    private static final int PARAM_DOUBLE = 3;
+
+    /**
+     * Escribe las tres tablas de cantidades y los parametros personalizados.
+     * De los parametros solo se guardan textos, enteros, booleanos y numeros
+     * decimales; los de otro tipo se omiten.
+     */
+    public void writeState(StateWriter out) {
+        writeCounts(out, fruitConfig);
+        writeCounts(out, enemyConfig);
+        writeCounts(out, obstacleConfig);
+
+        int supported = 0;
+        for (Object value : customParameters.values()) {
+            if (parameterTag(value) >= 0) {
+                supported++;
+            }
+        }
+        out.writeInt(supported);
+        for (Map.Entry<String, Object> entry : customParameters.entrySet()) {
+            Object value = entry.getValue();
+            int tag = parameterTag(value);
+            if (tag < 0) {
+                continue;
+            }
+            out.writeString(entry.getKey());
+            out.writeByte(tag);
+            switch (tag) {
+                case PARAM_STRING:
+                    out.writeString((String) value);
+                    break;
+                case PARAM_INTEGER:
+                    out.writeInt((Integer) value);
+                    break;
+                case PARAM_BOOLEAN:
+                    out.writeBoolean((Boolean) value);
+                    break;
+                default:
+                    out.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Restaura la configuracion escrita por writeState.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        fruitConfig = readCounts(in);
+        enemyConfig = readCounts(in);
+        obstacleConfig = readCounts(in);
+
+        customParameters = new HashMap<>();
+        int count = in.readCount(5);
+        for (int i = 0; i < count; i++) {
+            String key = in.readString();
+            int tag = in.readByte();
+            switch (tag) {
+                case PARAM_STRING:
+                    customParameters.put(key, in.readString());
+                    break;
+                case PARAM_INTEGER:
+                    customParameters.put(key, in.readInt());
+                    break;
+                case PARAM_BOOLEAN:
+                    customParameters.put(key, in.readBoolean());
+                    break;
+                case PARAM_DOUBLE:
+                    customParameters.put(key, Double.longBitsToDouble(in.readLong()));
+                    break;
+                default:
+                    throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+        }
+    }
+
+    private static int parameterTag(Object value) {
+        if (value instanceof String)
+            return PARAM_STRING;
+        if (value instanceof Integer)
+            return PARAM_INTEGER;
+        if (value instanceof Boolean)
+            return PARAM_BOOLEAN;
+        if (value instanceof Double || value instanceof Float)
+            return PARAM_DOUBLE;
+        return -1;
+    }
+
+    private static void writeCounts(StateWriter out, Map<String, Integer> counts) {
+        out.writeInt(counts.size());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    private static Map<String, Integer> readCounts(StateReader in) throws BadOpoException {
+        int size = in.readCount(8);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = in.readString();
+            counts.put(key, in.readInt());
+        }
+        return counts;
+    }
+
     @Override
     public String toString() {
         return String.format("LevelConfig[Frutas: %d, Enemigos: %d, Obstáculos: %d]",
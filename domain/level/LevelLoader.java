@@ -5,6 +5,8 @@ import domain.enemies.EnemyController;
 import domain.items.ItemController;
 import domain.players.PlayerController;
 import domain.shared.BadOpoException;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import java.util.Random;
 import java.util.List;
 import java.util.ArrayList;
@@ -54,6 +56,44 @@ public class LevelLoader implements java.io.Serializable {
         this.config = config;
     }
 
+    /**
+     * Configuracion con la que se cargara el siguiente nivel (null = por defecto).
+     */
+    public LevelConfiguration getConfiguration() {
+        return config;
+    }
+
+    /**
+     * Reemplaza el generador aleatorio usado para elegir posiciones de spawn.
+     * Permite reproducir partidas a partir de una semilla.
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Escribe la configuracion del nivel en curso (se usa en las oleadas siguientes).
+     */
+    public void writeState(StateWriter out) {
+        out.writeBoolean(config != null);
+        if (config != null) {
+            config.writeState(out);
+        }
+    }
+
+    /**
+     * Restaura la configuracion escrita por writeState.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        if (in.readBoolean()) {
+            LevelConfiguration loaded = new LevelConfiguration();
+            loaded.readState(in);
+            this.config = loaded;
+        } else {
+            this.config = null;
+        }
+    }
+
     /**
      * Parsea un mapa de texto y puebla los controladores.
      * 
@@ -124,7 +164,7 @@ public class LevelLoader implements java.io.Serializable {
 
             // --- OBSTÁCULOS ---
             case 'I':
-                items.spawnObstacle("ICE_BLOCK", "obs_" + id, x, y);
+                board.placeIce(x, y); // Ya formado, sin animacion
                 break;
             case 'C':
                 items.spawnObstacle("CAMPFIRE", "obs_" + id, x, y);
@@ -213,12 +253,12 @@ public class LevelLoader implements java.io.Serializable {
         String fruitType = activeFruits.get(waveIndex);
         int count = config.getFruitCount(fruitType);
 
-        // Obtener posiciones válidas (evitando items de calor)
-        List<int[]> validPositions = getValidSpawnPositions(board, items);
+        // Posiciones válidas (evitando items de calor) del índice de celdas libres
+        List<int[]> positions = items.pickSpawnPositions(count, random);
 
         // Spawn todas las frutas de este tipo
-        for (int i = 0; i < count && !validPositions.isEmpty(); i++) {
-            int[] pos = getRandomPosition(validPositions);
+        for (int i = 0; i < positions.size(); i++) {
+            int[] pos = positions.get(i);
             String id = "wave" + waveIndex + "_" + fruitType + "_" + i;
             items.spawnFruit(fruitType, id, pos[0], pos[1]);
         }
@@ -237,64 +277,6 @@ public class LevelLoader implements java.io.Serializable {
         return currentWave < activeFruits.size();
     }
 
-    /**
-     * Obtiene todas las posiciones válidas para spawn de frutas.
-     * Las frutas NO pueden aparecer sobre:
-     * - Items de calor (CAMPFIRE o HOT_TILE)
-     * - Bloques de hielo iniciales (ICE_BLOCK)
-     * Las frutas pueden quedar DEBAJO de hielo creado por el jugador durante el
-     * juego.
-     */
-    private List<int[]> getValidSpawnPositions(BoardController board, ItemController items) {
-        List<int[]> positions = new ArrayList<>();
-        int width = board.getWidth();
-        int height = board.getHeight();
-
-        // Evitar bordes y posiciones iniciales de jugadores
-        for (int y = 2; y < height - 2; y++) {
-            for (int x = 2; x < width - 2; x++) {
-                // Evitar esquinas donde spawneam jugadores
-                if ((x <= 2 && y <= 2) || (x >= width - 3 && y >= height - 3)) {
-                    continue;
-                }
-
-                // Verificar que la celda sea caminable
-                if (!board.isWalkable(x, y)) {
-                    continue;
-                }
-
-                // Verificar que NO haya items de calor u obstáculos en esta posición
-                if (hasBlockingItemAt(x, y, items)) {
-                    continue;
-                }
-
-                // La posición es válida
-                positions.add(new int[] { x, y });
-            }
-        }
-
-        return positions;
-    }
-
-    /**
-     * Verifica si hay un item que bloquea el spawn de frutas en la posición dada.
-     * Incluye: CAMPFIRE, HOT_TILE, ICE_BLOCK (bloques de hielo iniciales)
-     */
-    private boolean hasBlockingItemAt(int x, int y, ItemController itemCtrl) {
-        List<domain.items.Item> allItems = itemCtrl.getItems();
-        for (domain.items.Item item : allItems) {
-            if (item.getX() == x && item.getY() == y) {
-                String type = item.getType();
-                // Verificar si es un item que bloquea spawn de frutas
-                if ("HOT_TILE".equals(type) || "CAMPFIRE".equals(type) ||
-                        "CAMPFIRE_OFF".equals(type) || "ICE".equals(type) || "ICE_BLOCK".equals(type)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     /**
      * Obtiene posiciones válidas simples (para enemigos y obstáculos)
      * sin verificar items de calor.
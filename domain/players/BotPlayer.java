@@ -1,8 +1,13 @@
 package domain.players;
 
+import domain.board.DistanceField;
+import domain.board.PathFinder;
 import domain.shared.ActionType;
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
 import domain.shared.EntityInfo;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import java.util.List;
 import java.util.Random;
 
@@ -16,6 +21,7 @@ import java.util.Random;
  *   <li>Sistema de temporizador para controlar frecuencia de movimiento</li>
  *   <li>Metodos para encontrar entidades cercanas</li>
  *   <li>Algoritmos de direccion hacia/alejandose de objetivos</li>
+ *   <li>Caminos mas cortos reales (PathFinder) rodeando muros y hielo</li>
  *   <li>Seleccion aleatoria de direcciones validas</li>
  * </ul>
  * 
@@ -37,7 +43,11 @@ public abstract class BotPlayer extends IceCream {
 
     protected float moveTimer;
     protected static final float MOVE_INTERVAL = 0.25f;
+    // Mismo orden que el arreglo canMove: UP, DOWN, LEFT, RIGHT
+    private static final Direction[] MOVE_ORDER = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
     protected Random random;
+    // Compartido por los bots de la partida; null = solo direccion directa
+    protected PathFinder pathFinder;
 
     public BotPlayer(String id, int x, int y, IceCreamFlavor flavor, PlayerType type) {
         super(id, x, y, flavor, type);
@@ -50,6 +60,20 @@ public abstract class BotPlayer extends IceCream {
         return true;
     }
 
+    /**
+     * Reemplaza el generador aleatorio del bot (para partidas con semilla).
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Asigna el servicio de caminos con el que el bot rodea obstaculos.
+     */
+    public void setPathFinder(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
+
     /**
      * Decide la direccion de movimiento basada en el contexto.
      */
@@ -83,9 +107,9 @@ public abstract class BotPlayer extends IceCream {
 
     protected EntityInfo findNearest(List<EntityInfo> items) {
         EntityInfo nearest = null;
-        double minDist = Double.MAX_VALUE;
+        int minDist = Integer.MAX_VALUE;
         for (EntityInfo e : items) {
-            double dist = Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2);
+            int dist = distanceSquared(e);
             if (dist < minDist) {
                 minDist = dist;
                 nearest = e;
@@ -94,6 +118,52 @@ public abstract class BotPlayer extends IceCream {
         return nearest;
     }
 
+    /**
+     * Distancia euclidiana al cuadrado hasta la entidad (sin raices ni potencias).
+     */
+    protected int distanceSquared(EntityInfo e) {
+        int dx = e.x - getX();
+        int dy = e.y - getY();
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Primer paso del camino mas corto hacia el objetivo alcanzable mas cercano.
+     * Si no hay PathFinder o ningun objetivo es alcanzable, se dirige en linea
+     * recta al mas cercano (getDirectionTowards).
+     * 
+     * @return Direccion a tomar, o NONE si la lista esta vacia
+     */
+    protected Direction getPathTowards(List<EntityInfo> targets, boolean[] canMove) {
+        if (pathFinder != null) {
+            Direction dir = pathFinder.distanceFrom(targets).stepTowards(getX(), getY());
+            if (dir != Direction.NONE && canMove[dir.ordinal()]) {
+                return dir;
+            }
+        }
+        EntityInfo nearest = findNearest(targets);
+        if (nearest == null) {
+            return Direction.NONE;
+        }
+        return getDirectionTowards(nearest.x, nearest.y, canMove);
+    }
+
+    /**
+     * Paso que mas aleja al bot (en pasos reales) de todas las amenazas.
+     * Si no hay PathFinder o ningun vecino mejora la distancia, huye
+     * en linea recta de la amenaza indicada (getDirectionAwayFrom).
+     */
+    protected Direction getPathAwayFrom(List<EntityInfo> threats, EntityInfo nearest, boolean[] canMove) {
+        if (pathFinder != null) {
+            DistanceField field = pathFinder.distanceFrom(threats);
+            Direction dir = field.stepAway(getX(), getY());
+            if (dir != Direction.NONE && canMove[dir.ordinal()]) {
+                return dir;
+            }
+        }
+        return getDirectionAwayFrom(nearest.x, nearest.y, canMove);
+    }
+
     protected Direction getDirectionTowards(int targetX, int targetY, boolean[] canMove) {
         int dx = targetX - getX();
         int dy = targetY - getY();
@@ -164,16 +234,27 @@ public abstract class BotPlayer extends IceCream {
     }
 
     protected Direction getRandomValidDirection(boolean[] canMove) {
-        Direction[] dirs = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
         for (int i = 0; i < 10; i++) {
             int idx = random.nextInt(4);
             if (canMove[idx])
-                return dirs[idx];
+                return MOVE_ORDER[idx];
         }
         for (int i = 0; i < 4; i++) {
             if (canMove[i])
-                return dirs[i];
+                return MOVE_ORDER[i];
         }
         return Direction.NONE;
     }
+
+    @Override
+    public void writeState(StateWriter out) {
+        super.writeState(out);
+        out.writeFloat(moveTimer);
+    }
+
+    @Override
+    public void readState(StateReader in) throws BadOpoException {
+        super.readState(in);
+        moveTimer = in.readFloat();
+    }
 }
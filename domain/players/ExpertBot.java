@@ -67,19 +67,16 @@ public class ExpertBot extends BotPlayer {
             }
 
             // Huir
-            Direction runDir = getDirectionAwayFrom(nearestEnemy.x, nearestEnemy.y, canMove);
+            Direction runDir = getPathAwayFrom(enemies, nearestEnemy, canMove);
             if (runDir != Direction.NONE) {
                 return runDir;
             }
         }
 
         // 3. Buscar fruta
-        EntityInfo nearestFruit = findNearest(fruits);
-        if (nearestFruit != null) {
-            Direction dir = getDirectionTowards(nearestFruit.x, nearestFruit.y, canMove);
-            if (dir != Direction.NONE) {
-                return dir;
-            }
+        Direction fruitDir = getPathTowards(fruits, canMove);
+        if (fruitDir != Direction.NONE) {
+            return fruitDir;
         }
 
         // 4. Moverse al azar
@@ -93,9 +90,9 @@ public class ExpertBot extends BotPlayer {
 
     private EntityInfo findNearestEnemy(List<EntityInfo> enemies) {
         EntityInfo nearest = null;
-        double minDist = Double.MAX_VALUE;
+        int minDist = Integer.MAX_VALUE;
         for (EntityInfo e : enemies) {
-            double dist = Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2);
+            int dist = distanceSquared(e);
             if (dist < minDist) {
                 minDist = dist;
                 nearest = e;
@@ -105,8 +102,7 @@ public class ExpertBot extends BotPlayer {
     }
 
     private boolean isClose(EntityInfo e, int radius) {
-        double dist = Math.sqrt(Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2));
-        return dist <= radius;
+        return distanceSquared(e) <= radius * radius;
     }
 
     private boolean shouldPlaceIce(EntityInfo e) {
@@ -115,7 +111,7 @@ public class ExpertBot extends BotPlayer {
             return false;
         }
 
-        double dist = Math.sqrt(Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2));
+        double dist = Math.sqrt(distanceSquared(e));
 
         // Bloquear si esta a 2-3.5 casillas y alineado
         if (dist >= 2.0 && dist <= 3.5) {
@@ -45,8 +45,8 @@ public class FearfulBot extends BotPlayer {
                 return iceDirection;
             }
 
-            // Huir del enemigo
-            Direction runDir = getDirectionAwayFrom(nearest.x, nearest.y, canMove);
+            // Huir de los enemigos por el camino que mas se aleja
+            Direction runDir = getPathAwayFrom(enemies, nearest, canMove);
             if (runDir != Direction.NONE) {
                 return runDir;
             }
@@ -63,9 +63,9 @@ public class FearfulBot extends BotPlayer {
 
     private EntityInfo findNearestEnemy(List<EntityInfo> enemies) {
         EntityInfo nearest = null;
-        double minDist = Double.MAX_VALUE;
+        int minDist = Integer.MAX_VALUE;
         for (EntityInfo e : enemies) {
-            double dist = Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2);
+            int dist = distanceSquared(e);
             if (dist < minDist) {
                 minDist = dist;
                 nearest = e;
@@ -75,8 +75,7 @@ public class FearfulBot extends BotPlayer {
     }
 
     private boolean isClose(EntityInfo e, int radius) {
-        double dist = Math.sqrt(Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2));
-        return dist <= radius;
+        return distanceSquared(e) <= radius * radius;
     }
 
     private boolean shouldPlaceIce(EntityInfo e) {
@@ -85,7 +84,7 @@ public class FearfulBot extends BotPlayer {
             return false;
         }
 
-        double dist = Math.sqrt(Math.pow(e.x - getX(), 2) + Math.pow(e.y - getY(), 2));
+        double dist = Math.sqrt(distanceSquared(e));
 
         // El Calamar rompe hielo de 1 en 1. Vale solo si esta lejos
         if (e.type.equals("SQUID") && dist < 3.0) {
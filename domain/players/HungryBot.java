@@ -29,11 +29,9 @@ public class HungryBot extends BotPlayer {
 
     @Override
     public Direction decideMove(List<EntityInfo> fruits, List<EntityInfo> enemies, boolean[] canMove) {
-        // Buscar fruta mas cercana
-        EntityInfo nearest = findNearest(fruits);
-
-        if (nearest != null) {
-            return getDirectionTowards(nearest.x, nearest.y, canMove);
+        // Ir por el camino mas corto a la fruta mas cercana
+        if (!fruits.isEmpty()) {
+            return getPathTowards(fruits, canMove);
         }
 
         // Si no hay fruta, moverse al azar
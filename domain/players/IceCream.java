@@ -1,7 +1,10 @@
 package domain.players;
 
 import domain.shared.ActionType;
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 
 /**
  * Clase base que representa un jugador (helado) en el juego.
@@ -14,6 +17,7 @@ public class IceCream implements java.io.Serializable {
     private int x;
     private int y;
     private IceCreamFlavor flavor;
+    private transient String typeName;
     private PlayerType type;
     private Direction facingDirection;
     private int score;
@@ -179,7 +183,11 @@ public class IceCream implements java.io.Serializable {
      * @return String en formato "PLAYER_SABOR" (ej: "PLAYER_CHOCOLATE")
      */
     public String getType() {
-        return "PLAYER_" + flavor.name();
+        // Se calcula una sola vez: la vista lo consulta en cada frame
+        if (typeName == null) {
+            typeName = "PLAYER_" + flavor.name();
+        }
+        return typeName;
     }
 
     /**
@@ -215,4 +223,35 @@ public class IceCream implements java.io.Serializable {
     public ActionType getDesiredAction() {
         return ActionType.MOVE; // Por defecto
     }
+
+    // --- Persistencia ---
+
+    /**
+     * Escribe el estado variable del jugador. El id, la posicion, el sabor
+     * y el tipo los escribe PlayerController para poder recrearlo.
+     * 
+     * @param out Escritor de la partida
+     */
+    public void writeState(StateWriter out) {
+        out.writeEnum(facingDirection);
+        out.writeInt(score);
+        out.writeBoolean(isAlive);
+        out.writeString(playerName);
+    }
+
+    /**
+     * Restaura el estado escrito por writeState.
+     * 
+     * @param in Lector de la partida
+     * @throws BadOpoException si los datos son invalidos
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        Direction facing = in.readEnum(Direction.class);
+        if (facing != null) {
+            this.facingDirection = facing;
+        }
+        this.score = in.readInt();
+        this.isAlive = in.readBoolean();
+        this.playerName = in.readString();
+    }
 }
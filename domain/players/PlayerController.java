@@ -1,12 +1,16 @@
 package domain.players;
 
 import domain.board.BoardController;
+import domain.board.PathFinder;
 import domain.enemies.EnemyController;
 import domain.items.ItemController;
 import domain.shared.ActionType;
 import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.EntityBuffer;
 import domain.shared.EntityInfo;
+import domain.shared.StateReader;
+import domain.shared.StateWriter;
 import domain.shared.BadOpoLogger;
 
 import java.util.HashMap;
@@ -41,10 +45,24 @@ public class PlayerController implements java.io.Serializable {
     // Guardamos la configuración elegida por el usuario (Por defecto Vainilla)
     private IceCreamFlavor selectedFlavorP1 = IceCreamFlavor.VANILLA;
 
+    // Generador compartido por los bots de la partida (null = cada bot usa el suyo)
+    private java.util.Random random;
+
+    // Campos de distancia compartidos por todos los bots
+    private PathFinder pathFinder;
+
+    // Contexto de los bots reutilizado entre ticks (no se guarda con la partida)
+    private transient EntityBuffer fruitContext;
+    private transient EntityBuffer enemyContext;
+    private transient boolean[] validMoves;
+    // Copia de players.values() en el mismo orden, para recorrerla sin iteradores
+    private transient IceCream[] playerOrder;
+
     public PlayerController(BoardController boardCtrl, ItemController itemCtrl) {
         this.boardCtrl = boardCtrl;
         this.itemCtrl = itemCtrl;
         this.players = new HashMap<>();
+        this.pathFinder = new PathFinder(boardCtrl, itemCtrl);
     }
 
     /**
@@ -55,6 +73,13 @@ public class PlayerController implements java.io.Serializable {
         this.selectedFlavorP1 = flavor;
     }
 
+    /**
+     * Establece el generador aleatorio que usaran los bots creados despues.
+     */
+    public void setRandom(java.util.Random random) {
+        this.random = random;
+    }
+
     /**
      * Crea un jugador.
      * Si no se especifica sabor (null), usa el seleccionado globalmente.
@@ -65,23 +90,34 @@ public class PlayerController implements java.io.Serializable {
             // usamos el que el usuario eligió en el menú.
             IceCreamFlavor finalFlavor = (flavor != null) ? flavor : selectedFlavorP1;
 
-            IceCream player;
-            switch (type) {
-                case MACHINE_HUNGRY:
-                    player = new HungryBot(id, startX, startY, finalFlavor);
-                    break;
-                case MACHINE_FEARFUL:
-                    player = new FearfulBot(id, startX, startY, finalFlavor);
-                    break;
-                case MACHINE_EXPERT:
-                    player = new ExpertBot(id, startX, startY, finalFlavor);
-                    break;
-                default:
-                    player = new IceCream(id, startX, startY, finalFlavor, type);
-                    break;
-            }
-            players.put(id, player);
+            players.put(id, createPlayer(id, finalFlavor, type, startX, startY));
+            playerOrder = null;
+        }
+    }
+
+    /**
+     * Crea el jugador (o bot) segun su tipo y le entrega los recursos compartidos.
+     */
+    private IceCream createPlayer(String id, IceCreamFlavor flavor, PlayerType type, int x, int y) {
+        BotPlayer bot;
+        switch (type) {
+            case MACHINE_HUNGRY:
+                bot = new HungryBot(id, x, y, flavor);
+                break;
+            case MACHINE_FEARFUL:
+                bot = new FearfulBot(id, x, y, flavor);
+                break;
+            case MACHINE_EXPERT:
+                bot = new ExpertBot(id, x, y, flavor);
+                break;
+            default:
+                return new IceCream(id, x, y, flavor, type);
+        }
+        bot.setPathFinder(pathFinder);
+        if (random != null) {
+            bot.setRandom(random);
         }
+        return bot;
     }
 
     /**
@@ -114,13 +150,16 @@ public class PlayerController implements java.io.Serializable {
     /**
      * Actualiza la IA de los bots.
      * El Controller construye el contexto y el bot decide la accion.
+     * El contexto (frutas, enemigos, movimientos validos) se llena en buffers
+     * reutilizados y solo en los ticks en que algun bot puede moverse.
      */
     public void updateBots(float dt, EnemyController enemyCtrl) {
-        // Construir listas de contexto una sola vez
-        java.util.List<EntityInfo> fruits = getFruitInfoList();
-        java.util.List<EntityInfo> enemies = enemyCtrl.getEnemyInfo();
+        boolean contextReady = false;
 
-        for (IceCream p : players.values()) {
+        if (playerOrder == null) {
+            playerOrder = players.values().toArray(new IceCream[0]);
+        }
+        for (IceCream p : playerOrder) {
             // Sin instanceof: usamos polimorfismo
             if (!p.isBot())
                 continue;
@@ -130,11 +169,17 @@ public class PlayerController implements java.io.Serializable {
             if (!p.canBotMove())
                 continue;
 
+            // Construir listas de contexto una sola vez por tick
+            if (!contextReady) {
+                fillBotContext(enemyCtrl);
+                contextReady = true;
+            }
+
             // Calcular movimientos validos para este bot
             boolean[] canMove = getValidMoves(p.getX(), p.getY());
 
             // El bot decide (polimorfismo)
-            Direction dir = p.decideMove(fruits, enemies, canMove);
+            Direction dir = p.decideMove(fruitContext, enemyContext, canMove);
             ActionType action = p.getDesiredAction();
 
             // El Controller ejecuta
@@ -150,23 +195,30 @@ public class PlayerController implements java.io.Serializable {
         }
     }
 
-    private java.util.List<EntityInfo> getFruitInfoList() {
-        java.util.List<EntityInfo> list = new java.util.ArrayList<>();
-        for (domain.items.Item i : itemCtrl.getItems()) {
-            if (i.isFruit()) {
-                list.add(new EntityInfo(i.getId(), i.getX(), i.getY(), i.getType(), false));
-            }
+    private void fillBotContext(EnemyController enemyCtrl) {
+        if (fruitContext == null) {
+            fruitContext = new EntityBuffer();
+            enemyContext = new EntityBuffer();
         }
-        return list;
+        fruitContext.clear();
+        itemCtrl.fillFruitInfo(fruitContext);
+        enemyContext.clear();
+        enemyCtrl.fillEnemyInfo(enemyContext);
     }
 
+    /**
+     * Movimientos validos [UP, DOWN, LEFT, RIGHT] desde (x, y).
+     * Retorna siempre el mismo arreglo: el bot debe usarlo antes del siguiente llamado.
+     */
     private boolean[] getValidMoves(int x, int y) {
-        return new boolean[] {
-                boardCtrl.isWalkable(x, y - 1) && !itemCtrl.isObstacleAt(x, y - 1), // UP
-                boardCtrl.isWalkable(x, y + 1) && !itemCtrl.isObstacleAt(x, y + 1), // DOWN
-                boardCtrl.isWalkable(x - 1, y) && !itemCtrl.isObstacleAt(x - 1, y), // LEFT
-                boardCtrl.isWalkable(x + 1, y) && !itemCtrl.isObstacleAt(x + 1, y) // RIGHT
-        };
+        if (validMoves == null) {
+            validMoves = new boolean[4];
+        }
+        validMoves[0] = boardCtrl.isWalkable(x, y - 1) && !itemCtrl.isObstacleAt(x, y - 1); // UP
+        validMoves[1] = boardCtrl.isWalkable(x, y + 1) && !itemCtrl.isObstacleAt(x, y + 1); // DOWN
+        validMoves[2] = boardCtrl.isWalkable(x - 1, y) && !itemCtrl.isObstacleAt(x - 1, y); // LEFT
+        validMoves[3] = boardCtrl.isWalkable(x + 1, y) && !itemCtrl.isObstacleAt(x + 1, y); // RIGHT
+        return validMoves;
     }
 
     public void performAction(String playerId, ActionType action, Direction dir) throws BadOpoException {
@@ -208,7 +260,7 @@ public class PlayerController implements java.io.Serializable {
         int cx = p.getX() + dir.getDx();
         int cy = p.getY() + dir.getDy();
 
-        if (boardCtrl.isValidPosition(cx, cy) && itemCtrl.isObstacleAt(cx, cy)) {
+        if (itemCtrl.isIceAt(cx, cy) || itemCtrl.isObstacleAt(cx, cy)) {
             breakIceRow(p);
         } else {
             java.util.List<int[]> positions = new java.util.ArrayList<>();
@@ -350,5 +402,49 @@ public class PlayerController implements java.io.Serializable {
      */
     public void reset() {
         players.clear();
+        playerOrder = null;
+    }
+
+    /**
+     * Escribe el sabor seleccionado y cada jugador (id, posicion, sabor,
+     * tipo y estado propio).
+     */
+    public void writeState(StateWriter out) {
+        out.writeEnum(selectedFlavorP1);
+        out.writeInt(players.size());
+        for (IceCream p : players.values()) {
+            out.writeString(p.getId());
+            out.writeInt(p.getX());
+            out.writeInt(p.getY());
+            out.writeEnum(p.getFlavor());
+            out.writeEnum(p.getPlayerType());
+            p.writeState(out);
+        }
+    }
+
+    /**
+     * Restaura los jugadores escritos por writeState.
+     * Los bots se recrean con el PathFinder y el generador de este controlador.
+     */
+    public void readState(StateReader in) throws BadOpoException {
+        reset();
+        IceCreamFlavor flavor = in.readEnum(IceCreamFlavor.class);
+        if (flavor != null) {
+            selectedFlavorP1 = flavor;
+        }
+        int count = in.readCount(24);
+        for (int i = 0; i < count; i++) {
+            String id = in.readString();
+            int x = in.readInt();
+            int y = in.readInt();
+            IceCreamFlavor playerFlavor = in.readEnum(IceCreamFlavor.class);
+            PlayerType type = in.readEnum(PlayerType.class);
+            if (id == null || playerFlavor == null || type == null) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            IceCream player = createPlayer(id, playerFlavor, type, x, y);
+            player.readState(in);
+            players.put(id, player);
+        }
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ package domain.shared;
  * <ul>
  *   <li>CONFIG_ERROR - Error en la configuracion del nivel</li>
  *   <li>MOVE_ERROR - Movimiento ilegal detectado</li>
+ *   <li>SAVE_ERROR - Archivo de partida invalido o corrupto</li>
  * </ul>
  * 
  * @author Diego Montes y Juan David Valero
@@ -20,6 +21,8 @@ public class BadOpoException extends Exception {
     public static final String CONFIG_ERROR = "Error en configuracion de nivel";
     /** Codigo de error para movimientos no permitidos */
     public static final String MOVE_ERROR = "Movimiento ilegal detectado";
+    /** Codigo de error para archivos de partida que no se pueden leer */
+    public static final String SAVE_ERROR = "Archivo de partida invalido o corrupto";
 
     public BadOpoException(String message) {
         super(message);
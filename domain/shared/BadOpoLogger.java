@@ -1,20 +1,73 @@
 package domain.shared;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Logger personalizado para registrar errores y eventos del sistema.
  * Guarda los logs en un archivo de texto persistente.
+ *
+ * <p>Asincrono: log y logError solo encolan el mensaje en un buffer
+ * circular acotado y sin bloqueos, asi que se pueden llamar desde el hilo
+ * de simulacion en cada tick. Si el buffer esta lleno el mensaje se
+ * descarta (y se informa cuantos se perdieron) en lugar de esperar.</p>
+ *
+ * <p>Un hilo escritor vacia el buffer por lotes hacia un unico FileChannel
+ * abierto durante toda la ejecucion (y a la consola), rota el archivo al
+ * pasar de MAX_FILE_BYTES y agrupa los mensajes repetidos: la primera vez
+ * se escribe completo y las repeticiones dentro de REPEAT_WINDOW_MILLIS se
+ * resumen en una linea con la cantidad. Al cerrar la JVM se vacia lo
+ * pendiente.</p>
  */
 public class BadOpoLogger {
 
     private static final String LOG_FILE = "badopo_errors.log";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String SEPARATOR = "--------------------------------------------------";
+
+    // --- BUFFER (potencia de dos) ---
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    // --- ESCRITOR ---
+    private static final long IDLE_PARK_NANOS = 100_000_000L; // 100 ms entre lotes
+    private static final long MAX_FILE_BYTES = 5L * 1024 * 1024;
+    private static final int MAX_BACKUPS = 3; // badopo_errors.log.1 .. .3
+    private static final long REPEAT_WINDOW_MILLIS = 5_000;
+    private static final int MAX_TRACKED_MESSAGES = 256;
+
+    private static final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong tail = new AtomicLong(); // Siguiente posicion a reservar
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile long head; // Siguiente posicion a leer (solo la avanza el escritor)
+
+    private static final LogWriter writer = new LogWriter();
+    private static final Thread writerThread = new Thread(writer, "BadOpo-Logger");
+
+    static {
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(BadOpoLogger::flush, "BadOpo-Logger-Flush"));
+    }
 
     /**
      * Registra un mensaje informativo.
@@ -37,33 +90,223 @@ public class BadOpoLogger {
         writeLog("ERROR", error.getMessage(), error);
     }
 
+    /**
+     * Escribe todo lo encolado hasta ahora (incluidos los resumenes de
+     * repeticiones pendientes) y espera a que termine.
+     */
+    public static void flush() {
+        writer.drain(true);
+    }
+
+    /**
+     * Encola el mensaje sin bloquear: reserva una posicion con CAS sobre
+     * tail y publica la entrada en esa casilla.
+     */
     private static void writeLog(String level, String message, Throwable error) {
-        // Usamos try-with-resources para asegurar el cierre del archivo
-        try (FileWriter fw = new FileWriter(LOG_FILE, true);
-                BufferedWriter bw = new BufferedWriter(fw);
-                PrintWriter out = new PrintWriter(bw)) {
+        Entry entry = new Entry(System.currentTimeMillis(), level, message, error);
+        while (true) {
+            long position = tail.get();
+            if (position - head >= CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (tail.compareAndSet(position, position + 1)) {
+                slots.set((int) (position & MASK), entry);
+                // A media capacidad se despierta al escritor sin esperar su pausa
+                if (position - head == CAPACITY / 2) {
+                    LockSupport.unpark(writerThread);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mensaje encolado; se formatea en el hilo escritor.
+     */
+    private static final class Entry {
+        final long timeMillis;
+        final String level;
+        final String message;
+        final Throwable error;
+
+        Entry(long timeMillis, String level, String message, Throwable error) {
+            this.timeMillis = timeMillis;
+            this.level = level;
+            this.message = message;
+            this.error = error;
+        }
+    }
 
-            String timestamp = LocalDateTime.now().format(DATE_FORMAT);
-            String logMsg = String.format("[%s] [%s] %s", timestamp, level, message);
+    /**
+     * Repeticiones de un mismo mensaje dentro de la ventana actual.
+     */
+    private static final class Repeat {
+        final long windowStart;
+        final String level;
+        final String message;
+        int suppressed;
 
-            // Escribir en archivo
-            out.println(logMsg);
+        Repeat(long windowStart, String level, String message) {
+            this.windowStart = windowStart;
+            this.level = level;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Hilo escritor: vacia el buffer por lotes y es el unico que toca el archivo.
+     */
+    private static final class LogWriter implements Runnable {
 
-            if (error != null) {
-                error.printStackTrace(out);
+        private final Path path = Paths.get(LOG_FILE);
+        private final StringBuilder batch = new StringBuilder(4096);
+        private final Map<String, Repeat> repeats = new HashMap<>();
+        private FileChannel channel;
+        private long fileSize;
+        private boolean fileFailed;
+
+        @Override
+        public void run() {
+            while (true) {
+                // Mientras haya trabajo se sigue vaciando; si no, se duerme
+                if (!drain(false)) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Escribe las entradas publicadas. Sincronizado para que flush
+         * (otro hilo) y el ciclo del escritor no se mezclen.
+         *
+         * @param closeWindows true para resumir ya todas las repeticiones pendientes
+         * @return true si habia entradas en el buffer
+         */
+        synchronized boolean drain(boolean closeWindows) {
+            long now = System.currentTimeMillis();
+            long start = head;
+            long position = start;
+            while (true) {
+                int index = (int) (position & MASK);
+                Entry entry = slots.get(index);
+                if (entry == null) {
+                    break; // Vacio, o reservado pero aun no publicado
+                }
+                slots.set(index, null);
+                position++;
+                head = position;
+                append(entry);
+            }
+
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                appendLine(now, "WARN", lost + " mensajes descartados (buffer de log lleno)");
+            }
+            closeExpiredWindows(now, closeWindows);
+
+            if (batch.length() > 0) {
+                String text = batch.toString();
+                batch.setLength(0);
+                System.err.print(text);
+                System.err.flush();
+                writeToFile(text);
+            }
+            return position != start;
+        }
+
+        private void append(Entry entry) {
+            String key = entry.level + '|' + entry.message;
+            Repeat repeat = repeats.get(key);
+            if (repeat != null && entry.timeMillis - repeat.windowStart < REPEAT_WINDOW_MILLIS) {
+                repeat.suppressed++;
+                return;
+            }
+            if (repeat != null) {
+                summarize(repeat, entry.timeMillis);
+            }
+            if (repeats.size() >= MAX_TRACKED_MESSAGES) {
+                closeExpiredWindows(entry.timeMillis, true);
+            }
+            repeats.put(key, new Repeat(entry.timeMillis, entry.level, entry.message));
+
+            appendLine(entry.timeMillis, entry.level, entry.message);
+            if (entry.error != null) {
+                StringWriter trace = new StringWriter();
+                entry.error.printStackTrace(new PrintWriter(trace));
+                batch.append(trace);
+            }
+            batch.append(SEPARATOR).append(System.lineSeparator()); // Separador visual
+        }
+
+        private void closeExpiredWindows(long now, boolean all) {
+            Iterator<Repeat> it = repeats.values().iterator();
+            while (it.hasNext()) {
+                Repeat repeat = it.next();
+                if (all || now - repeat.windowStart >= REPEAT_WINDOW_MILLIS) {
+                    summarize(repeat, now);
+                    it.remove();
+                }
+            }
+        }
+
+        private void summarize(Repeat repeat, long now) {
+            if (repeat.suppressed > 0) {
+                appendLine(now, repeat.level, "(repetido " + repeat.suppressed + " veces) " + repeat.message);
+                repeat.suppressed = 0;
             }
+        }
 
-            out.println("--------------------------------------------------"); // Separador visual
+        private void appendLine(long timeMillis, String level, String message) {
+            String timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault())
+                    .format(DATE_FORMAT);
+            batch.append('[').append(timestamp).append("] [").append(level).append("] ")
+                    .append(message).append(System.lineSeparator());
+        }
 
-            // También mostrar en consola para depuración inmediata
-            System.err.println(logMsg);
-            if (error != null) {
-                error.printStackTrace();
+        private void writeToFile(String text) {
+            if (fileFailed) {
+                return;
             }
+            try {
+                if (channel == null) {
+                    openChannel();
+                } else if (fileSize >= MAX_FILE_BYTES) {
+                    rotate();
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    fileSize += channel.write(bytes);
+                }
+            } catch (IOException e) {
+                // No reintentar en cada lote: seguir solo por consola
+                fileFailed = true;
+                System.err.println("CRITICAL: No se pudo escribir en el archivo de log.");
+                e.printStackTrace();
+            }
+        }
 
-        } catch (IOException e) {
-            System.err.println("CRITICAL: No se pudo escribir en el archivo de log.");
-            e.printStackTrace();
+        private void openChannel() throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            fileSize = channel.size();
+        }
+
+        /**
+         * badopo_errors.log pasa a .1, .1 a .2, ... y el mas viejo se borra.
+         */
+        private void rotate() throws IOException {
+            channel.close();
+            channel = null;
+            Files.deleteIfExists(Paths.get(LOG_FILE + "." + MAX_BACKUPS));
+            for (int i = MAX_BACKUPS - 1; i >= 1; i--) {
+                Path older = Paths.get(LOG_FILE + "." + i);
+                if (Files.exists(older)) {
+                    Files.move(older, Paths.get(LOG_FILE + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, Paths.get(LOG_FILE + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            openChannel();
         }
     }
 }
@@ -58,8 +58,12 @@ public enum Direction {
         }
     }
 
-    public static Direction random() {
+    /**
+     * Direccion de movimiento al azar (sin NONE) tomada del generador de la
+     * partida, para que el resultado sea reproducible con la misma semilla.
+     */
+    public static Direction random(java.util.Random random) {
         Direction[] dirs = { UP, DOWN, LEFT, RIGHT };
-        return dirs[(int) (Math.random() * dirs.length)];
+        return dirs[random.nextInt(dirs.length)];
     }
 }
\ No newline at end of file
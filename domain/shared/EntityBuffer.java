@@ -0,0 +1,76 @@
+package domain.shared;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Lista reutilizable de EntityInfo para construir snapshots sin asignar memoria.
+ * Cada posicion conserva su EntityInfo entre usos: clear() solo reinicia el
+ * tamano y append() reescribe el siguiente objeto en lugar de crear uno nuevo.
+ * El arreglo interno solo crece, asi que tras unos frames el llenado
+ * deja de asignar por completo.
+ * 
+ * <p>Se expone como List de solo lectura para que bots y vista la recorran
+ * igual que antes.</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see EntityInfo
+ */
+public class EntityBuffer extends AbstractList<EntityInfo> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private EntityInfo[] slots;
+    private int size;
+
+    public EntityBuffer() {
+        this.slots = new EntityInfo[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Agrega una entidad reutilizando el objeto de la siguiente posicion.
+     */
+    public void append(String id, int x, int y, String type, boolean isDestructible) {
+        append(id, x, y, type, isDestructible, 1.0f);
+    }
+
+    /**
+     * Igual que append, con el progreso de animacion de la entidad.
+     */
+    public void append(String id, int x, int y, String type, boolean isDestructible, float progress) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        EntityInfo slot = slots[size];
+        if (slot == null) {
+            slot = new EntityInfo(id, x, y, type, isDestructible);
+            slots[size] = slot;
+        }
+        slot.set(id, x, y, type, isDestructible, progress);
+        size++;
+    }
+
+    /**
+     * Vacia el buffer sin liberar los objetos, que se reescriben en el siguiente llenado.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public EntityInfo get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return slots[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -11,24 +11,32 @@ package domain.shared;
  *   <li>Posicion (x, y) en el tablero</li>
  *   <li>Tipo de entidad (determina el sprite a usar)</li>
  *   <li>Si es destructible (para efectos visuales)</li>
+ *   <li>Progreso de su animacion de aparicion o desvanecimiento</li>
  * </ul>
  * 
+ * <p>Las instancias que entrega un {@link EntityBuffer} se reutilizan entre
+ * frames: sus campos se reescriben con {@link #set} en lugar de crear
+ * objetos nuevos. Quien las reciba no debe guardarlas mas alla del frame.</p>
+ * 
  * @author Diego Montes y Juan David Valero
  * @version 1.0
+ * @see EntityBuffer
  */
 public class EntityInfo implements java.io.Serializable {
     private static final long serialVersionUID = 1L;
     
     /** Identificador unico de la entidad */
-    public final String id;
+    public String id;
     /** Coordenada X en el tablero */
-    public final int x;
+    public int x;
     /** Coordenada Y en el tablero */
-    public final int y;
+    public int y;
     /** Tipo de entidad (ej: "TROLL", "BANANA", "PLAYER_VANILLA") */
-    public final String type;
+    public String type;
     /** Indica si la entidad puede ser destruida */
-    public final boolean isDestructible;
+    public boolean isDestructible;
+    /** Cuanto se ve la entidad: 1.0 quieta, menos mientras aparece o se desvanece (hielo) */
+    public float progress = 1.0f;
 
     public EntityInfo(String id, int x, int y, String type, boolean isDestructible) {
         this.id = id;
@@ -37,4 +45,24 @@ public class EntityInfo implements java.io.Serializable {
         this.type = type;
         this.isDestructible = isDestructible;
     }
+
+    /**
+     * Reescribe todos los campos de la entidad.
+     * Lo usan los buffers reutilizables para no crear un DTO por frame.
+     */
+    public void set(String id, int x, int y, String type, boolean isDestructible) {
+        set(id, x, y, type, isDestructible, 1.0f);
+    }
+
+    /**
+     * Reescribe todos los campos, incluido el progreso de animacion.
+     */
+    public void set(String id, int x, int y, String type, boolean isDestructible, float progress) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.type = type;
+        this.isDestructible = isDestructible;
+        this.progress = progress;
+    }
 }
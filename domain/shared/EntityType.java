@@ -7,7 +7,6 @@ package domain.shared;
  * @author Diego Montes y Juan David Valero
  * @version 1.0
  * @see domain.board.BoardController
- * @see domain.board.Cell
  */
 public enum EntityType {
     /** Personajes jugadores (helados) */
@@ -0,0 +1,59 @@
+package domain.shared;
+
+/**
+ * Generador aleatorio de una partida cuyo estado se puede leer y restaurar,
+ * para guardarlo con la partida y seguir exactamente igual al cargarla.
+ *
+ * <p>Es el mismo generador congruencial lineal de 48 bits de
+ * java.util.Random (mismos multiplicador, incremento y mezcla inicial de la
+ * semilla), asi que con la misma semilla produce la misma secuencia: las
+ * partidas y repeticiones sembradas no cambian. La diferencia es que el
+ * estado vive en un long propio expuesto por getState y setState.</p>
+ *
+ * <p>nextGaussian guarda un valor pendiente fuera de este estado; el juego
+ * no lo usa.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see java.util.Random
+ */
+public class MatchRandom extends java.util.Random {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Sin inicializador: el constructor de Random llama a setSeed antes de
+    // que se inicialicen los campos de esta clase
+    private long state;
+
+    public MatchRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Estado interno actual (48 bits).
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restaura un estado leido con getState.
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,139 @@
+package domain.shared;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lector del formato binario de partidas guardadas (ver StateWriter).
+ * Todas las lecturas validan que haya datos suficientes y que las longitudes
+ * sean razonables: un archivo truncado o manipulado produce una
+ * BadOpoException en vez de reservar memoria sin limite o crear objetos
+ * arbitrarios, como podia pasar con la serializacion de Java.
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see StateWriter
+ */
+public class StateReader {
+
+    /** Tamano maximo aceptado para un archivo de partida */
+    private static final long MAX_FILE_SIZE = 64L * 1024 * 1024;
+
+    private final ByteBuffer buffer;
+
+    public StateReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Lee el archivo completo por un FileChannel.
+     */
+    public static StateReader open(Path path) throws IOException, BadOpoException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_FILE_SIZE) {
+                throw new BadOpoException(BadOpoException.SAVE_ERROR);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Leer hasta llenar el buffer
+            }
+            buffer.flip();
+            return new StateReader(buffer);
+        }
+    }
+
+    private void require(int bytes) throws BadOpoException {
+        if (bytes < 0 || buffer.remaining() < bytes) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
+        }
+    }
+
+    public int readByte() throws BadOpoException {
+        require(1);
+        return buffer.get();
+    }
+
+    public boolean readBoolean() throws BadOpoException {
+        return readByte() != 0;
+    }
+
+    public int readInt() throws BadOpoException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws BadOpoException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    public float readFloat() throws BadOpoException {
+        require(4);
+        return buffer.getFloat();
+    }
+
+    /**
+     * Lee un contador de elementos, cada uno de al menos minBytes bytes.
+     * Rechaza contadores negativos o mayores que lo que queda del archivo.
+     */
+    public int readCount(int minBytes) throws BadOpoException {
+        int count = readInt();
+        if (count < 0 || (long) count * Math.max(1, minBytes) > buffer.remaining()) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
+        }
+        return count;
+    }
+
+    public String readString() throws BadOpoException {
+        int length = readInt();
+        if (length == -1) {
+            return null;
+        }
+        require(length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lee un enum guardado por nombre (null permitido).
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) throws BadOpoException {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR, e);
+        }
+    }
+
+    /**
+     * Lee un arreglo de longs que debe tener exactamente expectedLength elementos.
+     */
+    public long[] readLongs(int expectedLength) throws BadOpoException {
+        int length = readInt();
+        if (length != expectedLength) {
+            throw new BadOpoException(BadOpoException.SAVE_ERROR);
+        }
+        require(length * 8);
+        long[] values = new long[length];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + length * 8);
+        return values;
+    }
+
+    /**
+     * Indica si ya se leyo todo el contenido.
+     */
+    public boolean isFinished() {
+        return !buffer.hasRemaining();
+    }
+}
@@ -0,0 +1,140 @@
+package domain.shared;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritor del formato binario de partidas guardadas.
+ * Acumula los campos en un ByteBuffer que crece segun haga falta y al final
+ * lo vuelca de una sola vez a disco por un FileChannel.
+ * 
+ * <p>Cada clase con estado escribe sus propios campos (writeState) en un
+ * orden fijo; StateReader los lee en el mismo orden. Los enums se guardan
+ * por nombre para que reordenarlos no invalide partidas viejas.</p>
+ * 
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see StateReader
+ */
+public class StateWriter {
+
+    private ByteBuffer buffer;
+
+    public StateWriter() {
+        this.buffer = ByteBuffer.allocate(4096);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            ByteBuffer bigger = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+        }
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    public void writeFloat(float value) {
+        ensure(4);
+        buffer.putFloat(value);
+    }
+
+    /**
+     * Texto en UTF-8 precedido de su longitud; null se guarda como longitud -1.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    public void writeEnum(Enum<?> value) {
+        writeString(value != null ? value.name() : null);
+    }
+
+    /**
+     * Arreglo de longs precedido de su longitud (capas de bits del tablero).
+     */
+    public void writeLongs(long[] values) {
+        writeInt(values.length);
+        ensure(values.length * 8);
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * 8);
+    }
+
+    /**
+     * Copia al final el contenido de otro escritor (bloques armados por separado).
+     */
+    public void write(StateWriter other) {
+        ByteBuffer src = other.buffer.duplicate();
+        src.flip();
+        ensure(src.remaining());
+        buffer.put(src);
+    }
+
+    /**
+     * Copia de los bytes escritos hasta ahora.
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        ByteBuffer src = buffer.duplicate();
+        src.flip();
+        src.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Bytes escritos hasta ahora.
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Vuelca el contenido al archivo. Se escribe primero a un temporal y luego
+     * se reemplaza el destino, para no dejar una partida a medio escribir.
+     */
+    public void writeTo(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        ByteBuffer out = buffer.duplicate();
+        out.flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,343 @@
+package presentation;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiFunction;
+
+/**
+ * Cache de recursos graficos compartida por todo el proceso: cada archivo
+ * se decodifica una sola vez y cada tamaño escalado se calcula una sola
+ * vez, sin importar cuantos paneles o ImageLoader lo pidan.
+ *
+ * <p>Las imagenes estaticas (PNG, JPG) se decodifican con ImageIO y sus
+ * versiones escaladas se empaquetan en un SpriteAtlas por tamaño.</p>
+ * 
+ * <p>Sprites del juego (getAnimation): los GIF se decodifican cuadro por
+ * cuadro con ImageIO (GifDecoder) y cada cuadro escalado va al atlas de su
+ * tamaño; la vista elige el cuadro con el reloj de juego. Los fondos e
+ * iconos de menu (getImage, getIcon, getScaledImage) siguen cargando los
+ * GIF con Toolkit, que Swing anima por su cuenta.</p>
+ *
+ * <p>Es segura para varios hilos, de modo que los recursos se pueden
+ * precargar fuera del EDT (AssetPreloader). Cada decodificacion es una
+ * FutureTask por ruta: si dos hilos piden lo mismo, el segundo espera a
+ * la carga en curso en vez de repetirla, sin bloquear las demas rutas.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see ImageLoader
+ * @see SpriteAtlas
+ */
+public class AssetCache {
+
+    private static final AssetCache INSTANCE = new AssetCache();
+
+    private final Map<String, FutureTask<Image>> originals = new ConcurrentHashMap<>();
+    private final Map<String, ImageIcon> icons = new ConcurrentHashMap<>();
+    private final Map<String, Variants<Image>> scaled = new ConcurrentHashMap<>();
+    private final Map<String, FutureTask<SpriteAnimation>> animations = new ConcurrentHashMap<>();
+    private final Map<String, Variants<SpriteAnimation>> scaledAnimations = new ConcurrentHashMap<>();
+    private final Map<String, ImageIcon> scaledIcons = new ConcurrentHashMap<>();
+    private final Map<Long, SpriteAtlas> atlases = new ConcurrentHashMap<>();
+
+    private AssetCache() {
+    }
+
+    public static AssetCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Imagen original de un recurso del classpath (ej. "/presentation/hielo.png").
+     *
+     * @return La imagen, o null si el recurso no existe o no se puede leer
+     */
+    public Image getImage(String path) {
+        if (path == null)
+            return null;
+        // Los recursos que faltan quedan como null: se avisan una sola vez
+        return load(originals, path, () -> decode(path));
+    }
+
+    /**
+     * ImageIcon compartido del recurso (para etiquetas y botones).
+     */
+    public ImageIcon getIcon(String path) {
+        if (path == null)
+            return null;
+        ImageIcon icon = icons.get(path);
+        if (icon == null) {
+            Image image = getImage(path);
+            if (image == null)
+                return null;
+            icons.putIfAbsent(path, new ImageIcon(image));
+            icon = icons.get(path);
+        }
+        return icon;
+    }
+
+    /**
+     * Version del recurso escalada a width x height.
+     */
+    public Image getScaledImage(String path, int width, int height) {
+        if (path == null || width <= 0 || height <= 0)
+            return null;
+        Variants<Image> variants = scaled.get(path);
+        if (variants == null) {
+            if (getImage(path) == null)
+                return null;
+            variants = scaled.computeIfAbsent(path, p -> new Variants<>());
+        }
+        // Busqueda sin asignar memoria: se llama por sprite en cada frame
+        Image image = variants.find(width, height);
+        return image != null ? image
+                : variants.create(width, height, (w, h) -> scale(path, getImage(path), w, h));
+    }
+
+    /**
+     * Animacion de un sprite con cada cuadro escalado a width x height.
+     * Los PNG/JPG dan una animacion de un solo cuadro.
+     */
+    public SpriteAnimation getAnimation(String path, int width, int height) {
+        if (path == null || width <= 0 || height <= 0)
+            return null;
+        Variants<SpriteAnimation> variants = scaledAnimations.get(path);
+        if (variants == null) {
+            if (getOriginalAnimation(path) == null)
+                return null;
+            variants = scaledAnimations.computeIfAbsent(path, p -> new Variants<>());
+        }
+        SpriteAnimation animation = variants.find(width, height);
+        return animation != null ? animation
+                : variants.create(width, height, (w, h) -> scaleAnimation(getOriginalAnimation(path), w, h));
+    }
+
+    /**
+     * Version escalada envuelta en un ImageIcon.
+     */
+    public ImageIcon getScaledIcon(String path, int width, int height) {
+        if (path == null)
+            return null;
+        String key = path + "_" + width + "_" + height;
+        ImageIcon icon = scaledIcons.get(key);
+        if (icon == null) {
+            Image image = getScaledImage(path, width, height);
+            if (image == null)
+                return null;
+            scaledIcons.putIfAbsent(key, new ImageIcon(image));
+            icon = scaledIcons.get(key);
+        }
+        return icon;
+    }
+
+    /**
+     * Descarta las versiones escaladas a width x height y su atlas, cuando
+     * ese tamaño deja de dibujarse (ej. la celda de GamePanel al cambiar de
+     * tamaño). Las imagenes ya entregadas siguen siendo validas; si se
+     * vuelve a pedir el tamaño se escala de nuevo.
+     */
+    public void releaseSize(int width, int height) {
+        for (Variants<Image> variants : scaled.values()) {
+            variants.remove(width, height);
+        }
+        for (Variants<SpriteAnimation> variants : scaledAnimations.values()) {
+            variants.remove(width, height);
+        }
+        String suffix = "_" + width + "_" + height;
+        scaledIcons.keySet().removeIf(key -> key.endsWith(suffix));
+        atlases.remove(sizeKey(width, height));
+    }
+
+    /**
+     * Descarta las versiones escaladas (las originales se conservan).
+     */
+    public void clearScaled() {
+        scaled.clear();
+        scaledAnimations.clear();
+        scaledIcons.clear();
+        atlases.clear();
+    }
+
+    // --- LÓGICA INTERNA ---
+
+    /**
+     * Versiones escaladas de un recurso. Copia al escribir: find lee el
+     * arreglo actual sin bloquear; create y remove lo reemplazan bajo el
+     * monitor. Tamaño y version van en la misma entrada para que quitar un
+     * tamaño no desalinee a un lector concurrente.
+     */
+    private static final class Variants<T> {
+        private volatile Variant[] entries = new Variant[0];
+
+        @SuppressWarnings("unchecked")
+        T find(int width, int height) {
+            for (Variant entry : entries) {
+                if (entry.width == width && entry.height == height)
+                    return (T) entry.item;
+            }
+            return null;
+        }
+
+        synchronized T create(int width, int height, BiFunction<Integer, Integer, T> factory) {
+            T item = find(width, height);
+            if (item != null)
+                return item;
+            item = factory.apply(width, height);
+
+            Variant[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+            newEntries[entries.length] = new Variant(width, height, item);
+            entries = newEntries;
+            return item;
+        }
+
+        synchronized void remove(int width, int height) {
+            Variant[] current = entries;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].width == width && current[i].height == height) {
+                    Variant[] newEntries = new Variant[current.length - 1];
+                    System.arraycopy(current, 0, newEntries, 0, i);
+                    System.arraycopy(current, i + 1, newEntries, i, newEntries.length - i);
+                    entries = newEntries;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Variant {
+        final int width;
+        final int height;
+        final Object item;
+
+        Variant(int width, int height, Object item) {
+            this.width = width;
+            this.height = height;
+            this.item = item;
+        }
+    }
+
+    private Image scale(String path, Image original, int width, int height) {
+        if (isAnimated(path)) {
+            // SCALE_DEFAULT conserva la animacion del GIF (iconos de menu)
+            return original.getScaledInstance(width, height, Image.SCALE_DEFAULT);
+        }
+        return atlasFor(width, height).add(original);
+    }
+
+    private SpriteAnimation scaleAnimation(SpriteAnimation original, int width, int height) {
+        SpriteAtlas atlas = atlasFor(width, height);
+        Image[] frames = new Image[original.getFrameCount()];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = atlas.add(original.getFrame(i));
+        }
+        return new SpriteAnimation(frames, original.getDelays());
+    }
+
+    private SpriteAtlas atlasFor(int width, int height) {
+        return atlases.computeIfAbsent(sizeKey(width, height), s -> new SpriteAtlas(width, height));
+    }
+
+    private static long sizeKey(int width, int height) {
+        return ((long) width << 32) | height;
+    }
+
+    /**
+     * Cuadros a tamaño original: los GIF se decodifican con GifDecoder; si
+     * ImageIO no puede con el archivo, o si es estatico, queda un solo cuadro.
+     */
+    SpriteAnimation getOriginalAnimation(String path) {
+        if (path == null)
+            return null;
+        return load(animations, path, () -> decodeAnimation(path));
+    }
+
+    private SpriteAnimation decodeAnimation(String path) {
+        SpriteAnimation animation = null;
+        URL url = getClass().getResource(path);
+        if (isAnimated(path) && url != null) {
+            try {
+                animation = GifDecoder.decode(url);
+            } catch (IOException | RuntimeException e) {
+                // El lector GIF de ImageIO falla con algunos archivos
+                System.err.println("⚠ No se pudieron decodificar los cuadros de " + path + ": " + e);
+            }
+        }
+        if (animation == null) {
+            Image image = getImage(path);
+            if (image == null)
+                return null;
+            animation = new SpriteAnimation(new Image[] { image }, new int[] { 0 });
+        }
+        return animation;
+    }
+
+    /**
+     * Valor ya cargado de la ruta, o lo carga una sola vez: el primer hilo
+     * ejecuta la tarea y los demas esperan su resultado.
+     */
+    private static <T> T load(Map<String, FutureTask<T>> cache, String key, Callable<T> loader) {
+        FutureTask<T> task = cache.get(key);
+        if (task == null) {
+            task = cache.computeIfAbsent(key, k -> new FutureTask<>(loader));
+        }
+        task.run(); // No hace nada si ya corrio o esta corriendo en otro hilo
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            System.err.println("❌ ERROR: No se pudo cargar " + key + ": " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Image decode(String path) {
+        URL url = getClass().getResource(path);
+        if (url == null) {
+            System.err.println("❌ ERROR: No se encontró la imagen: " + path);
+            return null;
+        }
+        if (isAnimated(path)) {
+            // ImageIcon espera a que el GIF termine de cargar
+            return new ImageIcon(url).getImage();
+        }
+        try {
+            BufferedImage image = ImageIO.read(url);
+            return image != null ? toCompatible(image) : new ImageIcon(url).getImage();
+        } catch (IOException e) {
+            System.err.println("❌ ERROR: No se pudo leer la imagen: " + path);
+            return null;
+        }
+    }
+
+    /**
+     * Copia la imagen al formato de la pantalla para que dibujarla sea rapido.
+     */
+    private static Image toCompatible(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless())
+            return image;
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        BufferedImage copy = gc.createCompatibleImage(image.getWidth(), image.getHeight(),
+                image.getTransparency());
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    private static boolean isAnimated(String path) {
+        return path.toLowerCase().endsWith(".gif");
+    }
+}
@@ -0,0 +1,81 @@
+package presentation;
+
+import domain.shared.BadOpoLogger;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Precarga en paralelo todos los recursos graficos mientras se muestra el
+ * splash, para que el primer frame de cada nivel no tenga que decodificar
+ * GIFs en el EDT.
+ *
+ * <p>Las tareas (ImageLoader.getPreloadTasks) corren en un grupo pequeño de
+ * hilos daemon y dejan su resultado en la AssetCache compartida. Si la
+ * vista pide un recurso que aun se esta cargando, espera a esa carga en vez
+ * de repetirla. El progreso se informa en el EDT.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see AssetCache
+ * @see SplashPanel
+ */
+public class AssetPreloader {
+
+    /** Se dejan nucleos libres para el EDT y el resto del arranque */
+    private static final int MAX_THREADS = 4;
+
+    private final List<Runnable> tasks;
+    private final AtomicInteger done = new AtomicInteger();
+
+    public AssetPreloader(ImageLoader loader) {
+        this.tasks = loader.getPreloadTasks();
+    }
+
+    /**
+     * Lanza la precarga y vuelve de inmediato.
+     *
+     * @param onProgress Recibe (terminadas, total) en el EDT tras cada recurso
+     */
+    public void start(BiConsumer<Integer, Integer> onProgress) {
+        int total = tasks.size();
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "BadOpo-Preload-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        for (Runnable task : tasks) {
+            pool.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    BadOpoLogger.logError("Error al precargar un recurso", e);
+                }
+                int finished = done.incrementAndGet();
+                SwingUtilities.invokeLater(() -> onProgress.accept(finished, total));
+                if (finished == total) {
+                    BadOpoLogger.log(String.format("Recursos precargados: %d en %d ms con %d hilos",
+                            total, (System.nanoTime() - start) / 1_000_000, threads));
+                }
+            });
+        }
+        pool.shutdown(); // Las tareas ya encoladas terminan; los hilos mueren al final
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    public boolean isFinished() {
+        return done.get() == tasks.size();
+    }
+}
@@ -1,6 +1,10 @@
 package presentation;
 
 import domain.game.DomainController;
+import domain.game.FrameSnapshot;
+import domain.game.GameLoop;
+import domain.game.TickProfiler;
+import domain.game.ReplayRecorder;
 import domain.shared.ActionType;
 import domain.shared.BadOpoException;
 import domain.shared.Direction;
@@ -45,14 +49,25 @@ import domain.shared.BadOpoLogger;
  */
 public class BadOpoGUI extends JFrame {
 
+    // Repeticion de la ultima partida jugada (para reproducir reportes de errores)
+    private static final String LAST_REPLAY_FILE = "ultima_partida.bdrp";
+
     private DomainController domain;
     private ImageLoader loader;
 
     private JPanel mainPanel;
     private CardLayout cardLayout;
 
-    // El Timer vive AQUI, no en GamePanel
+    // La simulacion corre en su propio hilo (GameLoop); el Timer vive AQUI,
+    // no en GamePanel, y solo dibuja la ultima foto publicada
     private Timer gameLoopTimer;
+    private GameLoop simulation;
+    private boolean paused; // Overlay de pausa visible
+
+    // Perfilador del ciclo (JMX badopo:type=TickProfiler y overlay con F3).
+    // -Dbadopo.profiler=true muestra el overlay desde el inicio (kioscos)
+    private final TickProfiler profiler = new TickProfiler();
+    private boolean profilerVisible = Boolean.getBoolean("badopo.profiler");
     private GamePanel activeGamePanel; // Referencia al panel actual
     private String currentLevel; // Nivel actual para siguiente nivel
     private domain.level.LevelConfiguration currentLevelConfig; // Configuración del nivel actual
@@ -65,6 +80,7 @@ public class BadOpoGUI extends JFrame {
         this.domain = domain;
         this.loader = new ImageLoader();
         this.levelConfigurations = new HashMap<>();
+        profiler.register();
 
         setTitle("Bad DOPO Cream");
         setSize(900, 700);
@@ -79,15 +95,19 @@ public class BadOpoGUI extends JFrame {
         // Inicializamos las pantallas estáticas
         initScreens();
 
-        // Configurar el Game Loop (60 FPS)
-        // La acción del timer actualiza el dominio y luego la vista
+        // Configurar el refresco de la vista (60 FPS)
+        // La acción del timer toma la última foto del dominio y la dibuja
         gameLoopTimer = new Timer(16, e -> updateGameStep());
 
         cardLayout.show(mainPanel, "SPLASH");
     }
 
     private void initScreens() {
-        mainPanel.add(new SplashPanel(loader, () -> cardLayout.show(mainPanel, "HOME")), "SPLASH");
+        SplashPanel splash = new SplashPanel(loader, () -> cardLayout.show(mainPanel, "HOME"));
+        mainPanel.add(splash, "SPLASH");
+
+        // Decodificar sprites, iconos y fondos en paralelo mientras se ve el splash
+        new AssetPreloader(loader).start(splash::setProgress);
 
         mainPanel.add(new HomePanel(loader,
                 () -> cardLayout.show(mainPanel, "MODE"),
@@ -205,6 +225,7 @@ public class BadOpoGUI extends JFrame {
     }
 
     private void startGame(String levelFile) {
+        stopSimulation();
         try {
             // Guardar nivel actual
             this.currentLevel = levelFile;
@@ -212,12 +233,13 @@ public class BadOpoGUI extends JFrame {
             // 0. Setear nivel actual para sistema de oleadas
             domain.setCurrentLevel(levelFile);
 
-            // 1. Cargar Nivel en Dominio
+            // 1. Cargar Nivel en Dominio (grabando la repeticion)
             String[] map = getMockMap(levelFile);
+            domain.setReplayRecorder(new ReplayRecorder());
             domain.loadLevel(map);
 
             // 2. Crear GamePanel nuevo (Pasamos lambda para inputs)
-            activeGamePanel = new GamePanel(keyCode -> handleGameInput(keyCode));
+            activeGamePanel = new GamePanel(loader, keyCode -> handleGameInput(keyCode));
 
             // 3. Configurar datos estáticos del panel (Muros y Baldosas Calientes)
             boolean[][] walls = domain.getWallMap();
@@ -232,13 +254,16 @@ public class BadOpoGUI extends JFrame {
                 activeGamePanel.setLevelBackground(levelBg);
             }
 
+            // 4. Escalar los sprites al tamaño de celda antes del primer frame
+            activeGamePanel.prepareSprites(mainPanel.getSize());
+
             // 4. Mostrar Panel
             mainPanel.add(activeGamePanel, "GAME");
             cardLayout.show(mainPanel, "GAME");
             activeGamePanel.requestFocus();
 
-            // 5. Arrancar el Timer
-            gameLoopTimer.start();
+            // 5. Arrancar la simulacion y el Timer de la vista
+            startSimulation();
 
         } catch (BadOpoException e) {
             BadOpoLogger.logError("Error al iniciar el juego", e);
@@ -247,41 +272,81 @@ public class BadOpoGUI extends JFrame {
     }
 
     /**
-     * ESTE MÉTODO SE EJECUTA 60 VECES POR SEGUNDO
-     * Es el puente entre Dominio y Vista
+     * Arranca el hilo de simulacion sobre el dominio actual y el Timer que dibuja.
+     * Las estadisticas del perfilador empiezan de cero en cada arranque.
+     */
+    private void startSimulation() {
+        paused = false;
+        profiler.reset();
+        domain.setTickProfiler(profiler);
+        activeGamePanel.setProfiler(profiler);
+        activeGamePanel.setProfilerVisible(profilerVisible);
+        simulation = new GameLoop(domain);
+        simulation.start();
+        gameLoopTimer.start();
+    }
+
+    /**
+     * Detiene el Timer y el hilo de simulacion. Despues de llamarlo el
+     * dominio se puede leer y modificar desde el EDT sin carreras.
+     */
+    private void stopSimulation() {
+        gameLoopTimer.stop();
+        if (simulation != null) {
+            simulation.stop();
+        }
+    }
+
+    /**
+     * ESTE MÉTODO SE EJECUTA 60 VECES POR SEGUNDO (EDT)
+     * Es el puente entre Dominio y Vista: la lógica corre en el hilo de
+     * GameLoop y aquí solo se dibuja la última foto publicada.
      */
     private void updateGameStep() {
-        if (activeGamePanel == null)
+        if (activeGamePanel == null || simulation == null)
             return;
 
-        // A. Actualizar Lógica
-        GameStatus status = domain.getStatus();
-
-        // Solo actualizar si está jugando (no en pausa)
-        if (status == GameStatus.PLAYING) {
-            domain.updateGameLoop(0.016f);
-        }
+        // A. Tomar la última foto (leer isRunning antes: si el hilo ya terminó,
+        // su foto final ya está publicada)
+        boolean simulating = simulation.isRunning();
+        FrameSnapshot frame = simulation.latestFrame();
+        GameStatus status = frame.getStatus();
 
         // B. Verificar Estados de Fin
         if (status == GameStatus.GAME_OVER || status == GameStatus.WON || status == GameStatus.TIMEOUT) {
-            gameLoopTimer.stop();
+            stopSimulation();
             showGameOverScreen(status);
             return;
         }
+        if (!simulating) {
+            // El hilo terminó por un error (ya quedó en el log)
+            stopSimulation();
+            JOptionPane.showMessageDialog(this, "Error en la simulacion. Volviendo al menu.");
+            cardLayout.show(mainPanel, "HOME");
+            return;
+        }
 
         // C. EMPUJAR DATOS A LA VISTA (Push)
         // Jugadores se pasan por separado (requisito del profesor)
+        // La foto se reutiliza entre frames: el tick no crea listas nuevas
         activeGamePanel.renderFrame(
-                domain.getObjectsToDraw(),
-                domain.getPlayer1Info(),
-                domain.getPlayer2Info(),
-                domain.getScoreP1(),
-                domain.getScoreP2(),
-                domain.getTimeRemaining(),
-                domain.getRemainingFruits());
+                frame.getEntities(),
+                frame.getPlayer1(),
+                frame.getPlayer2(),
+                frame.getScoreP1(),
+                frame.getScoreP2(),
+                frame.getTimeRemaining(),
+                frame.getTimeElapsed(),
+                frame.getRemainingFruits());
     }
 
     private void showGameOverScreen(GameStatus status) {
+        try {
+            domain.saveReplay(LAST_REPLAY_FILE);
+        } catch (BadOpoException e) {
+            BadOpoLogger.logError("No se pudo guardar la repeticion", e);
+        }
+
         String result = status.toString();
         String winnerName = domain.getWinner();
         String gameMode = getGameMode();
@@ -466,22 +531,22 @@ public class BadOpoGUI extends JFrame {
         String p1 = "player1";
         switch (keyCode) {
             case KeyEvent.VK_W:
-                domain.handlePlayerAction(p1, ActionType.MOVE, Direction.UP);
+                sendAction(p1, ActionType.MOVE, Direction.UP);
                 break;
             case KeyEvent.VK_S:
-                domain.handlePlayerAction(p1, ActionType.MOVE, Direction.DOWN);
+                sendAction(p1, ActionType.MOVE, Direction.DOWN);
                 break;
             case KeyEvent.VK_A:
-                domain.handlePlayerAction(p1, ActionType.MOVE, Direction.LEFT);
+                sendAction(p1, ActionType.MOVE, Direction.LEFT);
                 break;
             case KeyEvent.VK_D:
-                domain.handlePlayerAction(p1, ActionType.MOVE, Direction.RIGHT);
+                sendAction(p1, ActionType.MOVE, Direction.RIGHT);
                 break;
             case KeyEvent.VK_SPACE:
-                domain.handlePlayerAction(p1, ActionType.CREATE_ICE, Direction.NONE);
+                sendAction(p1, ActionType.CREATE_ICE, Direction.NONE);
                 break;
             case KeyEvent.VK_E:
-                domain.handlePlayerAction(p1, ActionType.BREAK_ICE, Direction.NONE);
+                sendAction(p1, ActionType.BREAK_ICE, Direction.NONE);
                 break;
         }
 
@@ -489,53 +554,66 @@ public class BadOpoGUI extends JFrame {
         String p2 = "player2";
         switch (keyCode) {
             case KeyEvent.VK_UP:
-                domain.handlePlayerAction(p2, ActionType.MOVE, Direction.UP);
+                sendAction(p2, ActionType.MOVE, Direction.UP);
                 break;
             case KeyEvent.VK_DOWN:
-                domain.handlePlayerAction(p2, ActionType.MOVE, Direction.DOWN);
+                sendAction(p2, ActionType.MOVE, Direction.DOWN);
                 break;
             case KeyEvent.VK_LEFT:
-                domain.handlePlayerAction(p2, ActionType.MOVE, Direction.LEFT);
+                sendAction(p2, ActionType.MOVE, Direction.LEFT);
                 break;
             case KeyEvent.VK_RIGHT:
-                domain.handlePlayerAction(p2, ActionType.MOVE, Direction.RIGHT);
+                sendAction(p2, ActionType.MOVE, Direction.RIGHT);
                 break;
             case KeyEvent.VK_ENTER:
-                domain.handlePlayerAction(p2, ActionType.CREATE_ICE, Direction.NONE);
+                sendAction(p2, ActionType.CREATE_ICE, Direction.NONE);
                 break;
             case KeyEvent.VK_SHIFT:
-                domain.handlePlayerAction(p2, ActionType.BREAK_ICE, Direction.NONE);
+                sendAction(p2, ActionType.BREAK_ICE, Direction.NONE);
                 break;
         }
 
         // --- GENERAL ---
         switch (keyCode) {
             case KeyEvent.VK_P:
-                GameStatus currentStatus = domain.getStatus();
-                if (currentStatus == GameStatus.PLAYING) {
-                    domain.togglePause();
-                    showPauseOverlay();
-                } else if (currentStatus == GameStatus.PAUSED) {
-                    domain.togglePause();
+                if (paused) {
+                    simulation.submit(DomainController::togglePause);
                     hidePauseOverlay();
+                } else if (simulation.latestFrame().getStatus() == GameStatus.PLAYING) {
+                    simulation.submit(DomainController::togglePause);
+                    showPauseOverlay();
                 }
                 break;
+            case KeyEvent.VK_F3:
+                profilerVisible = !profilerVisible;
+                activeGamePanel.setProfilerVisible(profilerVisible);
+                break;
             case KeyEvent.VK_ESCAPE:
-                gameLoopTimer.stop();
+                stopSimulation();
                 cardLayout.show(mainPanel, "HOME");
                 break;
         }
     }
 
+    /**
+     * Encola la acción para el hilo de simulación (se aplica antes del siguiente tick).
+     */
+    private void sendAction(String playerId, ActionType action, Direction dir) {
+        if (simulation != null) {
+            simulation.submit(d -> d.handlePlayerAction(playerId, action, dir));
+        }
+    }
+
     private void showPauseOverlay() {
+        paused = true;
         PauseOverlay pauseOverlay = new PauseOverlay(
                 () -> {
-                    domain.togglePause();
+                    simulation.submit(DomainController::togglePause);
                     hidePauseOverlay();
                 },
                 () -> saveGame(),
                 () -> {
-                    gameLoopTimer.stop();
+                    stopSimulation();
                     hidePauseOverlay();
                     cardLayout.show(mainPanel, "HOME");
                 });
@@ -550,6 +628,7 @@ public class BadOpoGUI extends JFrame {
      * Oculta el overlay de pausa removiendolo del panel de juego.
      */
     private void hidePauseOverlay() {
+        paused = false;
         Component[] components = activeGamePanel.getComponents();
         for (Component comp : components) {
             if (comp.getClass().getSimpleName().equals("PauseOverlay")) {
@@ -566,23 +645,34 @@ public class BadOpoGUI extends JFrame {
     // =============================================================
 
     public void saveGame() {
-        if (domain.getStatus() != GameStatus.PAUSED && domain.getStatus() != GameStatus.PLAYING) {
-            JOptionPane.showMessageDialog(this, "Solo puedes guardar durante una partida.");
-            return;
+        // Detener la simulacion mientras se lee el dominio desde el EDT
+        boolean wasRunning = simulation != null && simulation.isRunning();
+        if (wasRunning) {
+            simulation.stop();
         }
+        try {
+            if (domain.getStatus() != GameStatus.PAUSED && domain.getStatus() != GameStatus.PLAYING) {
+                JOptionPane.showMessageDialog(this, "Solo puedes guardar durante una partida.");
+                return;
+            }
 
-        JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Guardar Partida");
-        int userSelection = fileChooser.showSaveDialog(this);
-
-        if (userSelection == JFileChooser.APPROVE_OPTION) {
-            java.io.File fileToSave = fileChooser.getSelectedFile();
-            try {
-                domain.saveGame(fileToSave.getAbsolutePath());
-                JOptionPane.showMessageDialog(this, "Partida guardada correctamente.");
-            } catch (BadOpoException e) {
-                BadOpoLogger.logError("Error al guardar la partida", e);
-                JOptionPane.showMessageDialog(this, "Error al guardar: " + e.getMessage());
+            JFileChooser fileChooser = new JFileChooser();
+            fileChooser.setDialogTitle("Guardar Partida");
+            int userSelection = fileChooser.showSaveDialog(this);
+
+            if (userSelection == JFileChooser.APPROVE_OPTION) {
+                java.io.File fileToSave = fileChooser.getSelectedFile();
+                try {
+                    domain.saveGame(fileToSave.getAbsolutePath());
+                    JOptionPane.showMessageDialog(this, "Partida guardada correctamente.");
+                } catch (BadOpoException e) {
+                    BadOpoLogger.logError("Error al guardar la partida", e);
+                    JOptionPane.showMessageDialog(this, "Error al guardar: " + e.getMessage());
+                }
+            }
+        } finally {
+            if (wasRunning) {
+                simulation.start();
             }
         }
     }
@@ -614,13 +704,11 @@ public class BadOpoGUI extends JFrame {
     }
 
     private void restoreGameState() {
-        // Detener timer anterior si existe
-        if (gameLoopTimer != null && gameLoopTimer.isRunning()) {
-            gameLoopTimer.stop();
-        }
+        // Detener timer y simulacion anteriores si existen
+        stopSimulation();
 
         // Crear nuevo GamePanel
-        activeGamePanel = new GamePanel(keyCode -> handleGameInput(keyCode));
+        activeGamePanel = new GamePanel(loader, keyCode -> handleGameInput(keyCode));
 
         // Configurar el tablero con el nuevo dominio
         boolean[][] walls = domain.getWallMap();
@@ -636,16 +724,19 @@ public class BadOpoGUI extends JFrame {
             }
         }
 
+        // Escalar los sprites al tamaño de celda antes del primer frame
+        activeGamePanel.prepareSprites(mainPanel.getSize());
+
         // Mostrar Panel
         mainPanel.add(activeGamePanel, "GAME");
         cardLayout.show(mainPanel, "GAME");
         activeGamePanel.requestFocus();
 
-        // Re-iniciar Timer
-        gameLoopTimer.start();
+        // Re-iniciar simulacion y Timer
+        startSimulation();
 
-        // Asegurar estado correcto
-        if (domain.getStatus() == GameStatus.PAUSED) {
+        // Asegurar estado correcto (segun la foto inicial publicada)
+        if (simulation.latestFrame().getStatus() == GameStatus.PAUSED) {
             showPauseOverlay();
         }
     }
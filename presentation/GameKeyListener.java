@@ -13,6 +13,7 @@ import java.util.function.Consumer;
  *   <li>WASD + Espacio + E - Controles Jugador 1</li>
  *   <li>Flechas + Enter + Shift - Controles Jugador 2</li>
  *   <li>P - Pausar juego</li>
+ *   <li>F3 - Mostrar u ocultar el perfilador</li>
  *   <li>ESC - Volver al menu</li>
  * </ul>
  * 
@@ -1,9 +1,13 @@
 package presentation;
 
+import domain.game.TickPhase;
+import domain.game.TickProfiler;
+import domain.items.FruitCounter;
 import domain.shared.EntityInfo;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 import java.util.Collections;
 import java.util.List;
@@ -22,11 +26,29 @@ import java.util.function.Consumer;
  *   <li>HUD con tiempo, puntajes y frutas restantes</li>
  * </ul>
  * 
+ * <p>Repintado incremental: el fondo, los muros y las lineas del grid se
+ * pre-renderizan en imagenes que solo se rehacen en setupBoard, al cambiar
+ * el fondo o al redimensionar. Cada renderFrame compara una firma por celda
+ * con la del frame anterior y pide repaint solo de las celdas que cambiaron
+ * (y del HUD si cambiaron sus valores).</p>
+ * 
+ * <p>Animaciones: los sprites son cuadros ya decodificados (SpriteAnimation)
+ * y el cuadro se elige con el tiempo de juego de la foto, no con
+ * ImageObserver. El indice de cuadro entra en la firma de la celda, asi que
+ * una celda animada se repinta solo cuando cambia de cuadro. El hielo que
+ * aparece o se desvanece trae su progreso en EntityInfo.progress: se dibuja
+ * escalado y el progreso, en PROGRESS_STEPS pasos, tambien entra en la firma.</p>
+ * 
+ * <p>Perfilado: con setProfiler el panel registra cuanto tarda cada
+ * paintComponent y, si el overlay esta visible (F3), dibuja debajo del HUD
+ * el p50/p99/maximo de cada fase del tick frente al presupuesto del frame.</p>
+ * 
  * <p>Input soportado:</p>
  * <ul>
  *   <li>WASD + Espacio + E para Jugador 1</li>
  *   <li>Flechas + Enter + Shift para Jugador 2</li>
  *   <li>P para pausar</li>
+ *   <li>F3 para mostrar u ocultar el perfilador</li>
  *   <li>ESC para volver al menu</li>
  * </ul>
  * 
@@ -52,12 +74,50 @@ public class GamePanel extends JPanel {
     // --- CALLBACKS (Para avisar a la GUI sin conocer el dominio) ---
     private Consumer<Integer> onKeyPressed;
 
-    // Guardamos ancho previo para limpiar caché de imágenes
-    private int lastWidth = 0;
-
-    public GamePanel(Consumer<Integer> onKeyPressed) {
+    // --- MÁRGENES DEL ÁREA DE JUEGO ---
+    private static final int HUD_HEIGHT = 40; // Altura del HUD superior
+    private static final int TOP_MARGIN = HUD_HEIGHT + 10; // Margen superior mínimo
+    private static final int BOTTOM_MARGIN = 35; // Margen inferior reducido
+    private static final int SIDE_MARGIN = 50; // Margen izquierdo/derecho (espacio para bordes)
+
+    // Contador de frutas del HUD (debajo del botón de pausa)
+    private static final int FRUIT_HUD_X = 10;
+    private static final int FRUIT_HUD_Y = 100;
+    private static final int FRUIT_ICON_SIZE = 30;
+    private static final int FRUIT_ICON_GAP = 10;
+    private static final double CHERRY_SCALE = 1.3; // Cerezas algo más grandes que la celda
+    private static final int PROGRESS_STEPS = 16; // Pasos de animacion que cambian la firma de una celda
+
+    // Overlay del perfilador (esquina superior derecha, bajo el HUD)
+    private static final int PROFILER_WIDTH = 330;
+    private static final int PROFILER_LINE = 16;
+    private static final TickPhase[] PROFILER_PHASES = TickPhase.values();
+
+    // --- GEOMETRÍA CALCULADA (se rehace al redimensionar) ---
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
+    private int gameAreaX;
+    private int gameAreaY;
+    private int cellW;
+    private int cellH;
+
+    // --- CAPAS PRE-RENDERIZADAS ---
+    private BufferedImage backgroundLayer; // Fondo + muros (opaca)
+    private BufferedImage gridLayer; // Líneas del grid (transparente, va encima de las entidades)
+
+    // --- REPINTADO INCREMENTAL ---
+    private long[] cellSignature; // Firma del contenido de cada celda en el último frame
+    private long[] nextSignature; // Firma del frame en construcción
+    private long animationMillis; // Reloj de las animaciones (tiempo de juego)
+    private long fruitHudSignature;
+    private int fruitHudRows;
+
+    private TickProfiler profiler;
+    private boolean profilerVisible;
+
+    public GamePanel(ImageLoader loader, Consumer<Integer> onKeyPressed) {
         this.onKeyPressed = onKeyPressed;
-        this.loader = new ImageLoader();
+        this.loader = loader; // Compartido: los sprites ya escalados sobreviven entre niveles
         this.entities = Collections.emptyList(); // Lista vacía inicial
 
         setLayout(null); // Layout null para posicionar el botón de pausa
@@ -88,6 +148,9 @@ public class GamePanel extends JPanel {
         this.walls = walls;
         this.rows = walls.length;
         this.cols = (rows > 0) ? walls[0].length : 0;
+        this.cellSignature = new long[rows * cols];
+        this.nextSignature = new long[rows * cols];
+        invalidateLayout();
         repaint();
     }
 
@@ -96,6 +159,7 @@ public class GamePanel extends JPanel {
      */
     public void setLevelBackground(Image background) {
         this.levelBackground = background;
+        invalidateLayout();
         repaint();
     }
 
@@ -104,6 +168,7 @@ public class GamePanel extends JPanel {
     private EntityInfo player2;
     private String player1Name = "P1";
     private String player2Name = "P2";
+    private FruitCounter remainingFruits;
 
     /**
      * MÉTODO PRINCIPAL: La GUI nos "empuja" los datos nuevos aquí para pintar.
@@ -115,11 +180,15 @@ public class GamePanel extends JPanel {
      * @param scoreP1       Puntuacion del jugador 1
      * @param scoreP2       Puntuacion del jugador 2
      * @param timeRemaining Tiempo restante en segundos
+     * @param gameTime      Tiempo de juego transcurrido (reloj de las animaciones)
+     * @param remainingFruits Frutas en juego por tipo (contador de la foto)
      */
-    private java.util.Map<String, Integer> remainingFruits;
-
     public void renderFrame(List<EntityInfo> entities, EntityInfo player1, EntityInfo player2,
-            int scoreP1, int scoreP2, float timeRemaining, java.util.Map<String, Integer> remainingFruits) {
+            int scoreP1, int scoreP2, float timeRemaining, float gameTime,
+            FruitCounter remainingFruits) {
+        boolean hudChanged = scoreP1 != this.scoreP1 || scoreP2 != this.scoreP2
+                || (int) timeRemaining != (int) this.timeRemaining;
+
         this.entities = entities;
         this.player1 = player1;
         this.player2 = player2;
@@ -127,7 +196,292 @@ public class GamePanel extends JPanel {
         this.scoreP2 = scoreP2;
         this.timeRemaining = timeRemaining;
         this.remainingFruits = remainingFruits;
-        repaint();
+        this.animationMillis = (long) (gameTime * 1000);
+
+        // Sin geometría válida (primer frame o redimensión) se repinta todo
+        if (walls == null || cols == 0 || rows == 0 || !updateLayout()) {
+            repaint();
+            return;
+        }
+
+        repaintChangedCells();
+        if (hudChanged) {
+            repaint(0, 0, getWidth(), HUD_HEIGHT);
+        }
+        repaintFruitHudIfChanged();
+        if (profilerVisible && profiler != null) {
+            repaint(profilerBounds());
+        }
+    }
+
+    /**
+     * Calcula la firma de cada celda (tipos y cuadro de animacion de las entidades que contiene),
+     * la compara con la del frame anterior y repinta solo las celdas distintas.
+     */
+    private void repaintChangedCells() {
+        java.util.Arrays.fill(nextSignature, 0L);
+        for (int i = 0; i < entities.size(); i++) {
+            addToSignature(entities.get(i));
+        }
+        addToSignature(player1);
+        addToSignature(player2);
+
+        for (int cell = 0; cell < nextSignature.length; cell++) {
+            if (nextSignature[cell] != cellSignature[cell]) {
+                repaintCell(cell % cols, cell / cols);
+            }
+        }
+
+        long[] swap = cellSignature;
+        cellSignature = nextSignature;
+        nextSignature = swap;
+    }
+
+    private void addToSignature(EntityInfo info) {
+        if (info == null || info.x < 0 || info.x >= cols || info.y < 0 || info.y >= rows) {
+            return;
+        }
+        // Mezcla del hash del tipo, del cuadro y del progreso de animacion (en
+        // pasos de 1/PROGRESS_STEPS); "| 1" evita que una entidad aporte 0
+        int progressStep = (int) (info.progress * PROGRESS_STEPS);
+        long h = ((info.type.hashCode() * 31L + frameIndex(info.type, cellW, cellH)) * 31L + progressStep)
+                * 0x9E3779B97F4A7C15L;
+        nextSignature[info.y * cols + info.x] += (h ^ (h >>> 31)) | 1L;
+    }
+
+    /**
+     * Cuadro de animacion que toca dibujar ahora para el tipo (0 si no tiene sprite).
+     */
+    private int frameIndex(String type, int width, int height) {
+        SpriteAnimation sprite = loader.getSprite(type, width, height);
+        return sprite != null ? sprite.frameIndexAt(animationMillis) : 0;
+    }
+
+    /**
+     * Cuadro actual del sprite del tipo, escalado a width x height (null si no tiene).
+     */
+    private Image spriteFrame(String type, int width, int height) {
+        SpriteAnimation sprite = loader.getSprite(type, width, height);
+        return sprite != null ? sprite.frameAt(animationMillis) : null;
+    }
+
+    /**
+     * Margen alrededor de cada celda al repintarla, para los sprites
+     * que se dibujan más grandes que la celda (cerezas).
+     */
+    private int cellMargin() {
+        return (int) Math.ceil(Math.max(cellW, cellH) * 0.15) + 1;
+    }
+
+    private void repaintCell(int x, int y) {
+        int margin = cellMargin();
+        repaint(gameAreaX + x * cellW - margin, gameAreaY + y * cellH - margin,
+                cellW + 2 * margin, cellH + 2 * margin);
+    }
+
+    private void repaintFruitHudIfChanged() {
+        long signature = 0;
+        int visibleRows = 0;
+        if (remainingFruits != null) {
+            for (int type = 0; type < remainingFruits.getTypeCount(); type++) {
+                int count = remainingFruits.getCount(type);
+                if (count > 0) {
+                    String fruitType = remainingFruits.getTypeName(type);
+                    signature = signature * 31 + (type + 1) * 131L + count;
+                    signature = signature * 31 + frameIndex(fruitType, FRUIT_ICON_SIZE, FRUIT_ICON_SIZE);
+                    visibleRows++;
+                }
+            }
+        }
+        if (signature != fruitHudSignature || visibleRows != fruitHudRows) {
+            int rowsToClear = Math.max(visibleRows, fruitHudRows);
+            repaint(fruitHudBounds(rowsToClear));
+            fruitHudSignature = signature;
+            fruitHudRows = visibleRows;
+        }
+    }
+
+    private Rectangle fruitHudBounds(int rowCount) {
+        return new Rectangle(FRUIT_HUD_X - 5, FRUIT_HUD_Y - 5, 80 + 10,
+                rowCount * (FRUIT_ICON_SIZE + FRUIT_ICON_GAP) + 10);
+    }
+
+    private static int cellSizeFor(int gameAreaSize, int cells) {
+        return gameAreaSize / cells;
+    }
+
+    /**
+     * Escala de antemano todos los sprites a los tamaños con que se dibujaran
+     * en un panel de ese tamaño (celda, cerezas, iconos del HUD). Llamarlo
+     * tras setupBoard y antes de arrancar la simulacion evita que el primer
+     * frame del nivel pague el escalado.
+     */
+    public void prepareSprites(Dimension panelSize) {
+        if (walls == null || cols == 0 || rows == 0)
+            return;
+        int w = cellSizeFor(panelSize.width - 2 * SIDE_MARGIN, cols);
+        int h = cellSizeFor(panelSize.height - TOP_MARGIN - BOTTOM_MARGIN, rows);
+        if (w <= 0 || h <= 0)
+            return;
+        loader.prepareSprites(w, h);
+        loader.getSprite("CHERRY", (int) (w * CHERRY_SCALE), (int) (h * CHERRY_SCALE));
+        loader.prepareSprites(FRUIT_ICON_SIZE, FRUIT_ICON_SIZE);
+    }
+
+    /**
+     * Recalcula márgenes y tamaño de celda si el panel cambió de tamaño.
+     * 
+     * @return true si la geometría anterior sigue siendo válida
+     */
+    private boolean updateLayout() {
+        if (getWidth() == layoutWidth && getHeight() == layoutHeight) {
+            return true;
+        }
+        layoutWidth = getWidth();
+        layoutHeight = getHeight();
+
+        // Área disponible para el juego
+        int gameAreaWidth = layoutWidth - 2 * SIDE_MARGIN;
+        int gameAreaHeight = layoutHeight - TOP_MARGIN - BOTTOM_MARGIN;
+        gameAreaX = SIDE_MARGIN;
+        gameAreaY = TOP_MARGIN;
+
+        // --- CÁLCULO DINÁMICO DE CELDAS ---
+        int oldCellW = cellW;
+        int oldCellH = cellH;
+        cellW = cellSizeFor(gameAreaWidth, cols);
+        cellH = cellSizeFor(gameAreaHeight, rows);
+        if (cellW != oldCellW || cellH != oldCellH) {
+            releaseSprites(oldCellW, oldCellH);
+        }
+
+        backgroundLayer = null;
+        gridLayer = null;
+        return false;
+    }
+
+    /**
+     * Libera los sprites escalados para una celda que ya no se dibuja (y sus
+     * cerezas), para que cada tamaño por el que pasa el panel al
+     * redimensionarse no deje un atlas completo en la cache.
+     */
+    private void releaseSprites(int oldCellW, int oldCellH) {
+        if (oldCellW <= 0 || oldCellH <= 0)
+            return;
+        releaseSize(oldCellW, oldCellH);
+        releaseSize((int) (oldCellW * CHERRY_SCALE), (int) (oldCellH * CHERRY_SCALE));
+    }
+
+    private void releaseSize(int width, int height) {
+        // Los iconos del HUD y la celda/cereza actuales siguen en uso
+        if ((width == FRUIT_ICON_SIZE && height == FRUIT_ICON_SIZE) || (width == cellW && height == cellH)
+                || (width == (int) (cellW * CHERRY_SCALE) && height == (int) (cellH * CHERRY_SCALE)))
+            return;
+        loader.releaseSprites(width, height);
+    }
+
+    /**
+     * Fuerza a recalcular la geometría y las capas estáticas en el siguiente pintado.
+     */
+    private void invalidateLayout() {
+        layoutWidth = -1;
+        layoutHeight = -1;
+        backgroundLayer = null;
+        gridLayer = null;
+    }
+
+    /**
+     * Pre-renderiza las capas que no cambian entre frames:
+     * fondo del nivel + muros, y las líneas del grid.
+     */
+    private void buildStaticLayers() {
+        int w = Math.max(1, layoutWidth);
+        int h = Math.max(1, layoutHeight);
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+
+        backgroundLayer = (gc != null) ? gc.createCompatibleImage(w, h)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D bg = backgroundLayer.createGraphics();
+        bg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        // 1. Fondo del nivel específico
+        boolean complete = true;
+        if (levelBackground != null) {
+            complete = bg.drawImage(levelBackground, 0, 0, w, h, this);
+        } else {
+            // Fallback si no hay fondo del nivel
+            bg.setColor(new Color(200, 230, 255));
+            bg.fillRect(0, 0, w, h);
+        }
+
+        // 2. Muros
+        Color wallFill = new Color(0, 0, 0, 80);
+        Color wallBorder = new Color(0, 0, 0, 100);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                if (walls[y][x]) {
+                    bg.setColor(wallFill);
+                    bg.fillRect(gameAreaX + x * cellW, gameAreaY + y * cellH, cellW, cellH);
+                    bg.setColor(wallBorder);
+                    bg.drawRect(gameAreaX + x * cellW, gameAreaY + y * cellH, cellW, cellH);
+                }
+            }
+        }
+        bg.dispose();
+
+        // 3. Líneas de Grid (matriz), en capa transparente
+        gridLayer = (gc != null) ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D grid = gridLayer.createGraphics();
+        grid.setColor(new Color(100, 100, 100, 100)); // Gris semi-transparente
+        grid.setStroke(new BasicStroke(1));
+
+        // Líneas verticales
+        for (int x = 0; x <= cols; x++) {
+            grid.drawLine(gameAreaX + x * cellW, gameAreaY, gameAreaX + x * cellW, gameAreaY + rows * cellH);
+        }
+
+        // Líneas horizontales
+        for (int y = 0; y <= rows; y++) {
+            grid.drawLine(gameAreaX, gameAreaY + y * cellH, gameAreaX + cols * cellW, gameAreaY + y * cellH);
+        }
+        grid.dispose();
+
+        // Si el fondo aún no terminaba de cargar, se rehace en el siguiente pintado
+        if (!complete) {
+            backgroundLayer = null;
+        }
+    }
+
+    /**
+     * Solo el fondo del nivel se carga de forma asincrona; los sprites son
+     * cuadros ya decodificados y no necesitan ImageObserver.
+     */
+    @Override
+    public boolean imageUpdate(Image img, int infoflags, int x, int y, int w, int h) {
+        if (img == levelBackground) {
+            backgroundLayer = null;
+        }
+        return super.imageUpdate(img, infoflags, x, y, w, h);
+    }
+
+    /**
+     * Perfilador donde registrar el tiempo de pintado y cuyos datos muestra el overlay.
+     */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Muestra u oculta el overlay del perfilador.
+     */
+    public void setProfilerVisible(boolean visible) {
+        this.profilerVisible = visible;
+        repaint(profilerBounds());
+    }
+
+    public boolean isProfilerVisible() {
+        return profilerVisible;
     }
 
     /**
@@ -140,6 +494,7 @@ public class GamePanel extends JPanel {
 
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
         super.paintComponent(g);
 
         // Si no hay mapa cargado, no pintamos nada
@@ -149,53 +504,28 @@ public class GamePanel extends JPanel {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
 
-        // 1. Fondo del nivel específico
-        if (levelBackground != null) {
-            g2.drawImage(levelBackground, 0, 0, getWidth(), getHeight(), this);
-        } else {
-            // Fallback si no hay fondo del nivel
-            g2.setColor(new Color(200, 230, 255));
-            g2.fillRect(0, 0, getWidth(), getHeight());
+        updateLayout();
+        if (backgroundLayer == null || gridLayer == null) {
+            buildStaticLayers();
         }
 
-        // --- DEFINIR ÁREA DE JUEGO CON MÁRGENES ---
-        int hudHeight = 40; // Altura del HUD superior
-        int topMargin = hudHeight + 10; // Margen superior mínimo
-        int bottomMargin = 35; // Margen inferior reducido
-        int leftMargin = 50; // Margen izquierdo (espacio para bordes)
-        int rightMargin = 50; // Margen derecho (espacio para bordes)
-
-        // Área disponible para el juego
-        int gameAreaWidth = getWidth() - leftMargin - rightMargin;
-        int gameAreaHeight = getHeight() - topMargin - bottomMargin;
-        int gameAreaX = leftMargin;
-        int gameAreaY = topMargin;
-
-        // --- CÁLCULO DINÁMICO DE CELDAS ---
-        int cellW = gameAreaWidth / cols;
-        int cellH = gameAreaHeight / rows;
-
-        // Limpiar caché si redimensionan
-        if (Math.abs(getWidth() - lastWidth) > 50) {
-            loader.clearCache();
-            lastWidth = getWidth();
+        // Zona a repintar: con repaint(x,y,w,h) solo se dibuja lo que la toca
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
         }
 
-        // 2. Muros y Bloques de Hielo con animación dominó
-        for (int y = 0; y < rows; y++) {
-            for (int x = 0; x < cols; x++) {
-                // Muros
-                if (walls[y][x]) {
-                    g2.setColor(new Color(0, 0, 0, 80));
-                    g2.fillRect(gameAreaX + x * cellW, gameAreaY + y * cellH, cellW, cellH);
-                    g2.setColor(new Color(0, 0, 0, 100));
-                    g2.drawRect(gameAreaX + x * cellW, gameAreaY + y * cellH, cellW, cellH);
-                }
-            }
+        // 1-2. Fondo del nivel y muros (pre-renderizados)
+        if (backgroundLayer != null) {
+            g2.drawImage(backgroundLayer, 0, 0, null);
         }
 
         // 3. Entidades (La lista que nos pasó la GUI)
-        for (EntityInfo info : entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            EntityInfo info = entities.get(i);
+            if (!touchesClip(info, clip)) {
+                continue;
+            }
             int drawW = cellW;
             int drawH = cellH;
             int offsetXAdjust = 0;
@@ -203,42 +533,56 @@ public class GamePanel extends JPanel {
 
             if (info.type.equals("CHERRY")) {
                 // Cerezas un poco más grandes pero dentro de su celda
-                drawW = (int) (cellW * 1.3);
-                drawH = (int) (cellH * 1.3);
+                drawW = (int) (cellW * CHERRY_SCALE);
+                drawH = (int) (cellH * CHERRY_SCALE);
                 // Centrar dentro de la celda
                 offsetXAdjust = (cellW - drawW) / 2;
                 offsetYAdjust = (cellH - drawH) / 2;
             }
 
-            Image img = loader.getImage(info.type, drawW, drawH);
-            if (img != null) {
+            Image img = spriteFrame(info.type, drawW, drawH);
+            if (img != null && info.progress < 1.0f) {
+                // Hielo apareciendo o desvaneciendose: el cuadro de la celda se
+                // escala al dibujarlo (sin cachear un sprite por tamaño)
+                int scaledW = Math.max(1, (int) (drawW * info.progress));
+                int scaledH = Math.max(1, (int) (drawH * info.progress));
+                g2.drawImage(img, gameAreaX + info.x * cellW + offsetXAdjust + (drawW - scaledW) / 2,
+                        gameAreaY + info.y * cellH + offsetYAdjust + (drawH - scaledH) / 2,
+                        scaledW, scaledH, null);
+            } else if (img != null) {
                 g2.drawImage(img, gameAreaX + info.x * cellW + offsetXAdjust,
-                        gameAreaY + info.y * cellH + offsetYAdjust, this);
+                        gameAreaY + info.y * cellH + offsetYAdjust, null);
             } else {
                 drawFallback(g2, info, cellW, cellH, gameAreaX, gameAreaY);
             }
         }
 
         // 4. Dibujar Jugadores (separados de la lista de entidades)
-        drawPlayer(g2, player1, cellW, cellH, gameAreaX, gameAreaY);
-        drawPlayer(g2, player2, cellW, cellH, gameAreaX, gameAreaY);
+        if (touchesClip(player1, clip))
+            drawPlayer(g2, player1, cellW, cellH, gameAreaX, gameAreaY);
+        if (touchesClip(player2, clip))
+            drawPlayer(g2, player2, cellW, cellH, gameAreaX, gameAreaY);
 
-        // 4. Líneas de Grid (matriz)
-        g2.setColor(new Color(100, 100, 100, 100)); // Gris semi-transparente
-        g2.setStroke(new BasicStroke(1));
+        // 4. Líneas de Grid (pre-renderizadas, encima de las entidades)
+        g2.drawImage(gridLayer, 0, 0, null);
 
-        // Líneas verticales
-        for (int x = 0; x <= cols; x++) {
-            g2.drawLine(gameAreaX + x * cellW, gameAreaY, gameAreaX + x * cellW, gameAreaY + rows * cellH);
-        }
+        // 5. HUD
+        drawHUD(g2);
 
-        // Líneas horizontales
-        for (int y = 0; y <= rows; y++) {
-            g2.drawLine(gameAreaX, gameAreaY + y * cellH, gameAreaX + cols * cellW, gameAreaY + y * cellH);
+        if (profiler != null) {
+            profiler.record(TickPhase.PAINT, System.nanoTime() - paintStart);
         }
+    }
 
-        // 5. HUD
-        drawHUD(g2);
+    private boolean touchesClip(EntityInfo info, Rectangle clip) {
+        if (info == null) {
+            return false;
+        }
+        int margin = cellW / 2; // Holgura para sprites más grandes que la celda
+        int left = gameAreaX + info.x * cellW - margin;
+        int top = gameAreaY + info.y * cellH - margin;
+        return left < clip.x + clip.width && left + cellW + 2 * margin > clip.x
+                && top < clip.y + clip.height && top + cellH + 2 * margin > clip.y;
     }
 
     private void drawFallback(Graphics2D g, EntityInfo info, int w, int h, int offsetX, int offsetY) {
@@ -263,9 +607,9 @@ public class GamePanel extends JPanel {
         if (player == null) {
             return;
         }
-        Image img = loader.getImage(player.type, cellW, cellH);
+        Image img = spriteFrame(player.type, cellW, cellH);
         if (img != null) {
-            g.drawImage(img, gameAreaX + player.x * cellW, gameAreaY + player.y * cellH, this);
+            g.drawImage(img, gameAreaX + player.x * cellW, gameAreaY + player.y * cellH, null);
         } else {
             drawFallback(g, player, cellW, cellH, gameAreaX, gameAreaY);
         }
@@ -273,7 +617,7 @@ public class GamePanel extends JPanel {
 
     private void drawHUD(Graphics2D g) {
         g.setColor(new Color(0, 0, 0, 150));
-        g.fillRect(0, 0, getWidth(), 40);
+        g.fillRect(0, 0, getWidth(), HUD_HEIGHT);
         g.setColor(Color.WHITE);
         g.setFont(new Font("Monospaced", Font.BOLD, 22));
         g.setColor(Color.GREEN);
@@ -288,27 +632,27 @@ public class GamePanel extends JPanel {
         g.drawString(s2, getWidth() / 2 + 50, 28);
 
         // --- FRUIT COUNTER HUD (Debajo del botón de pausa) ---
-        if (remainingFruits != null && !remainingFruits.isEmpty()) {
-            int startX = 10;
-            int startY = 100;
-            int iconSize = 30;
-            int gap = 10;
+        if (remainingFruits != null && remainingFruits.getTotal() > 0) {
+            int startX = FRUIT_HUD_X;
+            int startY = FRUIT_HUD_Y;
+            int iconSize = FRUIT_ICON_SIZE;
+            int gap = FRUIT_ICON_GAP;
             int i = 0;
 
             g.setFont(new Font("Arial", Font.BOLD, 16));
             g.setColor(new Color(0, 0, 0, 100));
             // Fondo semitransparente para los contadores
-            g.fillRoundRect(startX - 5, startY - 5, 80, remainingFruits.size() * (iconSize + gap) + 10, 10, 10);
+            g.fillRoundRect(startX - 5, startY - 5, 80, remainingFruits.getActiveTypeCount() * (iconSize + gap) + 10, 10, 10);
 
-            for (java.util.Map.Entry<String, Integer> entry : remainingFruits.entrySet()) {
-                String fruitType = entry.getKey();
-                int count = entry.getValue();
+            for (int type = 0; type < remainingFruits.getTypeCount(); type++) {
+                String fruitType = remainingFruits.getTypeName(type);
+                int count = remainingFruits.getCount(type);
 
                 if (count > 0) {
                     // Dibujar icono
-                    Image img = loader.getImage(fruitType, iconSize, iconSize);
+                    Image img = spriteFrame(fruitType, iconSize, iconSize);
                     if (img != null) {
-                        g.drawImage(img, startX, startY + i * (iconSize + gap), this);
+                        g.drawImage(img, startX, startY + i * (iconSize + gap), null);
                     }
 
                     // Dibujar número
@@ -319,5 +663,52 @@ public class GamePanel extends JPanel {
                 }
             }
         }
+
+        if (profilerVisible && profiler != null) {
+            drawProfiler(g);
+        }
+    }
+
+    private Rectangle profilerBounds() {
+        int lines = PROFILER_PHASES.length + 2;
+        return new Rectangle(getWidth() - PROFILER_WIDTH - 10, HUD_HEIGHT + 10,
+                PROFILER_WIDTH, lines * PROFILER_LINE + 16);
+    }
+
+    /**
+     * Tabla del perfilador: p50, p99 y maximo de cada fase en milisegundos,
+     * y una barra con la mediana del tick frente al presupuesto del frame.
+     */
+    private void drawProfiler(Graphics2D g) {
+        Rectangle box = profilerBounds();
+        g.setColor(new Color(0, 0, 0, 180));
+        g.fillRoundRect(box.x, box.y, box.width, box.height, 10, 10);
+
+        g.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        int x = box.x + 8;
+        int y = box.y + PROFILER_LINE;
+        g.setColor(Color.WHITE);
+        g.drawString(String.format("%-10s %7s %7s %7s", "fase (ms)", "p50", "p99", "max"), x, y);
+
+        double budget = profiler.getFrameBudgetMillis();
+        for (TickPhase phase : PROFILER_PHASES) {
+            y += PROFILER_LINE;
+            double p99 = TickProfiler.toMillis(profiler.getP99Nanos(phase));
+            g.setColor(p99 > budget ? Color.RED : Color.LIGHT_GRAY);
+            g.drawString(String.format("%-10s %7.3f %7.3f %7.3f", phase.getLabel(),
+                    TickProfiler.toMillis(profiler.getP50Nanos(phase)), p99,
+                    TickProfiler.toMillis(profiler.getMaxNanos(phase))), x, y);
+        }
+
+        // Barra: fraccion del presupuesto que usa la mediana del tick
+        y += PROFILER_LINE / 2;
+        int barWidth = box.width - 16;
+        double used = TickProfiler.toMillis(profiler.getP50Nanos(TickPhase.TICK)) / budget;
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(x, y, barWidth, 8);
+        g.setColor(used > 1.0 ? Color.RED : used > 0.5 ? Color.ORANGE : Color.GREEN);
+        g.fillRect(x, y, (int) (barWidth * Math.min(1.0, used)), 8);
+        g.setColor(Color.WHITE);
+        g.drawString(String.format("presupuesto %.1f ms", budget), x, y + PROFILER_LINE + 4);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package presentation;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Iterator;
+
+/**
+ * Decodifica todos los cuadros de un GIF animado con ImageIO.
+ *
+ * <p>Cada cuadro del archivo es solo un parche sobre el anterior (posicion,
+ * metodo de descarte), asi que se componen sobre un lienzo del tamaño
+ * logico del GIF para obtener imagenes completas, como las mostraria
+ * un navegador.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see SpriteAnimation
+ */
+class GifDecoder {
+
+    private static final String STREAM_FORMAT = "javax_imageio_gif_stream_1.0";
+    private static final String IMAGE_FORMAT = "javax_imageio_gif_image_1.0";
+
+    /** Los navegadores tratan demoras de 0-1 centesimas como 100 ms */
+    private static final int DEFAULT_DELAY_MS = 100;
+
+    private GifDecoder() {
+    }
+
+    /**
+     * @return Animacion a tamaño original
+     * @throws IOException Si el archivo no se puede leer como GIF
+     */
+    static SpriteAnimation decode(URL url) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+        if (!readers.hasNext())
+            throw new IOException("No hay lector de GIF disponible");
+        ImageReader reader = readers.next();
+
+        try (InputStream stream = url.openStream();
+                ImageInputStream in = ImageIO.createImageInputStream(stream)) {
+            reader.setInput(in, false);
+            int count = reader.getNumImages(true);
+            if (count <= 0)
+                throw new IOException("GIF sin cuadros: " + url);
+
+            Dimension size = logicalSize(reader);
+            BufferedImage canvas = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+            Image[] frames = new Image[count];
+            int[] delays = new int[count];
+
+            for (int i = 0; i < count; i++) {
+                BufferedImage patch = reader.read(i);
+                IIOMetadataNode meta = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree(IMAGE_FORMAT);
+                IIOMetadataNode descriptor = child(meta, "ImageDescriptor");
+                IIOMetadataNode control = child(meta, "GraphicControlExtension");
+                int left = intAttribute(descriptor, "imageLeftPosition");
+                int top = intAttribute(descriptor, "imageTopPosition");
+                String disposal = control != null ? control.getAttribute("disposalMethod") : "none";
+                int delay = control != null ? intAttribute(control, "delayTime") * 10 : 0;
+                delays[i] = delay > 10 ? delay : DEFAULT_DELAY_MS;
+
+                BufferedImage previous = "restoreToPrevious".equals(disposal) ? copy(canvas) : null;
+
+                Graphics2D g = canvas.createGraphics();
+                g.drawImage(patch, left, top, null);
+                frames[i] = copy(canvas);
+
+                // Preparar el lienzo para el siguiente cuadro
+                if ("restoreToBackgroundColor".equals(disposal)) {
+                    g.setComposite(AlphaComposite.Clear);
+                    g.fillRect(left, top, patch.getWidth(), patch.getHeight());
+                }
+                g.dispose();
+                if (previous != null)
+                    canvas = previous;
+            }
+            return new SpriteAnimation(frames, delays);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static Dimension logicalSize(ImageReader reader) throws IOException {
+        IIOMetadata streamMeta = reader.getStreamMetadata();
+        if (streamMeta != null) {
+            IIOMetadataNode root = (IIOMetadataNode) streamMeta.getAsTree(STREAM_FORMAT);
+            IIOMetadataNode screen = child(root, "LogicalScreenDescriptor");
+            int width = intAttribute(screen, "logicalScreenWidth");
+            int height = intAttribute(screen, "logicalScreenHeight");
+            if (width > 0 && height > 0)
+                return new Dimension(width, height);
+        }
+        return new Dimension(reader.getWidth(0), reader.getHeight(0));
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode parent, String name) {
+        if (parent == null)
+            return null;
+        for (int i = 0; i < parent.getLength(); i++) {
+            if (parent.item(i).getNodeName().equals(name))
+                return (IIOMetadataNode) parent.item(i);
+        }
+        return null;
+    }
+
+    private static int intAttribute(IIOMetadataNode node, String name) {
+        if (node == null)
+            return 0;
+        try {
+            return Integer.parseInt(node.getAttribute(name));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static BufferedImage copy(BufferedImage source) {
+        BufferedImage copy = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+}
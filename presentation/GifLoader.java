@@ -1,7 +1,6 @@
 package presentation;
 
 import javax.swing.*;
-import java.awt.*;
 
 /**
  * Cargador especializado de archivos GIF animados.
@@ -27,12 +26,8 @@ public class GifLoader {
      * Carga un GIF y lo escala al tamaño deseado (pierde animación)
      */
     public ImageIcon getGif(String nombre, int width, int height) {
-        java.net.URL url = getClass().getResource(carpetaBase + nombre);
-        if (url == null) return null;
-
-        ImageIcon icon = new ImageIcon(url);
-        Image imgEscalada = icon.getImage().getScaledInstance(width, height, Image.SCALE_DEFAULT);
-        return new ImageIcon(imgEscalada);
+        // Cache compartida: cada GIF y tamaño se carga una sola vez
+        return AssetCache.getInstance().getScaledIcon(carpetaBase + nombre, width, height);
     }
 
     // Animaciones comunes
@@ -2,9 +2,8 @@ package presentation;
 
 import javax.swing.*;
 import java.awt.*;
-import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Cargador y cache de imagenes para la interfaz grafica.
@@ -21,43 +20,113 @@ import java.util.Map;
  * 
  * <p>Optimizaciones:</p>
  * <ul>
- *   <li>Cache de imagenes para evitar cargas repetidas</li>
- *   <li>Escalado automatico de sprites</li>
+ *   <li>Cache compartida por todo el proceso (AssetCache): cada recurso se
+ *       decodifica y escala una sola vez aunque haya varios ImageLoader</li>
+ *   <li>Escalado automatico de sprites (atlas por tamaño)</li>
+ *   <li>GIF de sprites pre-decodificados en cuadros (SpriteAnimation)</li>
  *   <li>Soporte para ImageIcon y Image</li>
  * </ul>
  * 
  * @author Diego Montes y Juan David Valero
  * @version 1.0
+ * @see AssetCache
  */
 public class ImageLoader {
 
-    private Map<String, Image> cache;
-    private Map<String, ImageIcon> iconCache;
+    // Claves que aceptan getSprite, getBackgroundImage, getIcon y getPath
+    // (mantener al dia con los switch de abajo: se usan para precargar)
+    private static final String[] SPRITE_TYPES = { "PLAYER_CHOCOLATE", "PLAYER_VANILLA", "PLAYER_STRAWBERRY",
+            "TROLL", "SQUID", "FLOWERPOT", "NARWHAL", "NARWHAL_DASH",
+            "BANANA", "GRAPE", "PINEAPPLE", "CHERRY", "CACTUS", "CACTUS_SPIKES",
+            "ICE", "CAMPFIRE", "CAMPFIRE_OFF", "HOT_TILE" };
+    private static final String[] BACKGROUNDS = { "SPLASH", "HOME", "MODE", "SELECT", "LEVEL", "MENU_BOARD",
+            "LEVEL_1", "LEVEL_2", "LEVEL_3" };
+    private static final String[] CHARACTERS = { "CHOCOLATE", "VANILLA", "STRAWBERRY",
+            "TROLL", "SQUID", "FLOWERPOT", "NARWHAL" };
+    private static final String[] CHARACTER_STATES = { "WALK", "HOVER", "SELECT" };
+    private static final String[] PATH_KEYS = { "BTN_SINGLE", "BTN_PVP", "BTN_PVM", "BTN_MVM",
+            "LEVEL_1", "LEVEL_2", "LEVEL_3", "LEVEL_4" };
+
+    private final AssetCache assets;
 
     public ImageLoader() {
-        this.cache = new HashMap<>();
-        this.iconCache = new HashMap<>();
+        this.assets = AssetCache.getInstance();
     }
 
     // --- MÉTODOS PÚBLICOS ---
 
-    public Image getImage(String type, int width, int height) {
-        String key = type + "_" + width + "_" + height;
-        if (!cache.containsKey(key)) {
-            Image rawImg = loadRawImage(type);
-            if (rawImg != null) {
-                // Usamos SCALE_DEFAULT para respetar animaciones GIF si es posible
-                Image scaled = rawImg.getScaledInstance(width, height, Image.SCALE_DEFAULT);
-                cache.put(key, scaled);
-            } else {
-                return null;
+    /**
+     * Sprite del juego ya escalado, con todos sus cuadros decodificados.
+     * El cuadro a dibujar se elige con SpriteAnimation.frameAt y el reloj de juego.
+     * 
+     * @param type Tipo de entidad (ej. "TROLL", "ICE")
+     * @return La animacion, o null si el tipo no tiene imagen
+     */
+    public SpriteAnimation getSprite(String type, int width, int height) {
+        return assets.getAnimation(getSpritePath(type), width, height);
+    }
+
+    /**
+     * Escala todos los sprites del juego a width x height (ver GamePanel.prepareSprites).
+     */
+    public void prepareSprites(int width, int height) {
+        for (String type : SPRITE_TYPES) {
+            getSprite(type, width, height);
+        }
+    }
+
+    /**
+     * Icono compartido de un recurso por ruta (ej. las de getPath).
+     */
+    public ImageIcon getIconByPath(String path) {
+        return assets.getIcon(path);
+    }
+
+    /**
+     * Icono compartido de un recurso por ruta, escalado a width x height.
+     */
+    public ImageIcon getScaledIcon(String path, int width, int height) {
+        return assets.getScaledIcon(path, width, height);
+    }
+
+    /**
+     * Una tarea por recurso conocido, para decodificarlos todos por adelantado
+     * (ver AssetPreloader). Primero los sprites del juego, que son los mas
+     * costosos, luego iconos de personajes, botones y fondos.
+     */
+    public List<Runnable> getPreloadTasks() {
+        List<Runnable> tasks = new ArrayList<>();
+        for (String type : SPRITE_TYPES) {
+            String path = getSpritePath(type);
+            tasks.add(() -> assets.getOriginalAnimation(path));
+        }
+        for (String name : CHARACTERS) {
+            for (String state : CHARACTER_STATES) {
+                tasks.add(() -> getIcon(name, state));
             }
         }
-        return cache.get(key);
+        for (String key : PATH_KEYS) {
+            String path = getPath(key, "");
+            tasks.add(() -> assets.getIcon(path));
+        }
+        for (String name : BACKGROUNDS) {
+            tasks.add(() -> getBackgroundImage(name));
+        }
+        return tasks;
+    }
+
+    /**
+     * Libera los sprites escalados a width x height (ver AssetCache.releaseSize).
+     */
+    public void releaseSprites(int width, int height) {
+        assets.releaseSize(width, height);
     }
 
+    /**
+     * Descarta las versiones escaladas de la cache compartida.
+     */
     public void clearCache() {
-        cache.clear();
+        assets.clearScaled();
     }
 
     public Image getBackgroundImage(String name) {
@@ -106,20 +175,14 @@ public class ImageLoader {
             default:
                 return null;
         }
-        return loadStartImage(path);
+        return assets.getImage(path);
     }
 
     public ImageIcon getIcon(String characterName, String state) {
         String path = getCharacterPath(characterName, state);
         if (path == null)
             return null;
-
-        if (!iconCache.containsKey(path)) {
-            URL url = getClass().getResource(path);
-            if (url != null)
-                iconCache.put(path, new ImageIcon(url));
-        }
-        return iconCache.get(path);
+        return assets.getIcon(path);
     }
 
     public String getPath(String key, String sub) {
@@ -147,7 +210,7 @@ public class ImageLoader {
 
     // --- LÓGICA INTERNA ---
 
-    private Image loadRawImage(String type) {
+    private String getSpritePath(String type) {
         String path = null;
         switch (type) {
             case "PLAYER_CHOCOLATE":
@@ -213,7 +276,7 @@ public class ImageLoader {
             default:
                 return null;
         }
-        return loadStartImage(path);
+        return path;
     }
 
     private String getCharacterPath(String name, String state) {
@@ -278,15 +341,4 @@ public class ImageLoader {
         }
         return "/presentation/" + folder + "/" + file;
     }
-
-    private Image loadStartImage(String path) {
-        if (path == null)
-            return null;
-        URL url = getClass().getResource(path);
-        if (url == null) {
-            System.err.println("❌ ERROR: No se encontró la imagen: " + path);
-            return null;
-        }
-        return new ImageIcon(url).getImage();
-    }
-}
\ No newline at end of file
+}
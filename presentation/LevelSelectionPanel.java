@@ -78,12 +78,10 @@ public class LevelSelectionPanel extends JPanel {
         try {
             // CORRECCIÓN: Las imágenes están en /presentation/ y tienen mayúscula
             // (Nivel1.png)
-            java.net.URL imageUrl = getClass().getResource("/presentation/" + imagePath);
-            if (imageUrl != null) {
-                ImageIcon icon = new ImageIcon(imageUrl);
-                // Escalar la imagen al tamaño del botón
-                Image scaledImage = icon.getImage().getScaledInstance(150, 80, Image.SCALE_SMOOTH);
-                btn.setIcon(new ImageIcon(scaledImage));
+            // Escalada al tamaño del botón (compartida, se decodifica una sola vez)
+            ImageIcon icon = loader.getScaledIcon("/presentation/" + imagePath, 150, 80);
+            if (icon != null) {
+                btn.setIcon(icon);
             } else {
                 // Fallback: si no se encuentra la imagen, usar texto
                 btn.setText(text);
@@ -107,10 +105,7 @@ public class LevelSelectionPanel extends JPanel {
         String path = loader.getPath(gifKey, "");
         if (path != null) {
             try {
-                java.net.URL url = getClass().getResource(path);
-                if (url != null) {
-                    previewGif = new ImageIcon(url);
-                }
+                previewGif = loader.getIconByPath(path);
             } catch (Exception e) {
                 System.err.println("⚠ No se pudo cargar preview: " + path);
             }
@@ -38,10 +38,8 @@ public class ModeSelection extends JFrame {
 
         pixelFont = new Font("Monospaced", Font.BOLD, 18);
 
-        ImageIcon gif = new ImageIcon(getClass().getResource("FondoModo.gif"));
-        Image img = gif.getImage().getScaledInstance(size.width, size.height, Image.SCALE_DEFAULT);
-
-        JLabel background = new JLabel(new ImageIcon(img));
+        AssetCache assets = AssetCache.getInstance();
+        JLabel background = new JLabel(assets.getScaledIcon("/presentation/FondoModo.gif", size.width, size.height));
         background.setLayout(null);
         setContentPane(background);
 
@@ -95,16 +93,15 @@ public class ModeSelection extends JFrame {
     }
 
     private JButton createGifButton(String gifName, String htmlText) {
-        ImageIcon original = new ImageIcon(getClass().getResource(gifName));
+        String path = "/presentation/" + gifName;
+        ImageIcon original = AssetCache.getInstance().getIcon(path);
 
         int newW = (int) (original.getIconWidth() * 0.60);
         int newH = (int) (original.getIconHeight() * 0.42);
 
-        Image img1 = original.getImage().getScaledInstance(newW, newH, Image.SCALE_DEFAULT);
-        ImageIcon animated = new ImageIcon(img1);
-
-        Image img2 = original.getImage().getScaledInstance(newW, newH, Image.SCALE_DEFAULT);
-        ImageIcon idle = new ImageIcon(img2);
+        // La misma version escalada sirve para ambos estados
+        ImageIcon animated = AssetCache.getInstance().getScaledIcon(path, newW, newH);
+        ImageIcon idle = animated;
 
         JButton b = new JButton(idle);
         b.setLayout(null);
@@ -63,9 +63,8 @@ public class ModeSelectionPanel extends JPanel {
         String path = loader.getPath(imgKey, "");
         if (path != null) {
             try {
-                java.net.URL url = getClass().getResource(path);
-                if (url != null) {
-                    ImageIcon icon = new ImageIcon(url);
+                ImageIcon icon = loader.getIconByPath(path);
+                if (icon != null) {
                     btn = new JButton(icon);
                     btn.setBorderPainted(false);
                     btn.setContentAreaFilled(false);
@@ -8,12 +8,19 @@ import java.awt.*;
  * Muestra una animacion o imagen de bienvenida.
  * El usuario puede hacer clic para continuar al menu principal.
  * 
+ * <p>Mientras se ve, AssetPreloader decodifica los recursos en segundo
+ * plano y el panel muestra su avance con una barra (setProgress). Se puede
+ * continuar antes de que termine: lo que falte se sigue cargando.</p>
+ * 
  * @author Diego Montes y Juan David Valero
  * @version 1.0
  * @see BadOpoGUI
+ * @see AssetPreloader
  */
 public class SplashPanel extends JPanel {
     private Image splashImage;
+    private int loaded;
+    private int toLoad; // 0 = sin precarga en curso
 
     public SplashPanel(ImageLoader loader, Runnable onClick) {
         setBackground(Color.BLACK);
@@ -29,6 +36,15 @@ public class SplashPanel extends JPanel {
         }
     }
 
+    /**
+     * Avance de la precarga (se llama en el EDT).
+     */
+    public void setProgress(int loaded, int toLoad) {
+        this.loaded = loaded;
+        this.toLoad = toLoad;
+        repaint(0, getHeight() - 40, getWidth(), 40);
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -51,5 +67,22 @@ public class SplashPanel extends JPanel {
             x = (getWidth() - fm.stringWidth(info)) / 2;
             g.drawString(info, x, y + 40);
         }
+
+        drawProgress(g);
+    }
+
+    private void drawProgress(Graphics g) {
+        if (toLoad <= 0 || loaded >= toLoad)
+            return;
+        int barWidth = getWidth() / 2;
+        int x = (getWidth() - barWidth) / 2;
+        int y = getHeight() - 25;
+        g.setColor(new Color(0, 0, 0, 150));
+        g.fillRect(x - 2, y - 2, barWidth + 4, 12);
+        g.setColor(Color.CYAN);
+        g.fillRect(x, y, barWidth * loaded / toLoad, 8);
+        g.setColor(Color.WHITE);
+        g.setFont(new Font("Monospaced", Font.BOLD, 12));
+        g.drawString("Cargando " + loaded + "/" + toLoad, x, y - 6);
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package presentation;
+
+import java.awt.*;
+
+/**
+ * Cuadros ya decodificados (y escalados) de un sprite, con la duracion de
+ * cada uno. El cuadro a dibujar se elige con un reloj externo (el tiempo
+ * de juego de la foto), asi que no hace falta un ImageObserver que
+ * dispare repaints por cada cuadro del GIF.
+ *
+ * <p>Un sprite estatico es una animacion de un solo cuadro.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see AssetCache#getAnimation(String, int, int)
+ */
+public class SpriteAnimation {
+
+    private final Image[] frames;
+    private final int[] frameEnds; // Fin acumulado de cada cuadro en ms
+    private final int duration;
+
+    /**
+     * @param frames Cuadros en orden (al menos uno)
+     * @param delays Duracion de cada cuadro en ms (mismo largo que frames)
+     */
+    SpriteAnimation(Image[] frames, int[] delays) {
+        this.frames = frames;
+        this.frameEnds = new int[delays.length];
+        int total = 0;
+        for (int i = 0; i < delays.length; i++) {
+            total += delays[i];
+            frameEnds[i] = total;
+        }
+        this.duration = total;
+    }
+
+    /**
+     * Indice del cuadro que corresponde al instante dado.
+     *
+     * @param millis Reloj de la animacion en milisegundos
+     */
+    public int frameIndexAt(long millis) {
+        if (frames.length == 1 || duration <= 0)
+            return 0;
+        int t = (int) Math.floorMod(millis, (long) duration);
+        // Busqueda binaria del primer cuadro que termina despues de t
+        int low = 0;
+        int high = frameEnds.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (frameEnds[mid] <= t)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    public Image frameAt(long millis) {
+        return frames[frameIndexAt(millis)];
+    }
+
+    public Image getFrame(int index) {
+        return frames[index];
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Duracion de cada cuadro en ms, para escalar la animacion conservando sus tiempos.
+     */
+    int[] getDelays() {
+        int[] delays = new int[frameEnds.length];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = frameEnds[i] - (i == 0 ? 0 : frameEnds[i - 1]);
+        }
+        return delays;
+    }
+}
@@ -0,0 +1,78 @@
+package presentation;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Atlas de sprites estaticos de un mismo tamaño: en vez de una imagen por
+ * sprite, cada uno se dibuja ya escalado en una casilla de paginas
+ * compatibles con la pantalla (createCompatibleImage), y se entrega como
+ * sub-imagen que comparte los pixeles de la pagina.
+ *
+ * <p>Las paginas no se redimensionan (las sub-imagenes ya entregadas
+ * apuntan a ellas): cuando una se llena se crea otra.</p>
+ *
+ * @author Diego Montes y Juan David Valero
+ * @version 1.0
+ * @see AssetCache
+ */
+class SpriteAtlas {
+
+    /** Lado maximo de una pagina en pixeles */
+    private static final int MAX_PAGE_SIDE = 1024;
+    /** Casillas por pagina (pocos sprites por tamaño: paginas pequeñas) */
+    private static final int MAX_COLUMNS = 8;
+    private static final int MAX_ROWS = 4;
+
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int columns;
+    private final int rows;
+    private final List<BufferedImage> pages = new ArrayList<>();
+    private int used; // Casillas ocupadas en la ultima pagina
+
+    SpriteAtlas(int cellWidth, int cellHeight) {
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.columns = Math.max(1, Math.min(MAX_COLUMNS, MAX_PAGE_SIDE / cellWidth));
+        this.rows = Math.max(1, Math.min(MAX_ROWS, MAX_PAGE_SIDE / cellHeight));
+    }
+
+    /**
+     * Dibuja source escalado al tamaño del atlas en la siguiente casilla libre.
+     *
+     * @return Sub-imagen de la casilla
+     */
+    synchronized BufferedImage add(Image source) {
+        if (pages.isEmpty() || used == columns * rows) {
+            pages.add(createPage());
+            used = 0;
+        }
+        BufferedImage page = pages.get(pages.size() - 1);
+        int x = (used % columns) * cellWidth;
+        int y = (used / columns) * cellHeight;
+        used++;
+
+        Graphics2D g = page.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, x, y, cellWidth, cellHeight, null);
+        g.dispose();
+        return page.getSubimage(x, y, cellWidth, cellHeight);
+    }
+
+    synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    private BufferedImage createPage() {
+        int width = columns * cellWidth;
+        int height = rows * cellHeight;
+        GraphicsConfiguration gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDefaultConfiguration();
+        return (gc != null) ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
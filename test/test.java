@@ -1,13 +1,33 @@
 package test;
 
+import domain.board.BoardController;
+import domain.board.CellSet;
+import domain.enemies.Enemy;
+import domain.enemies.EnemyController;
+import domain.game.DomainController;
+import domain.game.ReplayPlayer;
+import domain.game.ReplayRecorder;
+import domain.items.Item;
+import domain.items.ItemController;
+import domain.level.LevelConfiguration;
 import domain.players.BotPlayer;
 import domain.players.IceCreamFlavor;
 import domain.players.PlayerType;
+import domain.shared.ActionType;
+import domain.shared.BadOpoException;
 import domain.shared.Direction;
+import domain.shared.EntityType;
+import domain.shared.GameStatus;
 import domain.shared.EntityInfo;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 public class test {
 
@@ -18,17 +38,36 @@ public class test {
         boolean verifyDirectionTowards = testGetDirectionTowards();
         boolean verifyDirectionAway = testGetDirectionAwayFrom();
         boolean verifyIsBot = testIsBot();
+        boolean verifyWallMap = testWallMapIgnoresIce();
+        boolean verifyMapIce = testMapIceStartsFormed();
+        boolean verifySweptCollision = testSweptCollision();
+        boolean verifyTimers = testItemTimers();
+        boolean verifyDomino = testDominoChains();
+        boolean verifyCellSet = testCellSetSelect();
+        boolean verifySpawns = testSpawnPositions();
+        boolean verifySaveReplay = testSaveAndReplayRoundTrip();
 
         System.out.println("\n--- Resumen de Pruebas ---");
         System.out.println("testFindNearest: " + (verifyNearest ? "PASO" : "FALLO"));
         System.out.println("testGetDirectionTowards: " + (verifyDirectionTowards ? "PASO" : "FALLO"));
         System.out.println("testGetDirectionAwayFrom: " + (verifyDirectionAway ? "PASO" : "FALLO"));
         System.out.println("testIsBot: " + (verifyIsBot ? "PASO" : "FALLO"));
+        System.out.println("testWallMapIgnoresIce: " + (verifyWallMap ? "PASO" : "FALLO"));
+        System.out.println("testMapIceStartsFormed: " + (verifyMapIce ? "PASO" : "FALLO"));
+        System.out.println("testSweptCollision: " + (verifySweptCollision ? "PASO" : "FALLO"));
+        System.out.println("testItemTimers: " + (verifyTimers ? "PASO" : "FALLO"));
+        System.out.println("testDominoChains: " + (verifyDomino ? "PASO" : "FALLO"));
+        System.out.println("testCellSetSelect: " + (verifyCellSet ? "PASO" : "FALLO"));
+        System.out.println("testSpawnPositions: " + (verifySpawns ? "PASO" : "FALLO"));
+        System.out.println("testSaveAndReplayRoundTrip: " + (verifySaveReplay ? "PASO" : "FALLO"));
 
-        if (verifyNearest && verifyDirectionTowards && verifyDirectionAway && verifyIsBot) {
+        if (verifyNearest && verifyDirectionTowards && verifyDirectionAway && verifyIsBot
+                && verifyWallMap && verifyMapIce && verifySweptCollision && verifyTimers
+                && verifyDomino && verifyCellSet && verifySpawns && verifySaveReplay) {
             System.out.println("\n TODAS LAS PRUEBAS PASARON CORRECTAMENTE.");
         } else {
             System.out.println("\n ALGUNAS PRUEBAS FALLARON.");
+            System.exit(1); // Que mvn test falle
         }
     }
 
@@ -144,4 +183,599 @@ public class test {
             return false;
         }
     }
+
+    // Partida SINGLE con semilla fija y sin enemigos ni obstaculos aleatorios:
+    // el jugador 1 aparece en (1, 1)
+    private static DomainController quietGame(String[] map) throws BadOpoException {
+        LevelConfiguration config = new LevelConfiguration();
+        for (String enemy : new String[] { "TROLL", "SQUID", "FLOWERPOT", "NARWHAL" }) {
+            config.setEnemyCount(enemy, 0);
+        }
+        for (String obstacle : new String[] { "ICE_BLOCK", "CAMPFIRE", "HOT_TILE" }) {
+            config.setObstacleCount(obstacle, 0);
+        }
+        DomainController domain = new DomainController();
+        domain.setGameMode("SINGLE");
+        domain.setRandomSeed(7);
+        domain.setLevelConfiguration(config);
+        domain.loadLevel(map);
+        return domain;
+    }
+
+    private static int countType(List<EntityInfo> objects, String type) {
+        int count = 0;
+        for (EntityInfo info : objects) {
+            if (type.equals(info.type)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean testWallMapIgnoresIce() {
+        System.out.print("Ejecutando testWallMapIgnoresIce... ");
+        try {
+            DomainController domain = quietGame(new String[] {
+                    "........",
+                    ".PII....",
+                    "........",
+                    "........",
+                    "........",
+                    "........" });
+            boolean[][] walls = domain.getWallMap();
+            if (walls[1][2] || walls[1][3]) {
+                System.out.println("ERROR. El hielo del mapa aparece como muro");
+                return false;
+            }
+
+            // El jugador mira a la derecha y rompe la hilera
+            domain.handlePlayerAction("player1", ActionType.BREAK_ICE, Direction.RIGHT);
+            for (int i = 0; i < 60; i++) {
+                domain.updateGameLoop(0.016f);
+            }
+            if (countType(domain.getObjectsToDraw(), "ICE") != 0) {
+                System.out.println("ERROR. El hielo no se rompio");
+                return false;
+            }
+            walls = domain.getWallMap();
+            for (int y = 0; y < walls.length; y++) {
+                for (int x = 0; x < walls[y].length; x++) {
+                    if (walls[y][x] || domain.isWall(x, y)) {
+                        System.out.println("ERROR. Muro inesperado en (" + x + ", " + y + ")");
+                        return false;
+                    }
+                }
+            }
+            if (!domain.isWall(-1, 1)) {
+                System.out.println("ERROR. El borde del tablero deberia ser muro");
+                return false;
+            }
+
+            // Mas de 64 columnas: cada fila ocupa dos palabras del tablero
+            BoardController board = new BoardController(70, 3);
+            for (int x : new int[] { 0, 5, 63, 64, 69 }) {
+                board.setMapObstacle(x, 1, EntityType.WALL);
+            }
+            board.setMapObstacle(6, 1, EntityType.ICE_BLOCK);
+            boolean[] wallRow = new boolean[70];
+            for (int y = -1; y <= 3; y++) {
+                board.copyWallRow(y, wallRow);
+                for (int x = 0; x < 70; x++) {
+                    if (wallRow[x] != board.isWallAt(x, y)) {
+                        System.out.println("ERROR. Fila de muros incorrecta en (" + x + ", " + y + ")");
+                        return false;
+                    }
+                }
+            }
+        } catch (BadOpoException e) {
+            System.out.println("ERROR. " + e.getMessage());
+            return false;
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    private static boolean testMapIceStartsFormed() {
+        System.out.print("Ejecutando testMapIceStartsFormed... ");
+        try {
+            DomainController domain = quietGame(new String[] {
+                    "........",
+                    "........",
+                    "..III...",
+                    "........",
+                    "........",
+                    "........" });
+            List<EntityInfo> objects = domain.getObjectsToDraw();
+            if (countType(objects, "ICE") != 3) {
+                System.out.println("ERROR. Esperaba 3 bloques de hielo");
+                return false;
+            }
+            for (EntityInfo info : objects) {
+                if ("ICE".equals(info.type) && info.progress != 1.0f) {
+                    System.out.println("ERROR. El hielo del mapa se anima al cargar: " + info.progress);
+                    return false;
+                }
+            }
+        } catch (BadOpoException e) {
+            System.out.println("ERROR. " + e.getMessage());
+            return false;
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    private static Enemy enemyById(EnemyController enemies, String id) {
+        for (Enemy e : enemies.getEnemies()) {
+            if (e.getId().equals(id)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private static boolean testSweptCollision() {
+        System.out.print("Ejecutando testSweptCollision... ");
+        BoardController board = new BoardController(10, 5);
+        ItemController items = new ItemController(board);
+        EnemyController enemies = new EnemyController(board, items);
+
+        // Caso 1: intercambio. El troll (mira a la derecha) va de (3,1) a (4,1)
+        // mientras el jugador va de (4,1) a (3,1)
+        enemies.spawnEnemy("TROLL", "troll", 3, 1);
+        enemies.updatePlayerPos(3, 1);
+        enemies.updateEnemies(0.31f); // 3.3 mov/s: un paso
+        Enemy troll = enemyById(enemies, "troll");
+        if (troll.getX() != 4 || troll.getY() != 1) {
+            System.out.println("ERROR Caso 1. El troll no avanzo: (" + troll.getX() + ", " + troll.getY() + ")");
+            return false;
+        }
+        // Al final del tick estan en celdas distintas: solo el barrido lo ve
+        if (!enemies.checkCollision(4, 1, 3, 1)) {
+            System.out.println("ERROR Caso 1. El intercambio de celdas no se detecto");
+            return false;
+        }
+
+        // Caso 2: sin choque. El jugador sigue al troll (entra a la celda que
+        // el troll dejo) o se aparta de la celda a la que el troll entra
+        if (enemies.checkCollision(2, 1, 3, 1) || enemies.checkCollision(4, 1, 4, 2)) {
+            System.out.println("ERROR Caso 2. Colision falsa");
+            return false;
+        }
+        // Terminar en la misma celda sigue siendo colision
+        if (!enemies.checkCollision(5, 1, 4, 1)) {
+            System.out.println("ERROR Caso 2. No detecto la celda compartida");
+            return false;
+        }
+
+        // Caso 3: atravesar. El narval embiste por la fila 3 y el jugador
+        // avanza hacia el: se cruzan dentro del mismo tick
+        enemies.reset();
+        enemies.spawnEnemy("NARWHAL", "narwhal", 7, 3);
+        enemies.updatePlayerPos(4, 3);
+        enemies.updateEnemies(0.31f); // Se alinea, embiste y pasa a (6,3)
+        if (enemies.checkCollision(4, 3)) {
+            System.out.println("ERROR Caso 3. Colision antes del cruce");
+            return false;
+        }
+        enemies.updatePlayerPos(5, 3);
+        enemies.updateEnemies(0.07f); // Embistiendo (16 mov/s): pasa a (5,3)
+        Enemy narwhal = enemyById(enemies, "narwhal");
+        if (narwhal.getX() != 5) {
+            System.out.println("ERROR Caso 3. El narval no avanzo: x=" + narwhal.getX());
+            return false;
+        }
+        // El jugador fue de (5,3) a (6,3) y el narval de (6,3) a (5,3)
+        if (!enemies.checkCollision(5, 3, 6, 3)) {
+            System.out.println("ERROR Caso 3. El cruce con el narval no se detecto");
+            return false;
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    private static Item itemById(ItemController items, String id) {
+        for (Item item : items.getItems()) {
+            if (item.getId().equals(id)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private static boolean testItemTimers() {
+        System.out.print("Ejecutando testItemTimers... ");
+        BoardController board = new BoardController(12, 8);
+        ItemController items = new ItemController(board);
+
+        // Ticks de 10 ms, el ancho de una casilla de la rueda: el nivel 0
+        // cubre 64 ticks y el nivel 1 64 * 64. Los cactus cambian cada 30 s
+        // (3000 ticks); los que nacen en los ticks 7, 8 y 9 vencen en
+        // 3007, 3008 = 47 * 64 (borde de casilla de nivel 1) y 3009
+        items.spawnObstacle("CAMPFIRE", "fire", 8, 5);
+        Map<String, String> seen = new HashMap<>();
+        List<String> events = new ArrayList<>();
+        Item cancelled = null;
+        for (int tick = 1; tick <= 6100; tick++) {
+            items.updateItems(0.01f);
+            if (items.getClock() != tick * 10_000L) {
+                System.out.println("ERROR. Reloj " + items.getClock() + " en el tick " + tick);
+                return false;
+            }
+            switch (tick) {
+                case 7:
+                    items.spawnFruit("CACTUS", "a", 2, 2);
+                    break;
+                case 8:
+                    items.spawnFruit("CACTUS", "b", 3, 2);
+                    items.spawnFruit("CACTUS", "d", 5, 2); // Mismo plazo que b; se cancela
+                    cancelled = itemById(items, "d");
+                    break;
+                case 9:
+                    items.spawnFruit("CACTUS", "c", 4, 2);
+                    break;
+                case 100:
+                    items.collectItemAt(5, 2); // Cancela su despertar
+                    break;
+                case 20:
+                case 2000:
+                    // Romper hielo sobre la fogata la apaga 10 s
+                    items.createIceBlock(8, 5);
+                    items.breakIceBlock(8, 5);
+                    break;
+                default:
+                    break;
+            }
+            // Cambios de estado desde el tick anterior
+            for (Item item : items.getItems()) {
+                String type = item.getType();
+                String before = seen.put(item.getId(), type);
+                if (before != null && !before.equals(type)) {
+                    events.add(items.getClock() + ":" + item.getId() + "=" + type);
+                }
+            }
+        }
+
+        List<String> expected = Arrays.asList(
+                "200000:fire=CAMPFIRE_OFF",
+                "10200000:fire=CAMPFIRE",
+                "20000000:fire=CAMPFIRE_OFF",
+                "30000000:fire=CAMPFIRE",
+                "30070000:a=CACTUS_SPIKES",
+                "30080000:b=CACTUS_SPIKES",
+                "30090000:c=CACTUS_SPIKES",
+                "60070000:a=CACTUS",
+                "60080000:b=CACTUS",
+                "60090000:c=CACTUS");
+        if (!events.equals(expected)) {
+            System.out.println("ERROR. Despertares " + events);
+            return false;
+        }
+        if (cancelled == null || itemById(items, "d") != null || !"CACTUS".equals(cancelled.getType())) {
+            System.out.println("ERROR. El cactus recolectado siguio despertando");
+            return false;
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    // Hilera horizontal de length celdas desde (1, y)
+    private static List<int[]> row(int y, int length) {
+        List<int[]> positions = new ArrayList<>();
+        for (int x = 1; x <= length; x++) {
+            positions.add(new int[] { x, y });
+        }
+        return positions;
+    }
+
+    private static int iceInRow(ItemController items, int y) {
+        int count = 0;
+        for (int x = 0; x < 12; x++) {
+            if (items.isIceAt(x, y)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean testDominoChains() {
+        System.out.print("Ejecutando testDominoChains... ");
+        BoardController board = new BoardController(12, 12);
+        ItemController items = new ItemController(board);
+
+        // Caso 1: dos hileras independientes. Con ticks de 0.05 s cada hilera
+        // avanza una celda cada dos ticks (DOMINO_DELAY = 0.08 s) con su propio
+        // temporizador: la segunda, creada un tick despues, no espera a la primera
+        items.queueIceCreation(row(1, 5));
+        items.updateItems(0.05f);
+        items.queueIceCreation(row(3, 3));
+        for (int tick = 2; tick <= 8; tick++) {
+            items.updateItems(0.05f);
+            int first = Math.min(5, tick / 2);
+            int second = Math.min(3, (tick - 1) / 2);
+            if (iceInRow(items, 1) != first || iceInRow(items, 3) != second) {
+                System.out.println("ERROR Caso 1. Tick " + tick + ": " + iceInRow(items, 1) + " y "
+                        + iceInRow(items, 3) + ", esperaba " + first + " y " + second);
+                return false;
+            }
+        }
+
+        // Caso 2: el buffer (4 hileras al inicio) da la vuelta y crece.
+        // Con ticks de 0.1 s cada hilera avanza una celda por tick
+        while (items.getActiveDominoChains() > 0) {
+            items.updateItems(0.1f);
+        }
+        int[] rows = { 5, 6, 7, 8, 9, 10, 11 };
+        items.queueIceCreation(row(5, 1)); // A: termina primero, la cabeza avanza
+        items.queueIceCreation(row(6, 3)); // B
+        items.queueIceCreation(row(7, 2)); // C: termina en medio del buffer
+        int[][] expected = {
+                // Hileras activas y celdas de las hileras A..G despues de cada tick
+                { 4, 1, 1, 1, 0, 0, 0, 0 },
+                { 5, 1, 2, 2, 1, 1, 0, 0 },
+                { 1, 1, 3, 2, 2, 2, 1, 1 },
+                { 0, 1, 3, 2, 2, 2, 1, 2 } };
+        for (int tick = 0; tick < expected.length; tick++) {
+            items.updateItems(0.1f);
+            if (tick == 0) {
+                items.queueIceCreation(row(8, 2)); // D y E ocupan el final y el inicio del arreglo
+                items.queueIceCreation(row(9, 2));
+            } else if (tick == 1) {
+                items.queueIceCreation(row(10, 1)); // F y G: el buffer lleno crece
+                items.queueIceCreation(row(11, 2));
+            }
+            int[] state = new int[rows.length + 1];
+            state[0] = items.getActiveDominoChains();
+            for (int r = 0; r < rows.length; r++) {
+                state[r + 1] = iceInRow(items, rows[r]);
+            }
+            if (!Arrays.equals(state, expected[tick])) {
+                System.out.println("ERROR Caso 2. Tick " + tick + ": " + Arrays.toString(state)
+                        + ", esperaba " + Arrays.toString(expected[tick]));
+                return false;
+            }
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    // Compara select(k) de cada rango con el recorrido directo de las celdas
+    private static boolean selectMatches(CellSet set, boolean[] members) {
+        List<Integer> cells = new ArrayList<>();
+        for (int cell = 0; cell < members.length; cell++) {
+            if (members[cell]) {
+                cells.add(cell);
+            }
+        }
+        if (set.size() != cells.size() || set.select(-1) != -1 || set.select(cells.size()) != -1) {
+            return false;
+        }
+        for (int k = 0; k < cells.size(); k++) {
+            if (set.select(k) != cells.get(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean testCellSetSelect() {
+        System.out.print("Ejecutando testCellSetSelect... ");
+        // Vacio: sin capacidad y con capacidad
+        for (int capacity : new int[] { 0, 130 }) {
+            CellSet empty = new CellSet(capacity);
+            if (!empty.isEmpty() || !selectMatches(empty, new boolean[capacity])) {
+                System.out.println("ERROR. Conjunto vacio de capacidad " + capacity);
+                return false;
+            }
+        }
+
+        // Lleno (capacidad que no es potencia de dos ni multiplo de 64)
+        boolean[] all = new boolean[130];
+        Arrays.fill(all, true);
+        CellSet full = new CellSet(all.length);
+        full.rebuild(cell -> true);
+        if (!selectMatches(full, all)) {
+            System.out.println("ERROR. Conjunto lleno");
+            return false;
+        }
+
+        // Disperso: agregar y quitar al azar, y reconstruir con las mismas celdas
+        Random random = new Random(3);
+        boolean[] members = new boolean[200];
+        CellSet sparse = new CellSet(members.length);
+        for (int step = 0; step < 2000; step++) {
+            int cell = random.nextInt(members.length);
+            boolean member = random.nextInt(4) == 0; // ~25% de las celdas
+            sparse.set(cell, member);
+            members[cell] = member;
+            if (step % 100 == 0 && !selectMatches(sparse, members)) {
+                System.out.println("ERROR. Conjunto disperso en el paso " + step);
+                return false;
+            }
+        }
+        CellSet rebuilt = new CellSet(members.length);
+        rebuilt.rebuild(cell -> members[cell]);
+        if (!selectMatches(sparse, members) || !selectMatches(rebuilt, members)) {
+            System.out.println("ERROR. Conjunto disperso reconstruido");
+            return false;
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    private static boolean testSpawnPositions() {
+        System.out.print("Ejecutando testSpawnPositions... ");
+        int width = 14;
+        int height = 10;
+        BoardController board = new BoardController(width, height);
+        ItemController items = new ItemController(board);
+        Random random = new Random(11);
+        try {
+            for (int y = 3; y < 7; y++) {
+                board.setMapObstacle(6, y, EntityType.WALL);
+            }
+        } catch (BadOpoException e) {
+            System.out.println("ERROR. " + e.getMessage());
+            return false;
+        }
+        items.spawnObstacle("CAMPFIRE", "fire1", 4, 4);
+        items.spawnObstacle("CAMPFIRE", "fire2", 9, 6);
+        items.spawnObstacle("HOT_TILE", "hot1", 3, 3);
+        items.spawnObstacle("HOT_TILE", "hot2", 10, 5);
+
+        for (int round = 0; round < 300; round++) {
+            // El tablero cambia entre consultas: hielo que aparece y se rompe
+            int iceX = 2 + random.nextInt(width - 4);
+            int iceY = 2 + random.nextInt(height - 4);
+            if (items.isIceAt(iceX, iceY)) {
+                items.breakIceBlock(iceX, iceY);
+            } else {
+                items.createIceBlock(iceX, iceY);
+            }
+
+            List<int[]> picked = items.pickSpawnPositions(6, random);
+            boolean[] used = new boolean[width * height];
+            for (int[] pos : picked) {
+                int x = pos[0];
+                int y = pos[1];
+                boolean blocked = !board.isWalkable(x, y) || board.isHot(x, y) || items.isObstacleAt(x, y)
+                        || (x == 4 && y == 4) || (x == 9 && y == 6); // Fogatas
+                boolean margin = x < 2 || y < 2 || x >= width - 2 || y >= height - 2;
+                if (blocked || margin || used[y * width + x]) {
+                    System.out.println("ERROR. Fruta en celda invalida (" + x + ", " + y + ")");
+                    return false;
+                }
+                used[y * width + x] = true;
+            }
+            if (picked.size() != 6) {
+                System.out.println("ERROR. Esperaba 6 posiciones, obtuvo " + picked.size());
+                return false;
+            }
+
+            int[] open = items.randomOpenPosition(random);
+            if (open == null || !board.isWalkable(open[0], open[1]) || items.isObstacleAt(open[0], open[1])) {
+                System.out.println("ERROR. Celda libre invalida");
+                return false;
+            }
+        }
+
+        System.out.println("OK");
+        return true;
+    }
+
+    // Juega ticks de 16 ms con acciones al azar (pero sembradas) de ambos jugadores
+    private static void playTicks(DomainController domain, Random input, int ticks) {
+        for (int tick = 0; tick < ticks && domain.getStatus() == GameStatus.PLAYING; tick++) {
+            if (input.nextInt(4) == 0) {
+                String player = input.nextBoolean() ? "player1" : "player2";
+                ActionType action = (input.nextInt(5) == 0) ? ActionType.CREATE_ICE : ActionType.MOVE;
+                domain.handlePlayerAction(player, action, Direction.values()[input.nextInt(4)]);
+            }
+            domain.updateGameLoop(0.016f);
+        }
+    }
+
+    private static final String[] ROUND_TRIP_MAP = {
+            "##################",
+            "#P.G.G.G.G.......#",
+            "#................#",
+            "#.......T........#",
+            "#......II........#",
+            "#.G.G.G.G...C....#",
+            "#................#",
+            "#............T...#",
+            "#................#",
+            "##################" };
+
+    /**
+     * Juega before ticks, guarda, recarga y sigue after ticks con la misma
+     * entrada en la original y en la recargada. Retorna false si algo no
+     * coincide.
+     */
+    private static boolean saveLoadAndContinue(DomainController domain, File saveFile, int before,
+            int after) throws BadOpoException {
+        Random input = new Random(5);
+        playTicks(domain, input, before);
+        if (domain.getStatus() != GameStatus.PLAYING) {
+            System.out.println("ERROR. La partida termino antes de guardarse: " + domain.getStatus());
+            return false;
+        }
+
+        // Guardar a mitad de partida y recargar: mismo estado y misma semilla
+        domain.saveGame(saveFile.getPath());
+        DomainController loaded = DomainController.loadGame(saveFile.getPath());
+        if (loaded.getStateChecksum() != domain.getStateChecksum()
+                || loaded.getRandomSeed() != domain.getRandomSeed()) {
+            System.out.println("ERROR. El estado recargado no coincide (" + domain.getGameMode() + ")");
+            return false;
+        }
+        // y la partida recargada sigue igual que la original: el generador
+        // de la partida continua donde iba
+        long inputSeed = input.nextLong();
+        playTicks(domain, new Random(inputSeed), after);
+        playTicks(loaded, new Random(inputSeed), after);
+        if (loaded.getStateChecksum() != domain.getStateChecksum()) {
+            System.out.println("ERROR. La partida recargada se separo de la original (" + domain.getGameMode() + ")");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean testSaveAndReplayRoundTrip() {
+        System.out.print("Ejecutando testSaveAndReplayRoundTrip... ");
+        try {
+            File saveFile = File.createTempFile("badopo", ".bdop");
+            File replayFile = File.createTempFile("badopo", ".bdrp");
+            saveFile.deleteOnExit();
+            replayFile.deleteOnExit();
+
+            // Maquina contra maquina: tres oleadas aparecen despues de guardar
+            // y eligen sus celdas con el generador de la partida
+            LevelConfiguration waves = new LevelConfiguration();
+            for (String enemy : new String[] { "TROLL", "SQUID", "FLOWERPOT", "NARWHAL" }) {
+                waves.setEnemyCount(enemy, 0);
+            }
+            DomainController bots = new DomainController();
+            bots.setRandomSeed(21);
+            bots.setGameMode("MVM");
+            bots.setPlayer1Difficulty("MACHINE_EXPERT");
+            bots.setPlayer2Difficulty("MACHINE_HUNGRY");
+            bots.setCurrentLevel("LEVEL_1");
+            bots.setLevelConfiguration(waves);
+            bots.loadLevel(ROUND_TRIP_MAP);
+            if (!saveLoadAndContinue(bots, saveFile, 200, 1500)) {
+                return false;
+            }
+
+            DomainController domain = new DomainController();
+            domain.setRandomSeed(21);
+            domain.setGameMode("PVP");
+            domain.setCurrentLevel("LEVEL_1");
+            domain.setReplayRecorder(new ReplayRecorder());
+            domain.loadLevel(ROUND_TRIP_MAP);
+            if (!saveLoadAndContinue(domain, saveFile, 400, 300)) {
+                return false;
+            }
+
+            // La repeticion grabada reproduce la partida completa
+            domain.saveReplay(replayFile.getPath());
+            ReplayPlayer replay = ReplayPlayer.load(replayFile.getPath());
+            if (replay.getRecordedChecksum() != domain.getStateChecksum() || !replay.verify()
+                    || replay.replay().getStateChecksum() != domain.getStateChecksum()) {
+                System.out.println("ERROR. La repeticion no reproduce la partida");
+                return false;
+            }
+        } catch (BadOpoException | IOException e) {
+            System.out.println("ERROR. " + e.getMessage());
+            return false;
+        }
+
+        System.out.println("OK");
+        return true;
+    }
 }